@@ -15,6 +15,7 @@ plugins {
     id("ru.vyarus.pom") version "3.0.0"
     id("org.jreleaser") version "1.21.0"
     id("org.sonarqube") version "7.2.2.6593"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "io.github.1c-syntax"
@@ -52,7 +53,6 @@ dependencies {
     implementation("org.slf4j:slf4j-api:2.0.16")
 
     // прочее
-    implementation("commons-io:commons-io:2.21.0")
     implementation("io.github.1c-syntax:bsl-common-library:0.10.0")
 
     api("org.jspecify:jspecify:1.0.0")
@@ -77,7 +77,9 @@ java {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("scaling")
+    }
 
     testLogging {
         events("passed", "skipped", "failed", "standard_error")
@@ -88,6 +90,21 @@ tasks.test {
     }
 }
 
+val scalingTest by tasks.registering(Test::class) {
+    description = "Runs scaling tests on synthetic ParentConfigurations.bin files"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("scaling")
+    }
+    maxHeapSize = "2g"
+
+    testLogging {
+        events("passed", "skipped", "failed", "standard_error")
+    }
+}
+
 tasks.check {
     dependsOn(tasks.jacocoTestReport)
 }
@@ -99,6 +116,19 @@ tasks.jacocoTestReport {
     }
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    benchmarkMode.set(listOf("avgt"))
+    timeUnit.set("us")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    // каталог с ParentConfigurations.bin из тестовых ресурсов
+    jvmArgsAppend.set(listOf("-Dsupportconf.fixtures=${project.file("src/test/resources").absolutePath}"))
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
     options.compilerArgs.add("-Xlint:unchecked")
@@ -0,0 +1,47 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.nio.file.Path;
+
+/**
+ * Расположение тестовых файлов ParentConfigurations.bin для замеров
+ */
+final class Fixtures {
+  private static final String FIXTURES_PROPERTY = "supportconf.fixtures";
+  private static final String DEFAULT_FIXTURES = "src/test/resources";
+
+  private Fixtures() {
+    // служебный класс
+  }
+
+  /**
+   * Возвращает путь к файлу ParentConfigurations.bin тестового комплекта
+   *
+   * @param fixture Имя каталога комплекта в тестовых ресурсах, например {@code correct}
+   * @return Абсолютный путь к файлу
+   */
+  static Path parentConfigurationsBin(String fixture) {
+    return Path.of(System.getProperty(FIXTURES_PROPERTY, DEFAULT_FIXTURES), fixture, "Ext", "ParentConfigurations.bin")
+      .toAbsolutePath();
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Замеры получения вариантов поддержки из прочитанных данных и из кеша.
+ * Каждый вызов выполняет {@value #LOOKUPS} поисков: половина идентификаторов есть в файле, половина отсутствует
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(LookupBenchmark.LOOKUPS)
+public class LookupBenchmark {
+  static final int LOOKUPS = 1024;
+
+  @Param({"correct", "correct_crlf"})
+  public String fixture;
+
+  private Path pathParentConfigurationBin;
+  private Path rootPath;
+  private Path modulePath;
+  private SupportData supportData;
+  private FullSupportData fullSupportData;
+  private SupportConfiguration configuration;
+  private List<String> uids;
+  private UUID[] uuids;
+  private SupportVariant[] result;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    pathParentConfigurationBin = Fixtures.parentConfigurationsBin(fixture);
+    rootPath = pathParentConfigurationBin.getParent().getParent();
+    modulePath = rootPath.resolve("Catalogs").resolve("Products").resolve("Ext").resolve("ObjectModule.bsl");
+    supportData = SupportData.create(pathParentConfigurationBin);
+    fullSupportData = FullSupportData.create(pathParentConfigurationBin);
+    configuration = fullSupportData.getConfigurations().get(0);
+
+    var known = new ArrayList<>(supportData.getSupportVariants().keySet());
+    var random = new Random(LOOKUPS);
+    uids = new ArrayList<>(LOOKUPS);
+    for (var number = 0; number < LOOKUPS; number++) {
+      if (number % 2 == 0) {
+        uids.add(known.get(random.nextInt(known.size())));
+      } else {
+        uids.add(new UUID(random.nextLong(), random.nextLong()).toString());
+      }
+    }
+    uuids = uids.stream().map(UUID::fromString).toArray(UUID[]::new);
+    result = new SupportVariant[LOOKUPS];
+
+    ParseSupportData.read(pathParentConfigurationBin);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ParseSupportData.clearCache();
+  }
+
+  @Benchmark
+  public void supportDataGet(Blackhole blackhole) {
+    for (var uid : uids) {
+      blackhole.consume(supportData.get(uid));
+    }
+  }
+
+  @Benchmark
+  public void supportDataGetUuid(Blackhole blackhole) {
+    for (var uid : uuids) {
+      blackhole.consume(supportData.get(uid));
+    }
+  }
+
+  @Benchmark
+  public SupportVariant[] supportDataGetAll() {
+    return supportData.getAll(uids, result);
+  }
+
+  @Benchmark
+  public void fullSupportDataGet(Blackhole blackhole) {
+    for (var uid : uids) {
+      blackhole.consume(fullSupportData.get(uid));
+    }
+  }
+
+  @Benchmark
+  public void fullSupportDataGetByConfiguration(Blackhole blackhole) {
+    for (var uid : uids) {
+      blackhole.consume(fullSupportData.get(uid, configuration));
+    }
+  }
+
+  @Benchmark
+  public void parseSupportDataGetExactPath(Blackhole blackhole) {
+    for (var uid : uids) {
+      blackhole.consume(ParseSupportData.get(uid, rootPath));
+    }
+  }
+
+  @Benchmark
+  public void parseSupportDataGetPrefixPath(Blackhole blackhole) {
+    for (var uid : uids) {
+      blackhole.consume(ParseSupportData.get(uid, modulePath));
+    }
+  }
+
+  @Benchmark
+  public SupportVariant[] parseSupportDataGetAll() {
+    return ParseSupportData.getAll(uids, modulePath, result);
+  }
+
+  @Benchmark
+  public void readCachedAndGet(Blackhole blackhole) {
+    ParseSupportData.read(pathParentConfigurationBin);
+    for (var uid : uids) {
+      blackhole.consume(ParseSupportData.get(uid, modulePath));
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.file.Path;
+
+/**
+ * Замеры чтения файла ParentConfigurations.bin без кеширования
+ */
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+  @Param({"correct", "correct_crlf"})
+  public String fixture;
+
+  @Param({"STREAM", "MAPPED", "PARALLEL"})
+  public ReadMode readMode;
+
+  private Path pathParentConfigurationBin;
+
+  @Setup
+  public void setup() {
+    pathParentConfigurationBin = Fixtures.parentConfigurationsBin(fixture);
+  }
+
+  @Benchmark
+  public SupportData readNoCache() {
+    return ParseSupportData.readNoCache(pathParentConfigurationBin, readMode);
+  }
+
+  @Benchmark
+  public FullSupportData readFull() {
+    return ParseSupportData.readFull(pathParentConfigurationBin, readMode);
+  }
+}
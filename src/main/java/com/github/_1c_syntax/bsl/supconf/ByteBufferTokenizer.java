@@ -0,0 +1,298 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Разборщик полей файла ParentConfigurations.bin, работающий напрямую с байтами UTF-8.
+ * Все разделители и служебные символы формата однобайтовые, поэтому разбор выполняется без декодирования,
+ * числа и идентификаторы разбираются прямо из байтов, а в строку UTF-8 превращаются только запрошенные
+ * текстовые поля
+ */
+final class ByteBufferTokenizer implements SupportDataTokenizer {
+  private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  /**
+   * Минимальный размер файла, который отображается в память. Файлы меньшего размера читаются в кучу:
+   * их чтение не медленнее отображения, а файл не удерживается после разбора
+   */
+  static final long MAPPING_THRESHOLD = 16L << 20;
+
+  private final ByteBuffer buffer;
+  private final int limit;
+  private final int start;
+  private int position;
+
+  private int fieldStart;
+  private int fieldEnd;
+  private boolean finished;
+
+  private long guidMostSigBits;
+  private long guidLeastSigBits;
+
+  ByteBufferTokenizer(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.limit = buffer.limit();
+    this.position = buffer.position();
+    this.start = position;
+    if (limit - position >= BOM.length
+      && buffer.get(position) == BOM[0]
+      && buffer.get(position + 1) == BOM[1]
+      && buffer.get(position + 2) == BOM[2]) {
+      position += BOM.length;
+    }
+  }
+
+  /**
+   * Отображает файл в память (или читает его в кучу, см. {@link #mapFile(Path)}) и создает разборщик над ним
+   *
+   * @param path Путь к файлу
+   * @return Разборщик
+   * @throws IOException При ошибке открытия файла
+   */
+  static ByteBufferTokenizer map(Path path) throws IOException {
+    return new ByteBufferTokenizer(mapFile(path));
+  }
+
+  /**
+   * Отображает файл в память только для чтения. Файлы меньше {@link #MAPPING_THRESHOLD} и файлы других
+   * файловых систем (например, архивов), не поддерживающих отображение, читаются в кучу целиком.
+   * <p>
+   * Канал закрывается сразу, но отображение освобождается только сборщиком мусора, когда на буфер
+   * не остается ссылок. До этого в Windows файл нельзя удалить или заменить (в том числе Конфигуратору
+   * и {@link FullSupportDataBuilder#write(Path)}), поэтому буфер не должен удерживаться после разбора
+   *
+   * @param path Путь к файлу
+   * @return Отображение или содержимое файла
+   * @throws IOException При ошибке открытия файла
+   */
+  static ByteBuffer mapFile(Path path) throws IOException {
+    if (path.getFileSystem() != FileSystems.getDefault()) {
+      return readFile(path);
+    }
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("File is too large: " + path);
+      }
+      if (size < MAPPING_THRESHOLD) {
+        return read(channel, (int) size);
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Читает файл в кучу целиком. Файл не удерживается после возврата
+   *
+   * @param path Путь к файлу
+   * @return Содержимое файла
+   * @throws IOException При ошибке чтения файла
+   */
+  static ByteBuffer readFile(Path path) throws IOException {
+    return ByteBuffer.wrap(Files.readAllBytes(path)).asReadOnlyBuffer();
+  }
+
+  private static ByteBuffer read(FileChannel channel, int size) throws IOException {
+    var buffer = ByteBuffer.allocate(size);
+    var read = 0;
+    while (read >= 0 && buffer.hasRemaining()) {
+      read = channel.read(buffer);
+    }
+    return buffer.flip().asReadOnlyBuffer();
+  }
+
+  /**
+   * Возвращает позицию начала следующего поля
+   *
+   * @return Смещение в буфере
+   */
+  int position() {
+    return position;
+  }
+
+  /**
+   * Возвращает разделитель, следующий за последним прочитанным полем, в том виде, в котором он записан в файле
+   *
+   * @return Запятая и переводы строк после поля
+   */
+  String delimiter() {
+    return decode(fieldEnd, position);
+  }
+
+  /**
+   * Возвращает непрочитанный остаток содержимого
+   *
+   * @return Текст от начала следующего поля до конца содержимого
+   */
+  String remainder() {
+    return decode(position, limit);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !finished;
+  }
+
+  @Override
+  public String next() throws IOException {
+    readField();
+    var bytes = new byte[fieldEnd - fieldStart];
+    buffer.get(fieldStart, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void nextGuid() throws IOException {
+    readField();
+    guidMostSigBits = Guids.mostSigBits(buffer, fieldStart, fieldEnd);
+    guidLeastSigBits = Guids.leastSigBits(buffer, fieldStart, fieldEnd);
+  }
+
+  @Override
+  public long guidMostSigBits() {
+    return guidMostSigBits;
+  }
+
+  @Override
+  public long guidLeastSigBits() {
+    return guidLeastSigBits;
+  }
+
+  @Override
+  public int nextInt() throws IOException {
+    readField();
+    if (fieldStart == fieldEnd) {
+      throw numberFormatException();
+    }
+
+    var index = fieldStart;
+    var negative = buffer.get(index) == '-';
+    if (negative && ++index == fieldEnd) {
+      throw numberFormatException();
+    }
+
+    var result = 0L;
+    for (; index < fieldEnd; index++) {
+      var digit = buffer.get(index) - '0';
+      if (digit < 0 || digit > 9) {
+        throw numberFormatException();
+      }
+      result = result * 10 + digit;
+      if (result > (long) Integer.MAX_VALUE + 1) {
+        throw numberFormatException();
+      }
+    }
+
+    if (negative) {
+      result = -result;
+    }
+    if (result > Integer.MAX_VALUE) {
+      throw numberFormatException();
+    }
+    return (int) result;
+  }
+
+  @Override
+  public void skip(int count) throws IOException {
+    for (var index = 0; index < count; index++) {
+      readField();
+    }
+  }
+
+  @Override
+  public long byteCount() {
+    return limit - start;
+  }
+
+  @Override
+  public void close() {
+    // канал закрыт сразу после отображения, а отображение освобождается сборщиком мусора
+    // вместе с разборщиком (см. mapFile)
+  }
+
+  private void readField() throws IOException {
+    if (finished) {
+      throw new EOFException("Unexpected end of ParentConfigurations.bin");
+    }
+
+    fieldStart = position;
+    if (position < limit && buffer.get(position) == '"') {
+      position++;
+      while (position < limit) {
+        var ch = buffer.get(position++);
+        if (ch == '"') {
+          if (position == limit || buffer.get(position) != '"') {
+            break;
+          }
+          position++;
+        }
+      }
+    } else {
+      while (position < limit) {
+        var ch = buffer.get(position);
+        if (ch == ',' || ch == '\n' || ch == '\r' || ch == '"') {
+          break;
+        }
+        position++;
+      }
+    }
+    fieldEnd = position;
+    skipDelimiter();
+  }
+
+  private void skipDelimiter() {
+    while (position < limit) {
+      var ch = buffer.get(position++);
+      if (ch == '\n') {
+        return;
+      } else if (ch == ',') {
+        while (position < limit && (buffer.get(position) == '\n' || buffer.get(position) == '\r')) {
+          position++;
+        }
+        return;
+      }
+    }
+    finished = true;
+  }
+
+  private String decode(int from, int to) {
+    var bytes = new byte[to - from];
+    buffer.get(from, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private NumberFormatException numberFormatException() {
+    var bytes = new byte[fieldEnd - fieldStart];
+    buffer.get(fieldStart, bytes);
+    return new NumberFormatException("For input string: \"" + new String(bytes, StandardCharsets.UTF_8) + "\"");
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Настройки кеша прочитанной информации о поддержке.
+ * <p>
+ * Кеш может ограничиваться количеством элементов и (или) суммарным весом, равным количеству объектов
+ * во всех закешированных данных. При превышении ограничений вытесняются давно не использованные элементы.
+ * При включенной проверке файлов элемент перечитывается в фоновом потоке, если у файла ParentConfigurations.bin
+ * изменились дата модификации или размер; до окончания чтения обращения получают прежние данные.
+ * При включенном отслеживании файлов изменения обнаруживаются через {@link java.nio.file.WatchService},
+ * файл перечитывается в фоновом потоке, и новые данные атомарно заменяют прежние.
+ * При указании места хранения снимков данные загружаются из двоичного снимка (см. {@link SnapshotLocation}),
+ * а после разбора файла снимок создается заново
+ *
+ * @param maximumSize        Максимальное количество элементов, {@code 0} - без ограничения
+ * @param maximumWeight      Максимальное суммарное количество объектов, {@code 0} - без ограничения
+ * @param validateFiles      Проверять изменение файлов при обращении к кешу
+ * @param validationInterval Интервал между проверками одного файла: файл проверяется не чаще одного раза
+ *                           за интервал, {@code 0} - при каждом обращении
+ * @param watchFiles         Отслеживать изменения файлов и перечитывать их в фоне
+ * @param snapshotLocation   Место хранения двоичных снимков
+ */
+public record CacheSettings(long maximumSize, long maximumWeight, boolean validateFiles,
+                            Duration validationInterval, boolean watchFiles, SnapshotLocation snapshotLocation) {
+  private static final Duration DEFAULT_VALIDATION_INTERVAL = Duration.ofSeconds(1);
+  private static final CacheSettings DEFAULTS =
+    new CacheSettings(0, 0, true, DEFAULT_VALIDATION_INTERVAL, false, SnapshotLocation.NONE);
+
+  public CacheSettings {
+    if (maximumSize < 0 || maximumWeight < 0) {
+      throw new IllegalArgumentException("Cache limits must not be negative");
+    }
+    Objects.requireNonNull(validationInterval);
+    Objects.requireNonNull(snapshotLocation);
+    if (validationInterval.isNegative()) {
+      throw new IllegalArgumentException("Validation interval must not be negative");
+    }
+  }
+
+  /**
+   * Возвращает настройки по умолчанию: кеш без ограничений с проверкой изменения файлов не чаще раза в секунду
+   * без фонового отслеживания и без снимков
+   *
+   * @return Настройки по умолчанию
+   */
+  public static CacheSettings defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Возвращает копию настроек с указанным максимальным количеством элементов
+   *
+   * @param maximumSize Максимальное количество элементов, {@code 0} - без ограничения
+   * @return Новые настройки
+   */
+  public CacheSettings withMaximumSize(long maximumSize) {
+    return new CacheSettings(maximumSize, maximumWeight, validateFiles, validationInterval, watchFiles,
+      snapshotLocation);
+  }
+
+  /**
+   * Возвращает копию настроек с указанным максимальным суммарным количеством объектов
+   *
+   * @param maximumWeight Максимальное суммарное количество объектов, {@code 0} - без ограничения
+   * @return Новые настройки
+   */
+  public CacheSettings withMaximumWeight(long maximumWeight) {
+    return new CacheSettings(maximumSize, maximumWeight, validateFiles, validationInterval, watchFiles,
+      snapshotLocation);
+  }
+
+  /**
+   * Возвращает копию настроек с указанным режимом проверки изменения файлов
+   *
+   * @param validateFiles Проверять изменение файлов при обращении к кешу
+   * @return Новые настройки
+   */
+  public CacheSettings withValidateFiles(boolean validateFiles) {
+    return new CacheSettings(maximumSize, maximumWeight, validateFiles, validationInterval, watchFiles,
+      snapshotLocation);
+  }
+
+  /**
+   * Возвращает копию настроек с указанным интервалом проверки изменения файлов
+   *
+   * @param validationInterval Интервал между проверками одного файла, {@code 0} - проверка при каждом обращении
+   * @return Новые настройки
+   */
+  public CacheSettings withValidationInterval(Duration validationInterval) {
+    return new CacheSettings(maximumSize, maximumWeight, validateFiles, validationInterval, watchFiles,
+      snapshotLocation);
+  }
+
+  /**
+   * Возвращает копию настроек с указанным режимом фонового отслеживания изменения файлов
+   *
+   * @param watchFiles Отслеживать изменения файлов и перечитывать их в фоне
+   * @return Новые настройки
+   */
+  public CacheSettings withWatchFiles(boolean watchFiles) {
+    return new CacheSettings(maximumSize, maximumWeight, validateFiles, validationInterval, watchFiles,
+      snapshotLocation);
+  }
+
+  /**
+   * Возвращает копию настроек с указанным местом хранения двоичных снимков
+   *
+   * @param snapshotLocation Место хранения двоичных снимков
+   * @return Новые настройки
+   */
+  public CacheSettings withSnapshotLocation(SnapshotLocation snapshotLocation) {
+    return new CacheSettings(maximumSize, maximumWeight, validateFiles, validationInterval, watchFiles,
+      snapshotLocation);
+  }
+}
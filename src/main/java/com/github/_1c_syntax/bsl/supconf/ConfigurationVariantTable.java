@@ -0,0 +1,510 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Колоночная таблица вариантов поддержки объектов в разрезе конфигураций поставщика.
+ * <p>
+ * Конфигурации поставщика хранятся в таблице без повторов, номер конфигурации в ней используется
+ * как позиция в упакованном векторе вариантов объекта. Вариант занимает 4 бита
+ * ({@code 0} - вариант для конфигурации не задан), в одно {@code long} помещается 16 конфигураций
+ */
+final class ConfigurationVariantTable {
+  private static final int MIN_CAPACITY = 16;
+  private static final int BITS_PER_VARIANT = 4;
+  private static final int VARIANTS_PER_WORD = Long.SIZE / BITS_PER_VARIANT;
+  private static final long VARIANT_MASK = (1L << BITS_PER_VARIANT) - 1;
+  private static final SupportVariant[] VARIANTS = SupportVariant.values();
+
+  private final GuidIndex index;
+  private final List<SupportConfiguration> configurations = new ArrayList<>();
+  private final Map<SupportConfiguration, Integer> ordinals = new HashMap<>();
+  private int wordsPerRow = 1;
+  private long[] variants;
+
+  /**
+   * Обратные индексы по конфигурациям поставщика, строятся при первом обращении
+   */
+  private volatile @Nullable InvertedIndex inverted;
+
+  ConfigurationVariantTable() {
+    this(0);
+  }
+
+  ConfigurationVariantTable(int expectedSize) {
+    index = new GuidIndex(expectedSize);
+    variants = new long[Math.max(expectedSize, MIN_CAPACITY)];
+  }
+
+  private ConfigurationVariantTable(GuidIndex index, int wordsPerRow, long[] variants) {
+    this.index = index;
+    this.wordsPerRow = wordsPerRow;
+    this.variants = variants;
+  }
+
+  /**
+   * Создает таблицу над готовыми колонками без копирования
+   *
+   * @param configurations Конфигурации поставщика в порядке их номеров
+   * @param guids          Пары старших и младших битов уникальных идентификаторов
+   * @param wordsPerRow    Количество {@code long} в упакованном векторе вариантов объекта
+   * @param variants       Упакованные векторы вариантов в порядке идентификаторов
+   * @return Таблица
+   */
+  static ConfigurationVariantTable of(List<SupportConfiguration> configurations, long[] guids,
+                                      int wordsPerRow, long[] variants) {
+    if (wordsPerRow < 1 || configurations.size() > wordsPerRow * VARIANTS_PER_WORD
+      || guids.length % 2 != 0 || (long) guids.length / 2 * wordsPerRow != variants.length) {
+      throw new IllegalArgumentException("Inconsistent table columns");
+    }
+
+    for (var word : variants) {
+      for (var shift = 0; shift < Long.SIZE; shift += BITS_PER_VARIANT) {
+        if (((word >>> shift) & VARIANT_MASK) > VARIANTS.length) {
+          throw new IllegalArgumentException("Unknown support variant code");
+        }
+      }
+    }
+
+    var table = new ConfigurationVariantTable(GuidIndex.of(guids), wordsPerRow, variants);
+    for (var configuration : configurations) {
+      table.ordinals.put(configuration, table.configurations.size());
+      table.configurations.add(configuration);
+    }
+    return table;
+  }
+
+  /**
+   * Возвращает количество объектов
+   *
+   * @return Количество объектов
+   */
+  int size() {
+    return index.size();
+  }
+
+  /**
+   * Проверяет отсутствие объектов
+   *
+   * @return Истина, если таблица пуста
+   */
+  boolean isEmpty() {
+    return index.isEmpty();
+  }
+
+  /**
+   * Возвращает конфигурации поставщика в порядке их номеров
+   *
+   * @return Неизменяемый список конфигураций
+   */
+  List<SupportConfiguration> configurations() {
+    return Collections.unmodifiableList(configurations);
+  }
+
+  /**
+   * Возвращает индекс идентификаторов таблицы
+   *
+   * @return Индекс идентификаторов
+   */
+  GuidIndex index() {
+    return index;
+  }
+
+  /**
+   * Возвращает количество {@code long} в упакованном векторе вариантов объекта
+   *
+   * @return Количество слов на строку
+   */
+  int wordsPerRow() {
+    return wordsPerRow;
+  }
+
+  /**
+   * Возвращает слово упакованного вектора вариантов объекта
+   *
+   * @param row  Номер строки объекта
+   * @param word Номер слова в строке
+   * @return Упакованные варианты
+   */
+  long word(int row, int word) {
+    return variants[row * wordsPerRow + word];
+  }
+
+  /**
+   * Регистрирует конфигурацию поставщика, повторно переданная конфигурация получает прежний номер
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Номер конфигурации
+   */
+  int addConfiguration(SupportConfiguration configuration) {
+    var ordinal = ordinals.get(configuration);
+    if (ordinal != null) {
+      return ordinal;
+    }
+
+    ordinal = configurations.size();
+    configurations.add(configuration);
+    ordinals.put(configuration, ordinal);
+    if (ordinal == wordsPerRow * VARIANTS_PER_WORD) {
+      widen();
+    }
+    return ordinal;
+  }
+
+  /**
+   * Возвращает номер конфигурации поставщика
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Номер конфигурации или {@code -1}, если конфигурация не встречалась
+   */
+  int ordinalOf(SupportConfiguration configuration) {
+    var ordinal = ordinals.get(configuration);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  /**
+   * Находит номер строки объекта
+   *
+   * @param mostSigBits  Старшие биты идентификатора
+   * @param leastSigBits Младшие биты идентификатора
+   * @return Номер строки или {@code -1}, если объекта нет
+   */
+  int indexOf(long mostSigBits, long leastSigBits) {
+    return index.indexOf(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * Находит номер строки объекта по строковому идентификатору
+   *
+   * @param uid Идентификатор объекта
+   * @return Номер строки или {@code -1}, если объекта нет
+   */
+  int indexOf(String uid) {
+    return index.indexOf(uid);
+  }
+
+  /**
+   * Возвращает вариант поддержки объекта для конфигурации поставщика
+   *
+   * @param row     Номер строки объекта
+   * @param ordinal Номер конфигурации
+   * @return Вариант поддержки или {@link SupportVariant#NONE}, если он не задан
+   */
+  SupportVariant get(int row, int ordinal) {
+    var code = code(row, ordinal);
+    return code == 0 ? SupportVariant.NONE : VARIANTS[code - 1];
+  }
+
+  /**
+   * Устанавливает вариант поддержки объекта для конфигурации поставщика, если он еще не задан
+   *
+   * @param mostSigBits    Старшие биты идентификатора
+   * @param leastSigBits   Младшие биты идентификатора
+   * @param ordinal        Номер конфигурации
+   * @param supportVariant Вариант поддержки
+   */
+  void putIfAbsent(long mostSigBits, long leastSigBits, int ordinal, SupportVariant supportVariant) {
+    var countBefore = index.size();
+    var row = index.add(mostSigBits, leastSigBits);
+    if (row == countBefore && (row + 1) * wordsPerRow > variants.length) {
+      variants = Arrays.copyOf(variants, Math.max(variants.length * 2, (row + 1) * wordsPerRow));
+    }
+
+    if (code(row, ordinal) == 0) {
+      var word = row * wordsPerRow + ordinal / VARIANTS_PER_WORD;
+      var shift = (ordinal % VARIANTS_PER_WORD) * BITS_PER_VARIANT;
+      variants[word] |= (supportVariant.ordinal() + 1L) << shift;
+    }
+  }
+
+  /**
+   * Освобождает неиспользуемую емкость после окончания наполнения
+   */
+  void trim() {
+    index.trim();
+    variants = Arrays.copyOf(variants, index.size() * wordsPerRow);
+  }
+
+  /**
+   * Возвращает объем памяти, занимаемой массивами таблицы и ее индекса, без заголовков объектов
+   * и обратных индексов
+   *
+   * @return Объем в байтах
+   */
+  long retainedBytes() {
+    return index.retainedBytes() + (long) variants.length * Long.BYTES;
+  }
+
+  /**
+   * Возвращает представление вариантов поддержки объекта без копирования данных
+   *
+   * @param row Номер строки объекта
+   * @return Неизменяемое представление
+   */
+  Map<SupportConfiguration, SupportVariant> row(int row) {
+    return new RowView(row);
+  }
+
+  /**
+   * Возвращает представление таблицы в виде неизменяемой коллекции.
+   * Строковые ключи и представления строк создаются только при обращении
+   *
+   * @return Представление таблицы
+   */
+  Map<String, Map<SupportConfiguration, SupportVariant>> asMap() {
+    return new MapView();
+  }
+
+  /**
+   * Возвращает идентификаторы объектов, для которых задан вариант поддержки конфигурации поставщика.
+   * При первом обращении строятся обратные индексы по всем конфигурациям и вариантам.
+   * Вызывается только для заполненной таблицы
+   *
+   * @param ordinal Номер конфигурации
+   * @return Множество идентификаторов
+   */
+  UidSet objects(int ordinal) {
+    if (ordinal < 0 || ordinal >= configurations.size()) {
+      return UidSet.empty();
+    }
+    return inverted().objects()[ordinal];
+  }
+
+  /**
+   * Возвращает идентификаторы объектов с указанным вариантом поддержки конфигурации поставщика
+   *
+   * @param ordinal        Номер конфигурации
+   * @param supportVariant Вариант поддержки
+   * @return Множество идентификаторов
+   */
+  UidSet objects(int ordinal, SupportVariant supportVariant) {
+    if (ordinal < 0 || ordinal >= configurations.size()) {
+      return UidSet.empty();
+    }
+    return inverted().objectsByVariant()[ordinal][supportVariant.ordinal()];
+  }
+
+  private InvertedIndex inverted() {
+    var result = inverted;
+    if (result == null) {
+      var count = configurations.size();
+      var objects = new UidSet[count];
+      var objectsByVariant = new UidSet[count][];
+      var groups = new int[index.size()];
+      for (var ordinal = 0; ordinal < count; ordinal++) {
+        var size = 0;
+        for (var row = 0; row < groups.length; row++) {
+          groups[row] = code(row, ordinal) - 1;
+          if (groups[row] >= 0) {
+            size++;
+          }
+        }
+        objectsByVariant[ordinal] = UidSet.group(index, groups, VARIANTS.length);
+
+        var rows = new int[size];
+        var position = 0;
+        for (var row = 0; row < groups.length; row++) {
+          if (groups[row] >= 0) {
+            rows[position++] = row;
+          }
+        }
+        objects[ordinal] = new UidSet(index, rows);
+      }
+      result = new InvertedIndex(objects, objectsByVariant);
+      inverted = result;
+    }
+    return result;
+  }
+
+  private int code(int row, int ordinal) {
+    if (ordinal < 0 || ordinal >= configurations.size()) {
+      return 0;
+    }
+    var word = variants[row * wordsPerRow + ordinal / VARIANTS_PER_WORD];
+    return (int) ((word >>> ((ordinal % VARIANTS_PER_WORD) * BITS_PER_VARIANT)) & VARIANT_MASK);
+  }
+
+  private void widen() {
+    var newWordsPerRow = wordsPerRow + 1;
+    var newVariants = new long[Math.max(variants.length / wordsPerRow, MIN_CAPACITY) * newWordsPerRow];
+    for (var row = 0; row < index.size(); row++) {
+      System.arraycopy(variants, row * wordsPerRow, newVariants, row * newWordsPerRow, wordsPerRow);
+    }
+    variants = newVariants;
+    wordsPerRow = newWordsPerRow;
+  }
+
+  private final class RowView extends AbstractMap<SupportConfiguration, SupportVariant> {
+    private final int row;
+
+    private RowView(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public int size() {
+      var count = 0;
+      for (var ordinal = 0; ordinal < configurations.size(); ordinal++) {
+        if (code(row, ordinal) != 0) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public SupportVariant get(Object key) {
+      if (key instanceof SupportConfiguration configuration) {
+        var code = code(row, ordinalOf(configuration));
+        if (code != 0) {
+          return VARIANTS[code - 1];
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Set<Entry<SupportConfiguration, SupportVariant>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public int size() {
+          return RowView.this.size();
+        }
+
+        @Override
+        public Iterator<Entry<SupportConfiguration, SupportVariant>> iterator() {
+          return new Iterator<>() {
+            private int ordinal = advance(0);
+
+            @Override
+            public boolean hasNext() {
+              return ordinal < configurations.size();
+            }
+
+            @Override
+            public Entry<SupportConfiguration, SupportVariant> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              var entry = Map.entry(configurations.get(ordinal), VARIANTS[code(row, ordinal) - 1]);
+              ordinal = advance(ordinal + 1);
+              return entry;
+            }
+
+            private int advance(int from) {
+              var next = from;
+              while (next < configurations.size() && code(row, next) == 0) {
+                next++;
+              }
+              return next;
+            }
+          };
+        }
+      };
+    }
+  }
+
+  private final class MapView extends AbstractMap<String, Map<SupportConfiguration, SupportVariant>> {
+    @Override
+    public int size() {
+      return index.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Map<SupportConfiguration, SupportVariant> get(Object key) {
+      if (key instanceof String uid) {
+        var row = index.indexOf(uid);
+        if (row >= 0) {
+          return new RowView(row);
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Set<Entry<String, Map<SupportConfiguration, SupportVariant>>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public int size() {
+          return index.size();
+        }
+
+        @Override
+        public Iterator<Entry<String, Map<SupportConfiguration, SupportVariant>>> iterator() {
+          return new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+              return row < index.size();
+            }
+
+            @Override
+            public Entry<String, Map<SupportConfiguration, SupportVariant>> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              var entry = Map.<String, Map<SupportConfiguration, SupportVariant>>entry(
+                index.uid(row), new RowView(row));
+              row++;
+              return entry;
+            }
+          };
+        }
+      };
+    }
+  }
+
+  /**
+   * Обратные индексы таблицы
+   *
+   * @param objects          Объекты с заданным вариантом по номерам конфигураций
+   * @param objectsByVariant Объекты по номерам конфигураций и номерам вариантов
+   */
+  private record InvertedIndex(UidSet[] objects, UidSet[][] objectsByVariant) {
+  }
+}
@@ -25,17 +25,26 @@ import com.github._1c_syntax.bsl.support.SupportVariant;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Содержимое настроек поставки конфигурации поставщика.
- * Предоставляет возможность получить варианты поддержки для каждой конфигурации поставщика
+ * Предоставляет возможность получить варианты поддержки для каждой конфигурации поставщика.
+ * Количество объектов ({@link #count}) после построения обратных индексов вычисляется за постоянное время
  */
 @Slf4j
-public final class FullSupportData {
+public final class FullSupportData implements FullSupportView {
   /**
    * Путь к файлу описания поставки
    */
@@ -45,15 +54,13 @@ public final class FullSupportData {
   /**
    * Прочитанная информация о настройка поставки
    */
-  @Getter
-  private final Map<String, Map<SupportConfiguration, SupportVariant>> supportVariants;
+  private final ConfigurationVariantTable supportVariants;
 
   private FullSupportData(Path pathParentConfigurationBin) {
-    this(pathParentConfigurationBin, Collections.emptyMap());
+    this(pathParentConfigurationBin, new ConfigurationVariantTable());
   }
 
-  private FullSupportData(Path pathParentConfigurationBin,
-                          Map<String, Map<SupportConfiguration, SupportVariant>> supportVariants) {
+  private FullSupportData(Path pathParentConfigurationBin, ConfigurationVariantTable supportVariants) {
     this.supportVariants = supportVariants;
     this.pathParentConfigurationBin = pathParentConfigurationBin;
   }
@@ -65,38 +72,200 @@ public final class FullSupportData {
    * @return Прочитанные данные
    */
   public static FullSupportData create(Path pathParentConfigurationBin) {
-    Map<String, Map<SupportConfiguration, SupportVariant>> supportVariants;
+    return create(pathParentConfigurationBin, ReadMode.STREAM);
+  }
+
+  /**
+   * Читает данные настроек поставки по переданному файлу в указанном режиме
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param readMode                   Режим чтения файла
+   * @return Прочитанные данные
+   */
+  public static FullSupportData create(Path pathParentConfigurationBin, ReadMode readMode) {
+    ConfigurationVariantTable supportVariants;
     try {
-      supportVariants = SupportDataReader.readFull(pathParentConfigurationBin);
-    } catch (NumberFormatException | FileNotFoundException exception) {
+      supportVariants = SupportDataReader.readConfigurationVariants(pathParentConfigurationBin, readMode);
+    } catch (NumberFormatException | IOException exception) {
       LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
       LOGGER.debug("TRACE", exception);
-      supportVariants = Collections.emptyMap();
+      return new FullSupportData(pathParentConfigurationBin);
     }
 
-    if (supportVariants.isEmpty()) {
+    return new FullSupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Читает данные настроек поставки из потока, например из записи архива или ответа сервиса.
+   * Поток не закрывается
+   *
+   * @param input                      Содержимое файла описания поставки
+   * @param pathParentConfigurationBin Путь к источнику для сообщений и {@link #getPathParentConfigurationBin()}
+   * @return Прочитанные данные
+   */
+  public static FullSupportData create(InputStream input, Path pathParentConfigurationBin) {
+    ConfigurationVariantTable supportVariants;
+    try {
+      supportVariants = SupportDataReader.readConfigurationVariants(input, pathParentConfigurationBin);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
       return new FullSupportData(pathParentConfigurationBin);
-    } else {
+    }
+
+    return new FullSupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Читает данные настроек поставки из канала. Канал не закрывается
+   *
+   * @param channel                    Канал с содержимым файла описания поставки
+   * @param pathParentConfigurationBin Путь к источнику для сообщений и {@link #getPathParentConfigurationBin()}
+   * @return Прочитанные данные
+   */
+  public static FullSupportData create(ReadableByteChannel channel, Path pathParentConfigurationBin) {
+    return create(Channels.newInputStream(channel), pathParentConfigurationBin);
+  }
+
+  /**
+   * Загружает данные настроек поставки из двоичного снимка, а при его отсутствии или устаревании
+   * читает файл в указанном режиме и сохраняет новый снимок
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param readMode                   Режим чтения файла
+   * @param snapshotLocation           Место хранения снимков
+   * @return Прочитанные данные
+   */
+  public static FullSupportData create(Path pathParentConfigurationBin, ReadMode readMode,
+                                       SnapshotLocation snapshotLocation) {
+    var snapshot = snapshotLocation.fullSnapshot(pathParentConfigurationBin);
+    if (snapshot == null) {
+      return create(pathParentConfigurationBin, readMode);
+    }
+
+    var supportVariants = SupportDataSnapshot.readConfigurationVariants(snapshot, pathParentConfigurationBin);
+    if (supportVariants != null) {
       return new FullSupportData(pathParentConfigurationBin, supportVariants);
     }
+
+    SupportDataSnapshot.SourceKey sourceKey;
+    try {
+      sourceKey = SupportDataSnapshot.SourceKey.of(pathParentConfigurationBin);
+      supportVariants = SupportDataReader.readConfigurationVariants(pathParentConfigurationBin, readMode);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      return new FullSupportData(pathParentConfigurationBin);
+    }
+
+    try {
+      SupportDataSnapshot.write(snapshot, supportVariants, sourceKey);
+    } catch (IOException exception) {
+      LOGGER.debug("Snapshot {} was not written", snapshot, exception);
+    }
+    return new FullSupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Загружает данные настроек поставки из двоичного снимка
+   *
+   * @param snapshot                   Путь к снимку
+   * @param pathParentConfigurationBin Путь к файлу описания поставки, из которого был построен снимок
+   * @return Прочитанные данные или пустое значение, если снимка нет, он поврежден
+   * или файл описания поставки изменился после его создания
+   */
+  public static Optional<FullSupportData> readSnapshot(Path snapshot, Path pathParentConfigurationBin) {
+    return Optional.ofNullable(SupportDataSnapshot.readConfigurationVariants(snapshot, pathParentConfigurationBin))
+      .map(supportVariants -> new FullSupportData(pathParentConfigurationBin, supportVariants));
+  }
+
+  /**
+   * Сохраняет данные в двоичный снимок. Снимок привязывается к текущему состоянию файла описания поставки,
+   * поэтому сохранять его следует только для данных, соответствующих этому состоянию
+   *
+   * @param snapshot Путь к снимку
+   * @throws IOException Ошибка чтения файла описания поставки или записи снимка
+   */
+  public void writeSnapshot(Path snapshot) throws IOException {
+    SupportDataSnapshot.write(snapshot, supportVariants,
+      SupportDataSnapshot.SourceKey.of(pathParentConfigurationBin));
+  }
+
+  /**
+   * Возвращает прочитанную информацию о настройках поставки в виде неизменяемой коллекции,
+   * ключом которой является строковое представление идентификатора объекта.
+   * Коллекция является представлением над внутренним хранилищем и не копирует данные.
+   * Ключи строятся по хранимым числовым идентификаторам в форме {@link UUID#toString()}, поэтому
+   * при обходе они выдаются в нижнем регистре независимо от написания в файле. Методы {@code get}
+   * и {@code containsKey} коллекции принимают идентификатор в любом регистре
+   *
+   * @return Варианты поддержки объектов в разрезе конфигураций поставщика
+   */
+  @Override
+  public Map<String, Map<SupportConfiguration, SupportVariant>> getSupportVariants() {
+    return supportVariants.asMap();
+  }
+
+  /**
+   * Возвращает конфигурации поставщика, встретившиеся в файле, без повторов и в порядке следования
+   *
+   * @return Неизменяемый список конфигураций поставщика
+   */
+  @Override
+  public List<SupportConfiguration> getConfigurations() {
+    return supportVariants.configurations();
   }
 
   /**
    * Возвращает варианты поддержки для указанного идентификатора объекта для всех конфигураций поставщика.
-   * Если значения нет, то вернет пустую коллекцию
+   * Если значения нет, то вернет пустую коллекцию.
+   * Результат является неизменяемым представлением над внутренним хранилищем и не копирует данные
    *
    * @param uid Идентификатор объекта
    * @return Значение варианта поддержки
    */
+  @Override
   public Map<SupportConfiguration, SupportVariant> get(String uid) {
     if (uid.isBlank() || supportVariants.isEmpty()) {
       return Collections.emptyMap();
     }
-    var configurations = supportVariants.get(uid);
-    if (configurations == null || configurations.isEmpty()) {
-      return Collections.emptyMap();
-    }
-    return Map.copyOf(configurations);
+    return row(supportVariants.indexOf(uid));
+  }
+
+  /**
+   * Возвращает варианты поддержки для указанного идентификатора объекта для всех конфигураций поставщика.
+   * Если значения нет, то вернет пустую коллекцию.
+   * Результат является неизменяемым представлением над внутренним хранилищем и не копирует данные
+   *
+   * @param uid Идентификатор объекта
+   * @return Значение варианта поддержки
+   */
+  @Override
+  public Map<SupportConfiguration, SupportVariant> get(UUID uid) {
+    return row(supportVariants.indexOf(uid.getMostSignificantBits(), uid.getLeastSignificantBits()));
+  }
+
+  /**
+   * Проверяет, находится ли объект на поддержке хотя бы одной конфигурации поставщика.
+   * Для отсутствующих объектов ответ, как правило, дает фильтр Блума без обращения к индексу
+   *
+   * @param uid Строка-идентификатор объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  @Override
+  public boolean contains(String uid) {
+    return !uid.isBlank() && supportVariants.indexOf(uid) >= 0;
+  }
+
+  /**
+   * Проверяет, находится ли объект на поддержке хотя бы одной конфигурации поставщика
+   *
+   * @param uid Идентификатор объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  @Override
+  public boolean contains(UUID uid) {
+    return supportVariants.indexOf(uid.getMostSignificantBits(), uid.getLeastSignificantBits()) >= 0;
   }
 
   /**
@@ -107,10 +276,143 @@ public final class FullSupportData {
    * @param configuration Конфигурация поставщика
    * @return Значение варианта поддержки
    */
+  @Override
   public SupportVariant get(String uid, SupportConfiguration configuration) {
     if (uid.isBlank() || supportVariants.isEmpty()) {
       return SupportVariant.NONE;
     }
-    return supportVariants.getOrDefault(uid, Collections.emptyMap()).getOrDefault(configuration, SupportVariant.NONE);
+    return get(supportVariants.indexOf(uid), configuration);
+  }
+
+  /**
+   * Возвращает значение о варианте поддержке для указанного идентификатора объекта и конфигурации поставщика
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param uid           Идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Значение варианта поддержки
+   */
+  @Override
+  public SupportVariant get(UUID uid, SupportConfiguration configuration) {
+    return get(supportVariants.indexOf(uid.getMostSignificantBits(), uid.getLeastSignificantBits()), configuration);
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки идентификаторов объектов для конфигурации поставщика
+   * в порядке обхода идентификаторов. Для отсутствующих и некорректных идентификаторов
+   * устанавливается SupportVariant.NONE
+   *
+   * @param uids          Идентификаторы объектов
+   * @param configuration Конфигурация поставщика
+   * @param result        Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  @Override
+  public SupportVariant[] getAll(Collection<String> uids, SupportConfiguration configuration,
+                                 SupportVariant[] result) {
+    SupportData.checkResultSize(uids.size(), result);
+    var ordinal = supportVariants.ordinalOf(configuration);
+    if (ordinal < 0) {
+      Arrays.fill(result, 0, uids.size(), SupportVariant.NONE);
+      return result;
+    }
+
+    var position = 0;
+    for (var uid : uids) {
+      result[position++] = variant(supportVariants.indexOf(uid), ordinal);
+    }
+    return result;
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки идентификаторов объектов для конфигурации поставщика,
+   * элементу {@code i} результата соответствует элемент {@code i} массива идентификаторов.
+   * Для отсутствующих идентификаторов устанавливается SupportVariant.NONE
+   *
+   * @param uids          Идентификаторы объектов
+   * @param configuration Конфигурация поставщика
+   * @param result        Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  @Override
+  public SupportVariant[] getAll(UUID[] uids, SupportConfiguration configuration, SupportVariant[] result) {
+    SupportData.checkResultSize(uids.length, result);
+    var ordinal = supportVariants.ordinalOf(configuration);
+    for (var index = 0; index < uids.length; index++) {
+      result[index] = variant(
+        supportVariants.indexOf(uids[index].getMostSignificantBits(), uids[index].getLeastSignificantBits()), ordinal);
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает идентификаторы объектов, для которых задан вариант поддержки конфигурации поставщика.
+   * При первом обращении строятся обратные индексы по всем конфигурациям и вариантам,
+   * последующие обращения их переиспользуют
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Неизменяемое множество идентификаторов
+   */
+  @Override
+  public UidSet getObjects(SupportConfiguration configuration) {
+    return supportVariants.objects(supportVariants.ordinalOf(configuration));
+  }
+
+  /**
+   * Возвращает идентификаторы объектов с указанным вариантом поддержки конфигурации поставщика
+   *
+   * @param configuration  Конфигурация поставщика
+   * @param supportVariant Вариант поддержки
+   * @return Неизменяемое множество идентификаторов
+   */
+  @Override
+  public UidSet getObjects(SupportConfiguration configuration, SupportVariant supportVariant) {
+    return supportVariants.objects(supportVariants.ordinalOf(configuration), supportVariant);
+  }
+
+  /**
+   * Создает изменяемые настройки поставки с содержимым этих данных
+   *
+   * @return Изменяемые настройки поставки
+   * @see FullSupportDataBuilder#of(FullSupportData)
+   */
+  public FullSupportDataBuilder toBuilder() {
+    return FullSupportDataBuilder.of(this);
+  }
+
+  /**
+   * Создает данные по построенной таблице вариантов
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param supportVariants            Таблица вариантов, которая больше не изменяется
+   * @return Данные для указанного файла
+   */
+  static FullSupportData of(Path pathParentConfigurationBin, ConfigurationVariantTable supportVariants) {
+    return new FullSupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  ConfigurationVariantTable variants() {
+    return supportVariants;
+  }
+
+  private Map<SupportConfiguration, SupportVariant> row(int row) {
+    if (row < 0) {
+      return Collections.emptyMap();
+    }
+    return supportVariants.row(row);
+  }
+
+  private SupportVariant get(int row, SupportConfiguration configuration) {
+    if (row < 0) {
+      return SupportVariant.NONE;
+    }
+    return supportVariants.get(row, supportVariants.ordinalOf(configuration));
+  }
+
+  private SupportVariant variant(int row, int ordinal) {
+    if (row < 0) {
+      return SupportVariant.NONE;
+    }
+    return supportVariants.get(row, ordinal);
   }
 }
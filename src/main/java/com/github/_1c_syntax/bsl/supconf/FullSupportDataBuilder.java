@@ -0,0 +1,590 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Изменяемые настройки поставки для пакетного изменения вариантов поддержки объектов.
+ * <p>
+ * Изменения применяются в памяти, сводный вариант поддержки объекта (как в {@link SupportData})
+ * пересчитывается при каждом изменении только для этого объекта. Результат можно получить
+ * в виде {@link FullSupportData} и {@link SupportData} или записать в формате ParentConfigurations.bin
+ * без повторного чтения файла.
+ * <p>
+ * При чтении файла сохраняются секции в порядке следования (в том числе повторные секции одной конфигурации)
+ * и поля, которые не влияют на варианты поддержки: идентификаторы секций, признаки и вторые идентификаторы
+ * записей, служебные поля заголовка и окончания файла. Неизмененный файл записывается побайтно так же,
+ * при условии что поля в нем разделены одинаково, а идентификаторы записаны в нижнем регистре, как их
+ * записывает платформа. Изменение варианта объекта применяется ко всем его записям в секциях конфигурации,
+ * новый объект добавляется в конец первой секции конфигурации.
+ * Экземпляр не является потокобезопасным
+ */
+public final class FullSupportDataBuilder {
+  private static final SupportVariant[] VARIANTS = SupportVariant.values();
+  private static final Layout DEFAULT_LAYOUT = new Layout("{6", "0", ",", "0,1}");
+
+  /**
+   * Путь к файлу описания поставки
+   */
+  @Getter
+  private final Path pathParentConfigurationBin;
+
+  /**
+   * Секции в порядке следования в файле
+   */
+  private final List<Section> sections = new ArrayList<>();
+
+  /**
+   * Секции по конфигурациям поставщика
+   */
+  private final Map<SupportConfiguration, List<Section>> configurationSections = new LinkedHashMap<>();
+
+  /**
+   * Количество записей с каждым вариантом поддержки по объектам
+   */
+  private final Map<UUID, int[]> counts = new HashMap<>();
+
+  private Layout layout = DEFAULT_LAYOUT;
+
+  private FullSupportDataBuilder(Path pathParentConfigurationBin) {
+    this.pathParentConfigurationBin = pathParentConfigurationBin;
+  }
+
+  /**
+   * Создает пустые настройки поставки
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @return Пустые настройки
+   */
+  public static FullSupportDataBuilder create(Path pathParentConfigurationBin) {
+    return new FullSupportDataBuilder(pathParentConfigurationBin);
+  }
+
+  /**
+   * Читает файл описания поставки за один проход, сохраняя секции и поля файла для последующей записи.
+   * Файл читается в память целиком и не остается открытым
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @return Настройки с содержимым файла
+   * @throws IOException Ошибка чтения или разбора файла
+   */
+  public static FullSupportDataBuilder read(Path pathParentConfigurationBin) throws IOException {
+    var builder = new FullSupportDataBuilder(pathParentConfigurationBin);
+    try {
+      SupportDataReader.accept(ByteBuffer.wrap(Files.readAllBytes(pathParentConfigurationBin)),
+        builder.new Loader());
+    } catch (NumberFormatException exception) {
+      throw new IOException("Invalid ParentConfigurations.bin: " + pathParentConfigurationBin, exception);
+    }
+    return builder;
+  }
+
+  /**
+   * Создает настройки с содержимым прочитанных данных. Для каждой конфигурации поставщика создается одна
+   * секция с общим вариантом поддержки {@link GeneralSupportVariant#UNLOCKED}, поля, которые
+   * в {@link FullSupportData} не хранятся, заполняются как в {@link #addConfiguration(SupportConfiguration)}.
+   * Чтобы сохранить поля файла, используется {@link #read(Path)}
+   *
+   * @param supportData Прочитанные данные
+   * @return Настройки с содержимым данных
+   */
+  public static FullSupportDataBuilder of(FullSupportData supportData) {
+    var builder = new FullSupportDataBuilder(supportData.getPathParentConfigurationBin());
+    var table = supportData.variants();
+    var configurations = table.configurations();
+    configurations.forEach(builder::addConfiguration);
+
+    var index = table.index();
+    for (var row = 0; row < index.size(); row++) {
+      var uid = new UUID(index.mostSigBits(row), index.leastSigBits(row));
+      for (var ordinal = 0; ordinal < configurations.size(); ordinal++) {
+        var supportVariant = table.get(row, ordinal);
+        if (supportVariant != SupportVariant.NONE) {
+          builder.put(uid, configurations.get(ordinal), supportVariant);
+        }
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Добавляет секцию конфигурации поставщика без объектов, если конфигурации еще нет.
+   * Идентификаторы секции вычисляются по описанию конфигурации
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Эти настройки
+   */
+  public FullSupportDataBuilder addConfiguration(SupportConfiguration configuration) {
+    var uid = UUID.nameUUIDFromBytes(
+      (configuration.name() + '\n' + configuration.provider() + '\n' + configuration.version())
+        .getBytes(StandardCharsets.UTF_8));
+    return addConfiguration(configuration, uid, uid);
+  }
+
+  /**
+   * Добавляет секцию конфигурации поставщика без объектов, если конфигурации еще нет
+   *
+   * @param configuration           Конфигурация поставщика
+   * @param configurationUid        Первый идентификатор секции
+   * @param configurationVersionUid Второй идентификатор секции
+   * @return Эти настройки
+   */
+  public FullSupportDataBuilder addConfiguration(SupportConfiguration configuration, UUID configurationUid,
+                                                 UUID configurationVersionUid) {
+    if (!configurationSections.containsKey(configuration)) {
+      addSection(new Section(configuration, configurationUid, 0, configurationVersionUid,
+        SupportDataWriter.quote(configuration.version()), SupportDataWriter.quote(configuration.provider()),
+        SupportDataWriter.quote(configuration.name())));
+    }
+    return this;
+  }
+
+  /**
+   * Устанавливает вариант поддержки объекта для конфигурации поставщика во всех записях ее секций,
+   * при отсутствии записей объект добавляется в первую секцию конфигурации. Вариант SupportVariant.NONE
+   * удаляет объект из поддержки конфигурации. Если секция закрыта на изменение
+   * ({@link GeneralSupportVariant#LOCKED}), а вариант отличается от SupportVariant.NOT_EDITABLE,
+   * секция открывается, а остальные ее объекты остаются нередактируемыми
+   *
+   * @param uid            Идентификатор объекта
+   * @param configuration  Конфигурация поставщика
+   * @param supportVariant Вариант поддержки
+   * @return Эти настройки
+   */
+  public FullSupportDataBuilder put(UUID uid, SupportConfiguration configuration, SupportVariant supportVariant) {
+    if (supportVariant == SupportVariant.NONE) {
+      return remove(uid, configuration);
+    }
+
+    addConfiguration(configuration);
+    var found = false;
+    for (var section : configurationSections.get(configuration)) {
+      for (var objectRecord = section.objects.get(uid); objectRecord != null; objectRecord = objectRecord.next) {
+        setVariant(section, objectRecord, supportVariant);
+        found = true;
+      }
+    }
+
+    if (!found) {
+      var section = configurationSections.get(configuration).get(0);
+      var objectRecord = new ObjectRecord(uid, 0, SupportVariant.NOT_EDITABLE, 0, uid);
+      section.add(objectRecord);
+      count(uid, SupportVariant.NOT_EDITABLE, 1);
+      setVariant(section, objectRecord, supportVariant);
+    }
+    return this;
+  }
+
+  /**
+   * Устанавливает вариант поддержки объекта для конфигурации поставщика
+   *
+   * @param uid            Строка-идентификатор объекта
+   * @param configuration  Конфигурация поставщика
+   * @param supportVariant Вариант поддержки
+   * @return Эти настройки
+   * @throws IllegalArgumentException Строка не является идентификатором
+   * @see #put(UUID, SupportConfiguration, SupportVariant)
+   */
+  public FullSupportDataBuilder put(String uid, SupportConfiguration configuration, SupportVariant supportVariant) {
+    return put(UUID.fromString(uid), configuration, supportVariant);
+  }
+
+  /**
+   * Удаляет объект из поддержки конфигурации поставщика: удаляются его записи во всех секциях конфигурации
+   *
+   * @param uid           Идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Эти настройки
+   */
+  public FullSupportDataBuilder remove(UUID uid, SupportConfiguration configuration) {
+    for (var section : configurationSections.getOrDefault(configuration, List.of())) {
+      var objectRecord = section.remove(uid);
+      for (; objectRecord != null; objectRecord = objectRecord.next) {
+        count(uid, objectRecord.supportVariant, -1);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Удаляет объект из поддержки всех конфигураций поставщика
+   *
+   * @param uid Идентификатор объекта
+   * @return Эти настройки
+   */
+  public FullSupportDataBuilder remove(UUID uid) {
+    if (counts.containsKey(uid)) {
+      configurationSections.keySet().forEach(configuration -> remove(uid, configuration));
+    }
+    return this;
+  }
+
+  /**
+   * Возвращает конфигурации поставщика без повторов в порядке следования секций
+   *
+   * @return Неизменяемый список конфигураций поставщика
+   */
+  public List<SupportConfiguration> getConfigurations() {
+    return List.copyOf(configurationSections.keySet());
+  }
+
+  /**
+   * Возвращает количество секций, в том числе повторных секций одной конфигурации поставщика
+   *
+   * @return Количество секций
+   */
+  public int getSectionCount() {
+    return sections.size();
+  }
+
+  /**
+   * Возвращает сводный вариант поддержки объекта: максимальный по всем записям,
+   * как {@link SupportData#get(UUID)}
+   *
+   * @param uid Идентификатор объекта
+   * @return Вариант поддержки или SupportVariant.NONE, если объекта нет
+   */
+  public SupportVariant get(UUID uid) {
+    var variantCounts = counts.get(uid);
+    var result = SupportVariant.NONE;
+    if (variantCounts != null) {
+      for (var supportVariant : VARIANTS) {
+        if (variantCounts[supportVariant.ordinal()] > 0) {
+          result = SupportVariant.max(result, supportVariant);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает вариант поддержки объекта для конфигурации поставщика по первой записи,
+   * как {@link FullSupportData#get(UUID)}
+   *
+   * @param uid           Идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Вариант поддержки или SupportVariant.NONE, если объекта нет в поддержке конфигурации
+   */
+  public SupportVariant get(UUID uid, SupportConfiguration configuration) {
+    for (var section : configurationSections.getOrDefault(configuration, List.of())) {
+      var objectRecord = section.objects.get(uid);
+      if (objectRecord != null) {
+        return objectRecord.supportVariant;
+      }
+    }
+    return SupportVariant.NONE;
+  }
+
+  /**
+   * Возвращает общий вариант поддержки первой секции конфигурации поставщика
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Общий вариант поддержки, для отсутствующей конфигурации - {@link GeneralSupportVariant#UNLOCKED}
+   */
+  public GeneralSupportVariant getGeneralSupportVariant(SupportConfiguration configuration) {
+    var configurationSectionList = configurationSections.get(configuration);
+    if (configurationSectionList == null) {
+      return GeneralSupportVariant.UNLOCKED;
+    }
+    return GeneralSupportVariant.valueOf(configurationSectionList.get(0).generalSupport);
+  }
+
+  /**
+   * Возвращает количество объектов хотя бы одной конфигурации поставщика
+   *
+   * @return Количество объектов
+   */
+  public int size() {
+    return counts.size();
+  }
+
+  /**
+   * Создает полную информацию о поддержке по текущему состоянию. Последующие изменения на нее не влияют
+   *
+   * @return Полная информация о поддержке
+   */
+  public FullSupportData buildFull() {
+    var table = new ConfigurationVariantTable(counts.size());
+    for (var section : sections) {
+      var ordinal = table.addConfiguration(section.configuration);
+      section.forEach(objectRecord -> table.putIfAbsent(objectRecord.uid.getMostSignificantBits(),
+        objectRecord.uid.getLeastSignificantBits(), ordinal, objectRecord.supportVariant));
+    }
+    table.trim();
+    return FullSupportData.of(pathParentConfigurationBin, table);
+  }
+
+  /**
+   * Создает сводную информацию о поддержке по текущему состоянию без пересчета по конфигурациям.
+   * Последующие изменения на нее не влияют
+   *
+   * @return Сводная информация о поддержке
+   */
+  public SupportData build() {
+    var table = new VariantTable(counts.size());
+    counts.keySet().forEach(uid -> table.putIfAbsent(
+      uid.getMostSignificantBits(), uid.getLeastSignificantBits(), get(uid)));
+    table.trim();
+    return SupportData.of(pathParentConfigurationBin, table);
+  }
+
+  /**
+   * Записывает настройки в файл в формате ParentConfigurations.bin. Файл заменяется атомарно,
+   * если это поддерживает файловая система
+   *
+   * @param path Путь к файлу
+   * @throws IOException Ошибка записи
+   */
+  public void write(Path path) throws IOException {
+    SupportDataWriter.write(path, layout, sections);
+  }
+
+  /**
+   * Записывает настройки в поток в формате ParentConfigurations.bin. Поток не закрывается
+   *
+   * @param output Поток для записи
+   * @throws IOException Ошибка записи
+   */
+  public void write(OutputStream output) throws IOException {
+    SupportDataWriter.write(output, layout, sections);
+  }
+
+  private void addSection(Section section) {
+    sections.add(section);
+    configurationSections.computeIfAbsent(section.configuration, key -> new ArrayList<>()).add(section);
+  }
+
+  private void setVariant(Section section, ObjectRecord objectRecord, SupportVariant supportVariant) {
+    if (section.generalSupport != 0 && supportVariant != SupportVariant.NOT_EDITABLE) {
+      // в закрытой секции код варианта не учитывается, поэтому при открытии он приводится к фактическому
+      section.generalSupport = 0;
+      section.forEach(other -> other.rawVariant = SupportDataWriter.code(other.supportVariant));
+    }
+
+    count(objectRecord.uid, objectRecord.supportVariant, -1);
+    count(objectRecord.uid, supportVariant, 1);
+    objectRecord.supportVariant = supportVariant;
+    if (section.generalSupport == 0) {
+      objectRecord.rawVariant = SupportDataWriter.code(supportVariant);
+    }
+  }
+
+  private void count(UUID uid, SupportVariant supportVariant, int delta) {
+    var variantCounts = counts.computeIfAbsent(uid, key -> new int[VARIANTS.length]);
+    variantCounts[supportVariant.ordinal()] += delta;
+    if (delta < 0 && isEmpty(variantCounts)) {
+      counts.remove(uid);
+    }
+  }
+
+  private static boolean isEmpty(int[] variantCounts) {
+    for (var count : variantCounts) {
+      if (count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Служебные поля заголовка и окончания файла
+   *
+   * @param format    Первое поле файла
+   * @param flag      Второе поле файла
+   * @param separator Разделитель полей
+   * @param footer    Остаток файла после последней секции
+   */
+  record Layout(String format, String flag, String separator, String footer) {
+  }
+
+  /**
+   * Секция конфигурации поставщика. Записи хранятся в порядке следования, удаленные записи помечаются
+   * и пропускаются при записи, чтобы удаление не сдвигало список
+   */
+  static final class Section {
+    final SupportConfiguration configuration;
+    final UUID configurationUid;
+    final UUID configurationVersionUid;
+    final String version;
+    final String provider;
+    final String name;
+    int generalSupport;
+    String firstEnd = "0";
+    String secondEnd = "0";
+    int size;
+
+    final List<ObjectRecord> records = new ArrayList<>();
+
+    /**
+     * Первые записи объектов, следующие записи того же объекта связаны через {@link ObjectRecord#next}
+     */
+    private final Map<UUID, ObjectRecord> objects = new HashMap<>();
+
+    private Section(SupportConfiguration configuration, UUID configurationUid, int generalSupport,
+                    UUID configurationVersionUid, String version, String provider, String name) {
+      this.configuration = configuration;
+      this.configurationUid = configurationUid;
+      this.generalSupport = generalSupport;
+      this.configurationVersionUid = configurationVersionUid;
+      this.version = version;
+      this.provider = provider;
+      this.name = name;
+    }
+
+    /**
+     * Обходит действующие записи в порядке следования
+     *
+     * @param action Действие над записью
+     */
+    void forEach(Consumer<ObjectRecord> action) {
+      for (var objectRecord : records) {
+        if (!objectRecord.removed) {
+          action.accept(objectRecord);
+        }
+      }
+    }
+
+    private void add(ObjectRecord objectRecord) {
+      records.add(objectRecord);
+      size++;
+      var first = objects.putIfAbsent(objectRecord.uid, objectRecord);
+      if (first != null) {
+        var last = first;
+        while (last.next != null) {
+          last = last.next;
+        }
+        last.next = objectRecord;
+      }
+    }
+
+    private @Nullable ObjectRecord remove(UUID uid) {
+      var first = objects.remove(uid);
+      for (var objectRecord = first; objectRecord != null; objectRecord = objectRecord.next) {
+        objectRecord.removed = true;
+        size--;
+      }
+      return first;
+    }
+  }
+
+  /**
+   * Запись объекта секции
+   */
+  static final class ObjectRecord {
+    final UUID uid;
+    final int flag;
+    final UUID parentUid;
+    int rawVariant;
+    SupportVariant supportVariant;
+
+    private @Nullable ObjectRecord next;
+    boolean removed;
+
+    private ObjectRecord(UUID uid, int rawVariant, SupportVariant supportVariant, int flag, UUID parentUid) {
+      this.uid = uid;
+      this.rawVariant = rawVariant;
+      this.supportVariant = supportVariant;
+      this.flag = flag;
+      this.parentUid = parentUid;
+    }
+  }
+
+  /**
+   * Наполняет настройки при чтении файла
+   */
+  private final class Loader implements SupportDataLayoutVisitor {
+    private @Nullable SupportConfiguration configuration;
+    private @Nullable Section section;
+    private long mostSigBits;
+    private long leastSigBits;
+    private int rawVariant;
+    private @Nullable SupportVariant supportVariant;
+
+    @Override
+    public void visitPreamble(String format, String flag, String separator) {
+      layout = new Layout(format, flag, separator, layout.footer());
+    }
+
+    @Override
+    public Result visitConfiguration(SupportConfiguration configuration, GeneralSupportVariant generalSupportVariant,
+                                     int objectCount) {
+      this.configuration = configuration;
+      return Result.CONTINUE;
+    }
+
+    @Override
+    public void visitSectionLayout(UUID configurationUid, int generalSupport, UUID configurationVersionUid,
+                                   String version, String provider, String name) {
+      section = new Section(Objects.requireNonNull(configuration), configurationUid, generalSupport,
+        configurationVersionUid, version, provider, name);
+      addSection(section);
+    }
+
+    @Override
+    public Result visitObject(long mostSigBits, long leastSigBits, int rawVariant, SupportVariant supportVariant) {
+      this.mostSigBits = mostSigBits;
+      this.leastSigBits = leastSigBits;
+      this.rawVariant = rawVariant;
+      this.supportVariant = supportVariant;
+      return Result.CONTINUE;
+    }
+
+    @Override
+    public void visitObjectLayout(int flag, long parentMostSigBits, long parentLeastSigBits) {
+      var uid = new UUID(mostSigBits, leastSigBits);
+      var objectSupportVariant = Objects.requireNonNull(supportVariant);
+      Objects.requireNonNull(section).add(new ObjectRecord(uid, rawVariant, objectSupportVariant, flag,
+        new UUID(parentMostSigBits, parentLeastSigBits)));
+      count(uid, objectSupportVariant, 1);
+    }
+
+    @Override
+    public void visitSectionEnd(String first, String second) {
+      var currentSection = Objects.requireNonNull(section);
+      currentSection.firstEnd = first;
+      currentSection.secondEnd = second;
+    }
+
+    @Override
+    public void visitFooter(String footer) {
+      layout = new Layout(layout.format(), layout.flag(), layout.separator(), footer);
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Запросы вариантов поддержки объектов в разрезе конфигураций поставщика.
+ * <p>
+ * Реализуется {@link FullSupportData}, разбирающим файл целиком при создании, и {@link LazyFullSupportData},
+ * разбирающим секции конфигураций при первом обращении. Для одного файла реализации возвращают
+ * одинаковые результаты и взаимозаменяемы
+ */
+public interface FullSupportView {
+
+  /**
+   * Возвращает путь к файлу описания поставки
+   *
+   * @return Путь к файлу описания поставки
+   */
+  Path getPathParentConfigurationBin();
+
+  /**
+   * Возвращает прочитанную информацию о настройках поставки в виде неизменяемой коллекции,
+   * ключом которой является строковое представление идентификатора объекта.
+   * При обходе ключи выдаются в нижнем регистре, методы {@code get} и {@code containsKey} коллекции
+   * принимают идентификатор в любом регистре
+   *
+   * @return Варианты поддержки объектов в разрезе конфигураций поставщика
+   */
+  Map<String, Map<SupportConfiguration, SupportVariant>> getSupportVariants();
+
+  /**
+   * Возвращает конфигурации поставщика, встретившиеся в файле, без повторов и в порядке следования
+   *
+   * @return Неизменяемый список конфигураций поставщика
+   */
+  List<SupportConfiguration> getConfigurations();
+
+  /**
+   * Возвращает варианты поддержки для указанного идентификатора объекта для всех конфигураций поставщика.
+   * Если значения нет, то вернет пустую коллекцию
+   *
+   * @param uid Строка-идентификатор объекта
+   * @return Неизменяемая коллекция вариантов поддержки по конфигурациям поставщика
+   */
+  Map<SupportConfiguration, SupportVariant> get(String uid);
+
+  /**
+   * Возвращает варианты поддержки для указанного идентификатора объекта для всех конфигураций поставщика.
+   * Если значения нет, то вернет пустую коллекцию
+   *
+   * @param uid Идентификатор объекта
+   * @return Неизменяемая коллекция вариантов поддержки по конфигурациям поставщика
+   */
+  Map<SupportConfiguration, SupportVariant> get(UUID uid);
+
+  /**
+   * Возвращает значение о варианте поддержке для указанного идентификатора объекта и конфигурации поставщика.
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param uid           Строка-идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Значение варианта поддержки
+   */
+  SupportVariant get(String uid, SupportConfiguration configuration);
+
+  /**
+   * Возвращает значение о варианте поддержке для указанного идентификатора объекта и конфигурации поставщика.
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param uid           Идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Значение варианта поддержки
+   */
+  SupportVariant get(UUID uid, SupportConfiguration configuration);
+
+  /**
+   * Проверяет, находится ли объект на поддержке хотя бы одной конфигурации поставщика
+   *
+   * @param uid Строка-идентификатор объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  default boolean contains(String uid) {
+    return !get(uid).isEmpty();
+  }
+
+  /**
+   * Проверяет, находится ли объект на поддержке хотя бы одной конфигурации поставщика
+   *
+   * @param uid Идентификатор объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  default boolean contains(UUID uid) {
+    return !get(uid).isEmpty();
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки идентификаторов объектов для конфигурации поставщика
+   * в порядке обхода идентификаторов. Для отсутствующих и некорректных идентификаторов
+   * устанавливается SupportVariant.NONE
+   *
+   * @param uids          Идентификаторы объектов
+   * @param configuration Конфигурация поставщика
+   * @param result        Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  SupportVariant[] getAll(Collection<String> uids, SupportConfiguration configuration, SupportVariant[] result);
+
+  /**
+   * Заполняет массив вариантами поддержки идентификаторов объектов для конфигурации поставщика,
+   * элементу {@code i} результата соответствует элемент {@code i} массива идентификаторов.
+   * Для отсутствующих идентификаторов устанавливается SupportVariant.NONE
+   *
+   * @param uids          Идентификаторы объектов
+   * @param configuration Конфигурация поставщика
+   * @param result        Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  SupportVariant[] getAll(UUID[] uids, SupportConfiguration configuration, SupportVariant[] result);
+
+  /**
+   * Возвращает идентификаторы объектов, для которых задан вариант поддержки конфигурации поставщика
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Неизменяемое множество идентификаторов
+   */
+  UidSet getObjects(SupportConfiguration configuration);
+
+  /**
+   * Возвращает идентификаторы объектов с указанным вариантом поддержки конфигурации поставщика
+   *
+   * @param configuration  Конфигурация поставщика
+   * @param supportVariant Вариант поддержки
+   * @return Неизменяемое множество идентификаторов
+   */
+  UidSet getObjects(SupportConfiguration configuration, SupportVariant supportVariant);
+
+  /**
+   * Возвращает количество объектов конфигурации поставщика
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Количество объектов
+   */
+  default int count(SupportConfiguration configuration) {
+    return getObjects(configuration).size();
+  }
+
+  /**
+   * Возвращает количество объектов с указанным вариантом поддержки конфигурации поставщика
+   *
+   * @param configuration  Конфигурация поставщика
+   * @param supportVariant Вариант поддержки
+   * @return Количество объектов
+   */
+  default int count(SupportConfiguration configuration, SupportVariant supportVariant) {
+    return getObjects(configuration, supportVariant).size();
+  }
+}
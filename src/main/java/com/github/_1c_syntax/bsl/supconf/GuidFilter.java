@@ -0,0 +1,105 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+/**
+ * Блочный фильтр Блума по идентификаторам объектов (GUID).
+ * <p>
+ * Каждому идентификатору соответствует одно слово {@code long}, в котором устанавливаются четыре бита,
+ * поэтому проверка читает одно слово. На идентификатор приходится от 16 до 32 бит, доля ложных
+ * срабатываний - порядка десятых долей процента. Ложноотрицательных ответов не бывает: отрицательный ответ
+ * гарантирует отсутствие идентификатора, положительный требует проверки по индексу
+ */
+final class GuidFilter {
+  private static final int BITS_PER_GUID = 16;
+  private static final int BITS_PER_POSITION = 6;
+
+  private final long[] words;
+  private final int mask;
+
+  /**
+   * Создает пустой фильтр
+   *
+   * @param expectedSize Ожидаемое количество идентификаторов
+   */
+  GuidFilter(int expectedSize) {
+    var required = (int) Math.min(Math.max((long) expectedSize * BITS_PER_GUID / Long.SIZE, 1), 1 << 30);
+    var count = Integer.highestOneBit(required);
+    if (count < required) {
+      count <<= 1;
+    }
+    words = new long[count];
+    mask = count - 1;
+  }
+
+  /**
+   * Добавляет идентификатор в фильтр
+   *
+   * @param mostSigBits  Старшие биты идентификатора
+   * @param leastSigBits Младшие биты идентификатора
+   */
+  void add(long mostSigBits, long leastSigBits) {
+    var hash = hash(mostSigBits, leastSigBits);
+    words[word(hash)] |= pattern(hash);
+  }
+
+  /**
+   * Проверяет, мог ли идентификатор быть добавлен в фильтр
+   *
+   * @param mostSigBits  Старшие биты идентификатора
+   * @param leastSigBits Младшие биты идентификатора
+   * @return Ложь, если идентификатор точно не добавлялся
+   */
+  boolean mightContain(long mostSigBits, long leastSigBits) {
+    var hash = hash(mostSigBits, leastSigBits);
+    var pattern = pattern(hash);
+    return (words[word(hash)] & pattern) == pattern;
+  }
+
+  private int word(long hash) {
+    return (int) (hash >>> 32) & mask;
+  }
+
+  /**
+   * Возвращает объем памяти, занимаемой битами фильтра
+   *
+   * @return Объем в байтах
+   */
+  long retainedBytes() {
+    return (long) words.length * Long.BYTES;
+  }
+
+  private static long pattern(long hash) {
+    // сдвиг учитывает только младшие шесть битов, поэтому биты хеша берутся группами по шесть
+    return 1L << hash
+      | 1L << (hash >>> BITS_PER_POSITION)
+      | 1L << (hash >>> BITS_PER_POSITION * 2)
+      | 1L << (hash >>> BITS_PER_POSITION * 3);
+  }
+
+  private static long hash(long mostSigBits, long leastSigBits) {
+    // перемешивание отличается от хеша GuidIndex, чтобы коллизии фильтра и таблицы не совпадали
+    var hash = mostSigBits * 0xC2B2AE3D27D4EB4FL + leastSigBits;
+    hash = (hash ^ (hash >>> 29)) * 0xBF58476D1CE4E5B9L;
+    return hash ^ (hash >>> 32);
+  }
+}
@@ -0,0 +1,352 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Компактный индекс идентификаторов объектов (GUID).
+ * <p>
+ * Идентификаторы хранятся плотно, по строкам, парами {@code long}, а поиск строки по идентификатору
+ * выполняется через хеш-таблицу с открытой адресацией из номеров строк.
+ * Значения, относящиеся к идентификаторам, хранятся владельцем индекса в отдельных колонках,
+ * адресуемых номером строки. Строки и элементы {@link java.util.HashMap} на объект не создаются.
+ * <p>
+ * По окончании наполнения строится фильтр Блума ({@link GuidFilter}), поэтому поиск отсутствующего
+ * идентификатора, как правило, завершается без обращения к хеш-таблице
+ */
+final class GuidIndex {
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_LOAD_PERCENT = 50;
+  private static final int NOT_FOUND = -1;
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  /**
+   * Пары старших и младших битов идентификаторов: строке {@code i} соответствуют элементы {@code 2i} и {@code 2i+1}
+   */
+  private long[] guids;
+
+  /**
+   * Хеш-таблица: {@code 0} - пустой слот, иначе номер строки, увеличенный на единицу
+   */
+  private int[] slots;
+  private int mask;
+  private int size;
+
+  /**
+   * Фильтр отсутствующих идентификаторов, строится по окончании наполнения
+   */
+  private @Nullable GuidFilter filter;
+
+  GuidIndex() {
+    this(0);
+  }
+
+  GuidIndex(int expectedSize) {
+    guids = new long[Math.max(expectedSize, MIN_CAPACITY) * 2];
+    allocateSlots(capacityFor(expectedSize));
+  }
+
+  private GuidIndex(long[] guids) {
+    this.guids = guids;
+    this.size = guids.length / 2;
+    rehash(capacityFor(size));
+    buildFilter();
+  }
+
+  /**
+   * Создает индекс над готовым массивом уникальных идентификаторов
+   *
+   * @param guids Пары старших и младших битов идентификаторов, массив используется без копирования
+   * @return Индекс, номера строк которого совпадают с порядком идентификаторов в массиве
+   */
+  static GuidIndex of(long[] guids) {
+    return new GuidIndex(guids);
+  }
+
+  /**
+   * Возвращает количество идентификаторов
+   *
+   * @return Количество идентификаторов
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Проверяет отсутствие идентификаторов
+   *
+   * @return Истина, если индекс пуст
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Находит номер строки идентификатора
+   *
+   * @param mostSigBits  Старшие биты идентификатора
+   * @param leastSigBits Младшие биты идентификатора
+   * @return Номер строки или {@code -1}, если идентификатора нет
+   */
+  int indexOf(long mostSigBits, long leastSigBits) {
+    var currentFilter = filter;
+    if (currentFilter != null && !currentFilter.mightContain(mostSigBits, leastSigBits)) {
+      return NOT_FOUND;
+    }
+    return slots[find(mostSigBits, leastSigBits)] - 1;
+  }
+
+  /**
+   * Находит номер строки идентификатора, добавляя идентификатор в конец индекса при его отсутствии
+   *
+   * @param mostSigBits  Старшие биты идентификатора
+   * @param leastSigBits Младшие биты идентификатора
+   * @return Номер строки
+   */
+  int add(long mostSigBits, long leastSigBits) {
+    var slot = find(mostSigBits, leastSigBits);
+    if (slots[slot] != 0) {
+      return slots[slot] - 1;
+    }
+
+    var row = size++;
+    if (row * 2 == guids.length) {
+      guids = Arrays.copyOf(guids, Math.max(guids.length * 2, MIN_CAPACITY * 2));
+    }
+    guids[row * 2] = mostSigBits;
+    guids[row * 2 + 1] = leastSigBits;
+    slots[slot] = row + 1;
+    if (filter != null) {
+      // добавление после окончания наполнения не должно приводить к ложноотрицательным ответам
+      filter.add(mostSigBits, leastSigBits);
+    }
+
+    if (size * 100L > (long) slots.length * MAX_LOAD_PERCENT) {
+      rehash(slots.length * 2);
+    }
+    return row;
+  }
+
+  /**
+   * Возвращает старшие биты идентификатора строки
+   *
+   * @param row Номер строки
+   * @return Старшие биты идентификатора
+   */
+  long mostSigBits(int row) {
+    return guids[row * 2];
+  }
+
+  /**
+   * Возвращает младшие биты идентификатора строки
+   *
+   * @param row Номер строки
+   * @return Младшие биты идентификатора
+   */
+  long leastSigBits(int row) {
+    return guids[row * 2 + 1];
+  }
+
+  /**
+   * Возвращает строковое представление идентификатора строки
+   *
+   * @param row Номер строки
+   * @return Идентификатор объекта
+   */
+  String uid(int row) {
+    return new UUID(mostSigBits(row), leastSigBits(row)).toString();
+  }
+
+  /**
+   * Находит номер строки по строковому представлению идентификатора
+   *
+   * @param uid Идентификатор объекта
+   * @return Номер строки или {@code -1}, если идентификатора нет или строка не является идентификатором
+   */
+  int indexOf(String uid) {
+    if (size == 0 || !Guids.isGuid(uid)) {
+      return NOT_FOUND;
+    }
+    return indexOf(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Возвращает номера строк, упорядоченные по возрастанию идентификаторов
+   * (сравниваются старшие, затем младшие биты как знаковые числа)
+   *
+   * @return Номера строк
+   */
+  int[] sortedRows() {
+    var rows = new int[size];
+    for (var row = 0; row < size; row++) {
+      rows[row] = row;
+    }
+    sort(rows, 0, size - 1);
+    return rows;
+  }
+
+  /**
+   * Сравнивает идентификаторы строк в порядке {@link #sortedRows()}
+   *
+   * @param first  Номер первой строки
+   * @param second Номер второй строки
+   * @return Результат сравнения
+   */
+  int compareRows(int first, int second) {
+    var result = Long.compare(guids[first * 2], guids[second * 2]);
+    if (result != 0) {
+      return result;
+    }
+    return Long.compare(guids[first * 2 + 1], guids[second * 2 + 1]);
+  }
+
+  /**
+   * Сравнивает идентификаторы строк двух индексов в порядке {@link #sortedRows()}
+   *
+   * @param first     Первый индекс
+   * @param firstRow  Номер строки первого индекса
+   * @param second    Второй индекс
+   * @param secondRow Номер строки второго индекса
+   * @return Результат сравнения
+   */
+  static int compareRows(GuidIndex first, int firstRow, GuidIndex second, int secondRow) {
+    var result = Long.compare(first.guids[firstRow * 2], second.guids[secondRow * 2]);
+    if (result != 0) {
+      return result;
+    }
+    return Long.compare(first.guids[firstRow * 2 + 1], second.guids[secondRow * 2 + 1]);
+  }
+
+  /**
+   * Освобождает неиспользуемую емкость после окончания наполнения и строит фильтр отсутствующих идентификаторов
+   */
+  void trim() {
+    guids = Arrays.copyOf(guids, size * 2);
+    var capacity = capacityFor(size);
+    if (capacity < slots.length) {
+      rehash(capacity);
+    }
+    buildFilter();
+  }
+
+  /**
+   * Возвращает объем памяти, занимаемой массивами индекса и фильтра
+   *
+   * @return Объем в байтах
+   */
+  long retainedBytes() {
+    var currentFilter = filter;
+    return (long) guids.length * Long.BYTES + (long) slots.length * Integer.BYTES
+      + (currentFilter == null ? 0 : currentFilter.retainedBytes());
+  }
+
+  private void buildFilter() {
+    var newFilter = new GuidFilter(size);
+    for (var row = 0; row < size; row++) {
+      newFilter.add(guids[row * 2], guids[row * 2 + 1]);
+    }
+    filter = newFilter;
+  }
+
+  private int find(long mostSigBits, long leastSigBits) {
+    var slot = hash(mostSigBits, leastSigBits) & mask;
+    while (slots[slot] != 0) {
+      var row = slots[slot] - 1;
+      if (guids[row * 2] == mostSigBits && guids[row * 2 + 1] == leastSigBits) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void rehash(int capacity) {
+    allocateSlots(capacity);
+    for (var row = 0; row < size; row++) {
+      var slot = hash(guids[row * 2], guids[row * 2 + 1]) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = row + 1;
+    }
+  }
+
+  private void allocateSlots(int capacity) {
+    slots = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  private void sort(int[] rows, int low, int high) {
+    var from = low;
+    var to = high;
+    while (to - from > INSERTION_SORT_THRESHOLD) {
+      var pivot = rows[from + (to - from) / 2];
+      var left = from;
+      var right = to;
+      while (left <= right) {
+        while (compareRows(rows[left], pivot) < 0) {
+          left++;
+        }
+        while (compareRows(rows[right], pivot) > 0) {
+          right--;
+        }
+        if (left <= right) {
+          var swap = rows[left];
+          rows[left++] = rows[right];
+          rows[right--] = swap;
+        }
+      }
+      // рекурсия по меньшей части ограничивает глубину стека
+      if (right - from < to - left) {
+        sort(rows, from, right);
+        from = left;
+      } else {
+        sort(rows, left, to);
+        to = right;
+      }
+    }
+
+    for (var index = from + 1; index <= to; index++) {
+      var row = rows[index];
+      var position = index - 1;
+      while (position >= from && compareRows(rows[position], row) > 0) {
+        rows[position + 1] = rows[position];
+        position--;
+      }
+      rows[position + 1] = row;
+    }
+  }
+
+  private static int capacityFor(int expectedSize) {
+    var required = (int) Math.min((long) expectedSize * 100 / MAX_LOAD_PERCENT + 1, 1 << 30);
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit(required - 1) << 1);
+  }
+
+  private static int hash(long mostSigBits, long leastSigBits) {
+    var hash = (mostSigBits ^ Long.rotateLeft(leastSigBits, 32)) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Разбор строкового представления идентификатора объекта (GUID) в пару чисел {@code long}
+ * без создания промежуточных объектов.
+ * Получаемые значения совпадают с {@link java.util.UUID#getMostSignificantBits()} и
+ * {@link java.util.UUID#getLeastSignificantBits()}
+ */
+@UtilityClass
+class Guids {
+  /**
+   * Длина строкового представления идентификатора
+   */
+  static final int LENGTH = 36;
+
+  private static final int FIRST_DASH = 8;
+  private static final int SECOND_DASH = 13;
+  private static final int THIRD_DASH = 18;
+  private static final int FOURTH_DASH = 23;
+  private static final int BITS_PER_DIGIT = 4;
+  private static final int DIGITS_PER_LONG = Long.SIZE / BITS_PER_DIGIT;
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * Проверяет, что строка является идентификатором в формате 8-4-4-4-12
+   *
+   * @param value Проверяемая строка
+   * @return Истина, если строка является идентификатором
+   */
+  static boolean isGuid(CharSequence value) {
+    if (value.length() != LENGTH) {
+      return false;
+    }
+    for (var index = 0; index < LENGTH; index++) {
+      var ch = value.charAt(index);
+      if (isDashPosition(index)) {
+        if (ch != '-') {
+          return false;
+        }
+      } else if (hexDigit(ch) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Возвращает старшие 64 бита идентификатора
+   *
+   * @param value Строковое представление идентификатора
+   * @return Старшие биты
+   * @throws NumberFormatException Если строка не является идентификатором
+   */
+  static long mostSigBits(CharSequence value) {
+    checkLength(value.length(), value, 0, value.length());
+    var result = 0L;
+    for (var index = 0; index < THIRD_DASH; index++) {
+      result = accumulate(result, value.charAt(index), index, value, 0, value.length());
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает младшие 64 бита идентификатора
+   *
+   * @param value Строковое представление идентификатора
+   * @return Младшие биты
+   * @throws NumberFormatException Если строка не является идентификатором
+   */
+  static long leastSigBits(CharSequence value) {
+    checkLength(value.length(), value, 0, value.length());
+    var result = 0L;
+    for (var index = THIRD_DASH + 1; index < LENGTH; index++) {
+      result = accumulate(result, value.charAt(index), index, value, 0, value.length());
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает старшие 64 бита идентификатора, записанного в байтах ASCII
+   *
+   * @param value Буфер с байтами строкового представления идентификатора
+   * @param from  Позиция начала идентификатора
+   * @param to    Позиция, следующая за окончанием идентификатора
+   * @return Старшие биты
+   * @throws NumberFormatException Если байты не являются идентификатором
+   */
+  static long mostSigBits(ByteBuffer value, int from, int to) {
+    checkLength(to - from, value, from, to);
+    var result = 0L;
+    for (var index = 0; index < THIRD_DASH; index++) {
+      result = accumulate(result, (char) value.get(from + index), index, value, from, to);
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает младшие 64 бита идентификатора, записанного в байтах ASCII
+   *
+   * @param value Буфер с байтами строкового представления идентификатора
+   * @param from  Позиция начала идентификатора
+   * @param to    Позиция, следующая за окончанием идентификатора
+   * @return Младшие биты
+   * @throws NumberFormatException Если байты не являются идентификатором
+   */
+  static long leastSigBits(ByteBuffer value, int from, int to) {
+    checkLength(to - from, value, from, to);
+    var result = 0L;
+    for (var index = THIRD_DASH + 1; index < LENGTH; index++) {
+      result = accumulate(result, (char) value.get(from + index), index, value, from, to);
+    }
+    return result;
+  }
+
+  private static long accumulate(long result, char ch, int index, Object source, int from, int to) {
+    if (isDashPosition(index)) {
+      if (ch != '-') {
+        throw numberFormatException(source, from, to);
+      }
+      return result;
+    }
+
+    var digit = hexDigit(ch);
+    if (digit < 0) {
+      throw numberFormatException(source, from, to);
+    }
+    return (result << BITS_PER_DIGIT) | digit;
+  }
+
+  /**
+   * Возвращает значение шестнадцатеричной цифры. В отличие от {@link Character#digit(char, int)}
+   * принимаются только цифры ASCII, как в файле и в {@link java.util.UUID#fromString(String)}
+   *
+   * @return Значение цифры или {@code -1}
+   */
+  private static int hexDigit(char ch) {
+    if (ch >= '0' && ch <= '9') {
+      return ch - '0';
+    } else if (ch >= 'a' && ch <= 'f') {
+      return ch - 'a' + 10;
+    } else if (ch >= 'A' && ch <= 'F') {
+      return ch - 'A' + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * Возвращает текстовое представление идентификатора в байтах ASCII в нижнем регистре,
+   * как {@link java.util.UUID#toString()}, без создания строки
+   *
+   * @param mostSigBits  Старшие 64 бита идентификатора
+   * @param leastSigBits Младшие 64 бита идентификатора
+   * @return Байты представления длиной {@link #LENGTH}
+   */
+  static byte[] toBytes(long mostSigBits, long leastSigBits) {
+    var result = new byte[LENGTH];
+    var digit = 0;
+    for (var index = 0; index < LENGTH; index++) {
+      if (isDashPosition(index)) {
+        result[index] = '-';
+        continue;
+      }
+      var bits = digit < DIGITS_PER_LONG ? mostSigBits : leastSigBits;
+      var shift = (DIGITS_PER_LONG - 1 - digit % DIGITS_PER_LONG) * BITS_PER_DIGIT;
+      result[index] = HEX_DIGITS[(int) (bits >>> shift) & 0xF];
+      digit++;
+    }
+    return result;
+  }
+
+  private static boolean isDashPosition(int index) {
+    return index == FIRST_DASH || index == SECOND_DASH || index == THIRD_DASH || index == FOURTH_DASH;
+  }
+
+  private static void checkLength(int length, Object source, int from, int to) {
+    if (length != LENGTH) {
+      throw numberFormatException(source, from, to);
+    }
+  }
+
+  private static NumberFormatException numberFormatException(Object source, int from, int to) {
+    String value;
+    if (source instanceof ByteBuffer buffer) {
+      var bytes = new byte[to - from];
+      buffer.get(from, bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    } else {
+      value = source.toString();
+    }
+    return new NumberFormatException("Invalid GUID: " + value);
+  }
+}
@@ -0,0 +1,334 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Публикация сведений о чтении файлов и работе кеша слушателям {@link SupportDataListener} и событиями JFR.
+ * <p>
+ * Если слушателей нет и события JFR не записываются, публикация сводится к проверке флагов
+ * и не создает объектов: включенность событий проверяется по их типам до создания экземпляров
+ */
+@Slf4j
+@UtilityClass
+class Instrumentation {
+  private static final String CATEGORY = "Support Configuration";
+  private static final CopyOnWriteArrayList<SupportDataListener> LISTENERS = new CopyOnWriteArrayList<>();
+  private static final EventType READ = EventType.getEventType(ReadEvent.class);
+  private static final EventType CACHE_LOOKUP = EventType.getEventType(CacheLookupEvent.class);
+  private static final EventType CACHE_LOAD = EventType.getEventType(CacheLoadEvent.class);
+  private static final EventType CACHE_EVICTION = EventType.getEventType(CacheEvictionEvent.class);
+  private static volatile boolean hasListeners;
+
+  static void addListener(SupportDataListener listener) {
+    LISTENERS.addIfAbsent(listener);
+    hasListeners = true;
+  }
+
+  static boolean removeListener(SupportDataListener listener) {
+    var removed = LISTENERS.remove(listener);
+    hasListeners = !LISTENERS.isEmpty();
+    return removed;
+  }
+
+  /**
+   * Начинает замер чтения файла
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param readMode                   Режим чтения
+   * @param full                       Читается полная информация
+   * @return Замер, который необходимо завершить после чтения
+   */
+  static ReadTrace startRead(Path pathParentConfigurationBin, ReadMode readMode, boolean full) {
+    if (!hasListeners && !READ.isEnabled()) {
+      return ReadTrace.DISABLED;
+    }
+    var event = new ReadEvent();
+    event.begin();
+    return new ActiveReadTrace(event, pathParentConfigurationBin, readMode, full);
+  }
+
+  static void cacheLookup(Path path, SupportDataListener.LookupResult result) {
+    if (CACHE_LOOKUP.isEnabled()) {
+      var event = new CacheLookupEvent();
+      if (event.shouldCommit()) {
+        event.path = path.toString();
+        event.result = result.name();
+        event.commit();
+      }
+    }
+    if (hasListeners) {
+      notifyListeners(listener -> listener.onCacheLookup(path, result));
+    }
+  }
+
+  /**
+   * Начинает замер чтения файла для кеша
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param loadsInFlight              Количество выполняющихся чтений, включая текущее
+   * @param reload                     Замена ранее прочитанных данных
+   * @return Событие, передаваемое в {@link #loadFinished(CacheLoadEvent, Path, long, int)},
+   * или {@code null}, если событие не записывается
+   */
+  @Nullable
+  static CacheLoadEvent loadStarted(Path pathParentConfigurationBin, int loadsInFlight, boolean reload) {
+    CacheLoadEvent event = null;
+    if (CACHE_LOAD.isEnabled()) {
+      event = new CacheLoadEvent();
+      event.begin();
+      event.reload = reload;
+    }
+    if (hasListeners) {
+      notifyListeners(listener -> listener.onLoadStarted(pathParentConfigurationBin, loadsInFlight));
+    }
+    return event;
+  }
+
+  static void loadFinished(@Nullable CacheLoadEvent event, Path pathParentConfigurationBin, long durationNanos,
+                           int loadsInFlight) {
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.path = pathParentConfigurationBin.toString();
+        event.loadsInFlight = loadsInFlight;
+        event.commit();
+      }
+    }
+    if (hasListeners) {
+      notifyListeners(listener -> listener.onLoadFinished(pathParentConfigurationBin, durationNanos, loadsInFlight));
+    }
+  }
+
+  static void eviction(Path rootPath, long weight) {
+    if (CACHE_EVICTION.isEnabled()) {
+      var event = new CacheEvictionEvent();
+      if (event.shouldCommit()) {
+        event.rootPath = rootPath.toString();
+        event.weight = weight;
+        event.commit();
+      }
+    }
+    if (hasListeners) {
+      notifyListeners(listener -> listener.onEviction(rootPath, weight));
+    }
+  }
+
+  private static void notifyListeners(Consumer<SupportDataListener> action) {
+    for (var listener : LISTENERS) {
+      try {
+        action.accept(listener);
+      } catch (RuntimeException exception) {
+        LOGGER.debug("Listener {} failed", listener, exception);
+      }
+    }
+  }
+
+  /**
+   * Замер чтения файла
+   */
+  interface ReadTrace {
+    ReadTrace DISABLED = new ReadTrace() {
+    };
+
+    /**
+     * Отмечает окончание открытия файла и начало разбора
+     */
+    default void opened() {
+    }
+
+    /**
+     * Учитывает прочитанную секцию конфигурации поставщика
+     *
+     * @param countObjects Количество объектов секции
+     */
+    default void configuration(int countObjects) {
+    }
+
+    /**
+     * Учитывает содержимое, полученное разборщиком из источника
+     *
+     * @param countBytes Количество байт, {@code -1}, если оно неизвестно
+     */
+    default void read(long countBytes) {
+    }
+
+    /**
+     * Завершает замер и публикует сведения
+     */
+    default void finish() {
+    }
+  }
+
+  private static final class ActiveReadTrace implements ReadTrace {
+    private final ReadEvent event;
+    private final Path pathParentConfigurationBin;
+    private final ReadMode readMode;
+    private final boolean full;
+    private final long startedAt = System.nanoTime();
+    private long openedAt;
+    private int configurationCount;
+    private int objectCount;
+    private long bytes = -1;
+
+    private ActiveReadTrace(ReadEvent event, Path pathParentConfigurationBin, ReadMode readMode, boolean full) {
+      this.event = event;
+      this.pathParentConfigurationBin = pathParentConfigurationBin;
+      this.readMode = readMode;
+      this.full = full;
+      this.openedAt = startedAt;
+    }
+
+    @Override
+    public void opened() {
+      openedAt = System.nanoTime();
+    }
+
+    @Override
+    public void read(long countBytes) {
+      bytes = countBytes;
+    }
+
+    @Override
+    public void configuration(int countObjects) {
+      configurationCount++;
+      objectCount += Math.max(countObjects, 0);
+    }
+
+    @Override
+    public void finish() {
+      var finishedAt = System.nanoTime();
+      var statistics = new ReadStatistics(pathParentConfigurationBin, readMode, full, bytes,
+        configurationCount, objectCount, openedAt - startedAt, finishedAt - openedAt);
+
+      event.end();
+      if (event.shouldCommit()) {
+        event.path = pathParentConfigurationBin.toString();
+        event.readMode = readMode.name();
+        event.full = full;
+        event.bytes = statistics.bytes();
+        event.configurationCount = configurationCount;
+        event.objectCount = objectCount;
+        event.openDuration = statistics.openNanos();
+        event.parseDuration = statistics.parseNanos();
+        event.commit();
+      }
+      if (hasListeners) {
+        notifyListeners(listener -> listener.onRead(statistics));
+      }
+    }
+  }
+
+  @Name("com.github._1c_syntax.bsl.supconf.Read")
+  @Label("ParentConfigurations.bin Read")
+  @Description("Чтение и разбор файла ParentConfigurations.bin")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class ReadEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Read Mode")
+    String readMode;
+
+    @Label("Full")
+    boolean full;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Configurations")
+    int configurationCount;
+
+    @Label("Objects")
+    int objectCount;
+
+    @Label("Open Duration")
+    @Timespan
+    long openDuration;
+
+    @Label("Parse Duration")
+    @Timespan
+    long parseDuration;
+  }
+
+  @Name("com.github._1c_syntax.bsl.supconf.CacheLookup")
+  @Label("Support Data Cache Lookup")
+  @Description("Поиск данных о поддержке в кеше по пути. По умолчанию не записывается из-за частоты")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class CacheLookupEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Result")
+    String result;
+  }
+
+  @Name("com.github._1c_syntax.bsl.supconf.CacheLoad")
+  @Label("Support Data Cache Load")
+  @Description("Чтение файла ParentConfigurations.bin для помещения в кеш или замены измененных данных")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class CacheLoadEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Reload")
+    boolean reload;
+
+    @Label("Loads In Flight")
+    int loadsInFlight;
+  }
+
+  @Name("com.github._1c_syntax.bsl.supconf.CacheEviction")
+  @Label("Support Data Cache Eviction")
+  @Description("Вытеснение данных о поддержке из кеша")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class CacheEvictionEvent extends Event {
+    @Label("Root Path")
+    String rootPath;
+
+    @Label("Objects")
+    long weight;
+  }
+}
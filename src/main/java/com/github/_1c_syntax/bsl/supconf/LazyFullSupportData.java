@@ -0,0 +1,427 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Содержимое настроек поставки с отложенным разбором секций конфигураций поставщика.
+ * <p>
+ * При создании файл читается в память и разбираются только заголовки секций (название, поставщик, версия
+ * и количество объектов) и их смещения, записи объектов пропускаются без разбора идентификаторов.
+ * Записи секций конфигурации разбираются при первом запросе вариантов поддержки этой конфигурации.
+ * Если конфигурация встречается в нескольких секциях, используется первое вхождение объекта,
+ * как и в {@link FullSupportData}.
+ * <p>
+ * Запросы {@link FullSupportView} возвращают те же результаты, что и {@link FullSupportData}. Запросы по одной
+ * конфигурации разбирают только ее записи, {@link #getSupportVariants()} разбирает все конфигурации,
+ * а запросы по всем конфигурациям сначала выполняются просмотром содержимого без разбора (см. {@link #get(String)}).
+ * Ошибка разбора секции записывается в журнал при каждом обращении к ее конфигурации,
+ * а ответ для этой конфигурации остается пустым.
+ * <p>
+ * Содержимое файла копируется в кучу, а не отображается, поэтому сам файл после создания не удерживается
+ * и может заменяться. Копия освобождается, когда разобраны все конфигурации
+ */
+@Slf4j
+public final class LazyFullSupportData implements FullSupportView {
+  private static final int SCANS_BEFORE_DECODE = 4;
+
+  /**
+   * Путь к файлу описания поставки
+   */
+  @Getter
+  private final Path pathParentConfigurationBin;
+
+  /**
+   * Секции файла по конфигурациям поставщика в порядке следования
+   */
+  private final Map<SupportConfiguration, List<SupportDataReader.Chunk>> sections;
+
+  /**
+   * Разобранные варианты поддержки по конфигурациям поставщика
+   */
+  private final Map<SupportConfiguration, VariantTable> decoded = new ConcurrentHashMap<>();
+
+  /**
+   * Варианты поддержки всех конфигураций, собранные при первом запросе {@link #getSupportVariants()}
+   */
+  private volatile @Nullable ConfigurationVariantTable full;
+
+  /**
+   * Количество запросов по всем конфигурациям, выполненных просмотром содержимого
+   */
+  private final AtomicInteger scans = new AtomicInteger();
+
+  private volatile @Nullable ByteBuffer buffer;
+
+  private LazyFullSupportData(Path pathParentConfigurationBin, @Nullable ByteBuffer buffer,
+                              Map<SupportConfiguration, List<SupportDataReader.Chunk>> sections) {
+    this.pathParentConfigurationBin = pathParentConfigurationBin;
+    this.buffer = buffer;
+    this.sections = sections;
+  }
+
+  /**
+   * Читает заголовки секций файла описания поставки
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @return Данные с отложенным разбором
+   */
+  public static LazyFullSupportData create(Path pathParentConfigurationBin) {
+    ByteBuffer buffer;
+    List<SupportDataReader.Chunk> chunks;
+    try {
+      buffer = ByteBufferTokenizer.readFile(pathParentConfigurationBin);
+      chunks = SupportDataReader.indexSections(buffer);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      return new LazyFullSupportData(pathParentConfigurationBin, null, Collections.emptyMap());
+    }
+
+    var sections = new LinkedHashMap<SupportConfiguration, List<SupportDataReader.Chunk>>();
+    chunks.forEach(chunk ->
+      sections.computeIfAbsent(chunk.header().supportConfiguration(), configuration -> new ArrayList<>()).add(chunk));
+    return new LazyFullSupportData(pathParentConfigurationBin, buffer, Collections.unmodifiableMap(sections));
+  }
+
+  /**
+   * Возвращает конфигурации поставщика, встретившиеся в файле, без повторов и в порядке следования.
+   * Разбор записей объектов не выполняется
+   *
+   * @return Неизменяемый список конфигураций поставщика
+   */
+  @Override
+  public List<SupportConfiguration> getConfigurations() {
+    return List.copyOf(sections.keySet());
+  }
+
+  /**
+   * Возвращает количество записей объектов конфигурации поставщика по заголовкам секций.
+   * Разбор записей объектов не выполняется
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Количество записей объектов или {@code 0}, если конфигурации нет в файле
+   */
+  public int getObjectCount(SupportConfiguration configuration) {
+    var count = 0;
+    for (var chunk : sections.getOrDefault(configuration, Collections.emptyList())) {
+      count += Math.max(chunk.countObjects(), 0);
+    }
+    return count;
+  }
+
+  /**
+   * Проверяет, разобраны ли записи объектов конфигурации поставщика
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Истина, если записи уже разобраны
+   */
+  public boolean isDecoded(SupportConfiguration configuration) {
+    return decoded.containsKey(configuration);
+  }
+
+  /**
+   * Возвращает прочитанную информацию о настройках поставки в том же виде, что и
+   * {@link FullSupportData#getSupportVariants()}. Разбирает записи всех еще не разобранных конфигураций
+   *
+   * @return Варианты поддержки объектов в разрезе конфигураций поставщика
+   */
+  @Override
+  public Map<String, Map<SupportConfiguration, SupportVariant>> getSupportVariants() {
+    var result = full;
+    if (result != null) {
+      return result.asMap();
+    }
+
+    var table = new ConfigurationVariantTable();
+    var complete = true;
+    for (var configuration : sections.keySet()) {
+      var ordinal = table.addConfiguration(configuration);
+      var variantTable = decoded.get(configuration);
+      if (variantTable == null) {
+        variantTable = table(configuration);
+        complete &= isDecoded(configuration);
+      }
+      var index = variantTable.index();
+      for (var row = 0; row < index.size(); row++) {
+        table.putIfAbsent(index.mostSigBits(row), index.leastSigBits(row), ordinal, variantTable.variant(row));
+      }
+    }
+    table.trim();
+    if (complete) {
+      // секции с ошибкой разбора не сохраняются, чтобы следующее обращение повторило разбор
+      full = table;
+    }
+    return table.asMap();
+  }
+
+  /**
+   * Возвращает значение о варианте поддержке для указанного идентификатора объекта и конфигурации поставщика.
+   * При первом обращении к конфигурации разбираются ее записи.
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param uid           Идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Значение варианта поддержки
+   */
+  @Override
+  public SupportVariant get(String uid, SupportConfiguration configuration) {
+    if (uid.isBlank() || !Guids.isGuid(uid) || !sections.containsKey(configuration)) {
+      return SupportVariant.NONE;
+    }
+    return table(configuration).get(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Возвращает значение о варианте поддержке для указанного идентификатора объекта и конфигурации поставщика.
+   * При первом обращении к конфигурации разбираются ее записи.
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param uid           Идентификатор объекта
+   * @param configuration Конфигурация поставщика
+   * @return Значение варианта поддержки
+   */
+  @Override
+  public SupportVariant get(UUID uid, SupportConfiguration configuration) {
+    if (!sections.containsKey(configuration)) {
+      return SupportVariant.NONE;
+    }
+    return table(configuration).get(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+  }
+
+  /**
+   * Возвращает варианты поддержки для указанного идентификатора объекта для всех конфигураций поставщика.
+   * Первые четыре таких обращения просматривают содержимое файла целиком в поисках идентификатора,
+   * не разбирая записи секций, в том числе уже разобранных. Последующие обращения разбирают записи
+   * всех конфигураций, так как повторные просмотры файла обходятся дороже однократного разбора.
+   * Если значения нет, то вернет пустую коллекцию
+   *
+   * @param uid Идентификатор объекта
+   * @return Неизменяемая коллекция вариантов поддержки по конфигурациям поставщика
+   */
+  @Override
+  public Map<SupportConfiguration, SupportVariant> get(String uid) {
+    if (uid.isBlank() || !Guids.isGuid(uid)) {
+      return Collections.emptyMap();
+    }
+    return get(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Возвращает варианты поддержки для указанного идентификатора объекта для всех конфигураций поставщика,
+   * см. {@link #get(String)}
+   *
+   * @param uid Идентификатор объекта
+   * @return Неизменяемая коллекция вариантов поддержки по конфигурациям поставщика
+   */
+  @Override
+  public Map<SupportConfiguration, SupportVariant> get(UUID uid) {
+    return get(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки идентификаторов объектов для конфигурации поставщика
+   * в порядке обхода идентификаторов. Для отсутствующих и некорректных идентификаторов
+   * устанавливается SupportVariant.NONE. Разбирает записи конфигурации, если они еще не разобраны
+   *
+   * @param uids          Идентификаторы объектов
+   * @param configuration Конфигурация поставщика
+   * @param result        Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  @Override
+  public SupportVariant[] getAll(Collection<String> uids, SupportConfiguration configuration,
+                                 SupportVariant[] result) {
+    SupportData.checkResultSize(uids.size(), result);
+    if (!sections.containsKey(configuration)) {
+      Arrays.fill(result, 0, uids.size(), SupportVariant.NONE);
+      return result;
+    }
+
+    var table = table(configuration);
+    var position = 0;
+    for (var uid : uids) {
+      result[position++] = Guids.isGuid(uid)
+        ? table.get(Guids.mostSigBits(uid), Guids.leastSigBits(uid))
+        : SupportVariant.NONE;
+    }
+    return result;
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки идентификаторов объектов для конфигурации поставщика,
+   * элементу {@code i} результата соответствует элемент {@code i} массива идентификаторов.
+   * Для отсутствующих идентификаторов устанавливается SupportVariant.NONE.
+   * Разбирает записи конфигурации, если они еще не разобраны
+   *
+   * @param uids          Идентификаторы объектов
+   * @param configuration Конфигурация поставщика
+   * @param result        Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  @Override
+  public SupportVariant[] getAll(UUID[] uids, SupportConfiguration configuration, SupportVariant[] result) {
+    SupportData.checkResultSize(uids.length, result);
+    if (!sections.containsKey(configuration)) {
+      Arrays.fill(result, 0, uids.length, SupportVariant.NONE);
+      return result;
+    }
+
+    var table = table(configuration);
+    for (var index = 0; index < uids.length; index++) {
+      result[index] = table.get(uids[index].getMostSignificantBits(), uids[index].getLeastSignificantBits());
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает идентификаторы объектов, для которых задан вариант поддержки конфигурации поставщика.
+   * Разбирает записи конфигурации, если они еще не разобраны
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Неизменяемое множество идентификаторов
+   */
+  @Override
+  public UidSet getObjects(SupportConfiguration configuration) {
+    if (!sections.containsKey(configuration)) {
+      return UidSet.empty();
+    }
+    return table(configuration).objects();
+  }
+
+  /**
+   * Возвращает идентификаторы объектов с указанным вариантом поддержки конфигурации поставщика.
+   * Разбирает записи конфигурации, если они еще не разобраны
+   *
+   * @param configuration  Конфигурация поставщика
+   * @param supportVariant Вариант поддержки
+   * @return Неизменяемое множество идентификаторов
+   */
+  @Override
+  public UidSet getObjects(SupportConfiguration configuration, SupportVariant supportVariant) {
+    if (!sections.containsKey(configuration)) {
+      return UidSet.empty();
+    }
+    return table(configuration).objects(supportVariant);
+  }
+
+  /**
+   * Возвращает количество объектов конфигурации поставщика без повторов.
+   * Разбирает записи конфигурации, если они еще не разобраны, в отличие от {@link #getObjectCount}
+   *
+   * @param configuration Конфигурация поставщика
+   * @return Количество объектов
+   */
+  @Override
+  public int count(SupportConfiguration configuration) {
+    if (!sections.containsKey(configuration)) {
+      return 0;
+    }
+    return table(configuration).size();
+  }
+
+  private Map<SupportConfiguration, SupportVariant> get(long mostSigBits, long leastSigBits) {
+    var currentBuffer = buffer;
+    if (currentBuffer != null && scans.incrementAndGet() <= SCANS_BEFORE_DECODE) {
+      try {
+        return SupportDataLookup.configurationVariants(currentBuffer, mostSigBits, leastSigBits);
+      } catch (NumberFormatException | IOException exception) {
+        // ошибка разбора будет сообщена для каждой секции при ее разборе
+        LOGGER.debug("TRACE", exception);
+      }
+    }
+
+    var result = new LinkedHashMap<SupportConfiguration, SupportVariant>();
+    for (var configuration : sections.keySet()) {
+      var supportVariant = table(configuration).get(mostSigBits, leastSigBits);
+      if (supportVariant != SupportVariant.NONE) {
+        result.put(configuration, supportVariant);
+      }
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Возвращает разобранные записи конфигурации, разбирая их при первом обращении. Секция с ошибкой
+   * разбора не сохраняется: ошибка сообщается при каждом обращении, а не превращается в пустой результат
+   */
+  private VariantTable table(SupportConfiguration configuration) {
+    var table = decoded.get(configuration);
+    if (table != null) {
+      return table;
+    }
+
+    try {
+      table = decoded.computeIfAbsent(configuration, this::decode);
+    } catch (NumberFormatException | UncheckedIOException exception) {
+      LOGGER.error("Ошибка чтения секции конфигурации {} файла {}", configuration.name(), pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      return new VariantTable();
+    }
+    if (decoded.size() == sections.size()) {
+      // все секции разобраны, содержимое файла больше не нужно
+      buffer = null;
+    }
+    return table;
+  }
+
+  private VariantTable decode(SupportConfiguration configuration) {
+    var currentBuffer = buffer;
+    var chunks = sections.get(configuration);
+    var table = new VariantTable();
+    if (currentBuffer == null || chunks == null) {
+      return table;
+    }
+
+    LOGGER.debug("Decoding configuration {} from {}", configuration.name(), pathParentConfigurationBin);
+    var variants = SupportVariant.values();
+    for (var chunk : chunks) {
+      var decodedChunk = SupportDataReader.decodeChunk(currentBuffer, chunk);
+      for (var numberObject = 0; numberObject < decodedChunk.variants().length; numberObject++) {
+        table.putIfAbsent(decodedChunk.guids()[numberObject * 2], decodedChunk.guids()[numberObject * 2 + 1],
+          variants[decodedChunk.variants()[numberObject]]);
+      }
+    }
+
+    table.trim();
+    return table;
+  }
+}
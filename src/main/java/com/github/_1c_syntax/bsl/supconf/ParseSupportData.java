@@ -24,13 +24,24 @@ package com.github._1c_syntax.bsl.supconf;
 import com.github._1c_syntax.bsl.support.SupportVariant;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FilenameUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Comparator;
+import java.nio.file.ProviderNotFoundException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 
 /**
  * Используется для чтения информации о поддержке из файла ParentConfigurations.bin конфигурации
@@ -38,7 +49,7 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 @UtilityClass
 public class ParseSupportData {
-  private static final Map<Path, SupportData> CACHE = new ConcurrentHashMap<>();
+  private static volatile SupportDataCache cache = new SupportDataCache(CacheSettings.defaults());
 
   /**
    * Выполняет чтение сводной информации о поддержке и помещает значение в кеше
@@ -46,8 +57,63 @@ public class ParseSupportData {
    * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
    */
   public static void read(Path pathParentConfigurationBin) {
+    read(pathParentConfigurationBin, ReadMode.STREAM);
+  }
+
+  /**
+   * Выполняет чтение сводной информации о поддержке в указанном режиме и помещает значение в кеше.
+   * Если в настройках кеша указано место хранения снимков, данные загружаются из снимка,
+   * а при его отсутствии или устаревании файл разбирается и снимок создается заново
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param readMode                   Режим чтения файла
+   */
+  public static void read(Path pathParentConfigurationBin, ReadMode readMode) {
+    var rootPath = getRootConfiguration(pathParentConfigurationBin);
+    var currentCache = cache;
+    var snapshotLocation = currentCache.settings().snapshotLocation();
+    currentCache.get(rootPath, pathParentConfigurationBin,
+      path -> SupportData.create(path, readMode, snapshotLocation));
+  }
+
+  /**
+   * Запускает чтение сводной информации о поддержке в кеш на виртуальном потоке
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @return Прочитанные данные по завершении чтения
+   */
+  public static CompletableFuture<SupportData> readAsync(Path pathParentConfigurationBin) {
+    return readAsync(pathParentConfigurationBin, ReadMode.STREAM);
+  }
+
+  /**
+   * Запускает чтение сводной информации о поддержке в указанном режиме в кеш на виртуальном потоке.
+   * Если данные уже в кеше, возвращается завершенный результат. Одновременные чтения одного корневого
+   * каталога, в том числе через {@link #read(Path, ReadMode)}, выполняются один раз, а обратившиеся
+   * получают общий результат. Отмена результата отменяет чтение для всех ожидающих,
+   * прочитанные данные при этом не помещаются в кеш
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param readMode                   Режим чтения файла
+   * @return Прочитанные данные по завершении чтения
+   */
+  public static CompletableFuture<SupportData> readAsync(Path pathParentConfigurationBin, ReadMode readMode) {
     var rootPath = getRootConfiguration(pathParentConfigurationBin);
-    CACHE.computeIfAbsent(rootPath, key -> SupportData.create(pathParentConfigurationBin));
+    var currentCache = cache;
+    var snapshotLocation = currentCache.settings().snapshotLocation();
+    return currentCache.getAsync(rootPath, pathParentConfigurationBin,
+      path -> SupportData.create(path, readMode, snapshotLocation));
+  }
+
+  /**
+   * Отменяет незавершенные чтения конфигураций, расположенных в указанном каталоге,
+   * например при закрытии рабочей области
+   *
+   * @param path Каталог рабочей области или корневой каталог конфигурации
+   * @return Количество отмененных чтений
+   */
+  public static int cancelLoading(Path path) {
+    return cache.cancelLoading(path);
   }
 
   /**
@@ -59,6 +125,16 @@ public class ParseSupportData {
     return SupportData.create(pathParentConfigurationBin);
   }
 
+  /**
+   * Выполняет чтение сводной информации о поддержке без кеширования в указанном режиме
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param readMode                   Режим чтения файла
+   */
+  public static SupportData readNoCache(Path pathParentConfigurationBin, ReadMode readMode) {
+    return SupportData.create(pathParentConfigurationBin, readMode);
+  }
+
   /**
    * Выполняет чтение полной информации о поддержке без кеширования
    *
@@ -68,6 +144,183 @@ public class ParseSupportData {
     return FullSupportData.create(pathParentConfigurationBin);
   }
 
+  /**
+   * Выполняет чтение полной информации о поддержке без кеширования в указанном режиме
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param readMode                   Режим чтения файла
+   */
+  public static FullSupportData readFull(Path pathParentConfigurationBin, ReadMode readMode) {
+    return FullSupportData.create(pathParentConfigurationBin, readMode);
+  }
+
+  /**
+   * Выполняет чтение заголовков секций без кеширования. Записи объектов конфигурации поставщика
+   * разбираются при первом обращении к ней
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   */
+  public static LazyFullSupportData readFullLazy(Path pathParentConfigurationBin) {
+    return LazyFullSupportData.create(pathParentConfigurationBin);
+  }
+
+  /**
+   * Читает только заголовки файла описания поставки: конфигурации поставщика, их общий вариант поддержки
+   * и количество объектов. Записи объектов пропускаются без разбора
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @return Описания секций в порядке следования в файле, при ошибке чтения - пустой список
+   */
+  public static List<ConfigurationDescriptor> probe(Path pathParentConfigurationBin) {
+    try {
+      return SupportDataReader.readDescriptors(pathParentConfigurationBin);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Возвращает вариант поддержки объекта без кеширования и полного разбора файла: содержимое просматривается
+   * в поисках идентификатора, разбираются только найденные записи и заголовки секций.
+   * Результат совпадает с {@link SupportData#get(String)}
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param uid                        Строка-идентификатор объекта
+   * @return Вариант поддержки, при отсутствии объекта или ошибке чтения - SupportVariant.NONE
+   */
+  public static SupportVariant lookup(Path pathParentConfigurationBin, String uid) {
+    return lookup(pathParentConfigurationBin, List.of(uid)).get(uid);
+  }
+
+  /**
+   * Возвращает варианты поддержки нескольких объектов за один просмотр файла без кеширования и полного разбора.
+   * Результат совпадает с {@link SupportData#get(String)} для каждого идентификатора
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param uids                       Строки-идентификаторы объектов
+   * @return Варианты поддержки по идентификаторам в порядке обхода, при отсутствии объекта или ошибке чтения -
+   * SupportVariant.NONE
+   */
+  public static Map<String, SupportVariant> lookup(Path pathParentConfigurationBin, Collection<String> uids) {
+    var uidList = List.copyOf(uids);
+    SupportVariant[] supportVariants;
+    try {
+      supportVariants = SupportDataLookup.variants(pathParentConfigurationBin, uidList);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      supportVariants = new SupportVariant[uidList.size()];
+      Arrays.fill(supportVariants, SupportVariant.NONE);
+    }
+
+    var result = new LinkedHashMap<String, SupportVariant>();
+    for (var numberUid = 0; numberUid < uidList.size(); numberUid++) {
+      result.put(uidList.get(numberUid), supportVariants[numberUid]);
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Возвращает варианты поддержки объекта по конфигурациям поставщика без кеширования и полного разбора файла.
+   * Результат совпадает с {@link FullSupportData#get(String)}
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param uid                        Строка-идентификатор объекта
+   * @return Варианты поддержки по конфигурациям, при отсутствии объекта или ошибке чтения - пустая коллекция
+   */
+  public static Map<SupportConfiguration, SupportVariant> lookupFull(Path pathParentConfigurationBin, String uid) {
+    try {
+      return SupportDataLookup.configurationVariants(pathParentConfigurationBin, uid);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * Сравнивает две версии файла описания поставки, например до и после обновления конфигурации поставщика
+   *
+   * @param before Путь к прежней версии файла
+   * @param after  Путь к новой версии файла
+   * @return Различия вариантов поддержки по конфигурациям поставщика, для которых они есть
+   */
+  public static Map<SupportConfiguration, SupportDataDiff> diff(Path before, Path after) {
+    return SupportDataDiff.between(FullSupportData.create(before), FullSupportData.create(after));
+  }
+
+  /**
+   * Находит в каталоге рабочей области файлы ParentConfigurations.bin выгрузок конфигуратора
+   * ({@code Ext/ParentConfigurations.bin}) и проектов EDT ({@code src/Configuration/ParentConfigurations.bin})
+   *
+   * @param workspace Каталог рабочей области
+   * @return Пути к найденным файлам, при ошибке обхода каталога - пустой список
+   */
+  public static List<Path> findSupportFiles(Path workspace) {
+    try {
+      return WorkspaceSupportFiles.find(workspace);
+    } catch (IOException exception) {
+      LOGGER.error("Ошибка чтения каталога {}", workspace);
+      LOGGER.debug("TRACE", exception);
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Читает сводную информацию о поддержке всех файлов ParentConfigurations.bin выгрузок конфигуратора
+   * и проектов EDT из zip-архива без распаковки на диск
+   *
+   * @param archive Путь к архиву
+   * @return Прочитанные данные по путям файлов внутри архива, при ошибке открытия архива - пустая коллекция.
+   * Путь к файлу в данных - относительный путь записи архива в файловой системе по умолчанию: он служит
+   * только описанием источника, так как файловая система архива закрывается до возврата
+   */
+  public static Map<String, SupportData> readArchive(Path archive) {
+    return readArchive(archive, SupportData::create);
+  }
+
+  /**
+   * Читает полную информацию о поддержке всех файлов ParentConfigurations.bin выгрузок конфигуратора
+   * и проектов EDT из zip-архива без распаковки на диск
+   *
+   * @param archive Путь к архиву
+   * @return Прочитанные данные по путям файлов внутри архива, при ошибке открытия архива - пустая коллекция.
+   * Путь к файлу в данных - относительный путь записи архива в файловой системе по умолчанию: он служит
+   * только описанием источника, так как файловая система архива закрывается до возврата
+   */
+  public static Map<String, FullSupportData> readFullArchive(Path archive) {
+    return readArchive(archive, FullSupportData::create);
+  }
+
+  /**
+   * Находит в каталоге рабочей области файлы ParentConfigurations.bin и параллельно читает
+   * сводную информацию о поддержке в кеш
+   *
+   * @param workspace Каталог рабочей области
+   * @return Пути к прочитанным файлам
+   */
+  public static List<Path> readWorkspace(Path workspace) {
+    return readWorkspace(workspace, ReadMode.STREAM, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Находит в каталоге рабочей области файлы ParentConfigurations.bin и читает сводную информацию о поддержке
+   * в кеш на виртуальных потоках. Ключами кеша являются те же корневые каталоги, что и при вызове
+   * {@link #read(Path, ReadMode)} для каждого файла. Метод возвращает управление после завершения всех чтений
+   *
+   * @param workspace   Каталог рабочей области
+   * @param readMode    Режим чтения файлов
+   * @param parallelism Наибольшее количество одновременно читаемых файлов
+   * @return Пути к прочитанным файлам
+   */
+  public static List<Path> readWorkspace(Path workspace, ReadMode readMode, int parallelism) {
+    var files = findSupportFiles(workspace);
+    WorkspaceSupportFiles.readAll(files, parallelism, file -> read(file, readMode));
+    return files;
+  }
+
   /**
    * Возвращает вариант поддержки для объекта с явным указанием пути, на основании которого
    * находится нужный комплект поддержки в кеше
@@ -77,14 +330,43 @@ public class ParseSupportData {
    * @return Вариант поддержки
    */
   public static SupportVariant get(String uid, Path path) {
-    var supportData = CACHE.get(path);
+    var supportData = cache.find(path);
+
     if (supportData == null) {
-      supportData = CACHE.entrySet().stream()
-        .filter(entry -> path.startsWith(entry.getKey()))
-        .max(Comparator.comparingInt(entry -> entry.getKey().getNameCount()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
+      return SupportVariant.NONE;
+    } else {
+      return supportData.get(uid);
     }
+  }
+
+  /**
+   * Проверяет, принадлежит ли объект конфигурации поставщика, с явным указанием пути, на основании которого
+   * находится нужный комплект поддержки в кеше. Для объектов, которых нет в поставке, ответ, как правило,
+   * дает фильтр Блума комплекта без обращения к его индексу
+   *
+   * @param uid  Строка-идентификатор объекта
+   * @param path Путь к файлу MDO объекта / родительского объекта
+   * @return Истина, если объект находится на поддержке хотя бы одной конфигурации поставщика
+   */
+  public static boolean contains(String uid, Path path) {
+    var supportData = cache.find(path);
+    return supportData != null && supportData.contains(uid);
+  }
+
+  /**
+   * Возвращает вариант поддержки для объекта с явным указанием пути. Если данные конфигурации
+   * еще читаются (см. {@link #readAsync(Path, ReadMode)}), ожидание выполняется согласно переданному поведению.
+   * Для отмененного чтения возвращается SupportVariant.NONE
+   *
+   * @param uid        Строка-идентификатор объекта, для которого определяется вариант поддержки
+   * @param path       Путь к файлу MDO объекта / родительского объекта
+   * @param waitPolicy Поведение при незавершенном чтении
+   * @return Вариант поддержки
+   * @throws CompletionException Время ожидания истекло (причина - {@link TimeoutException}),
+   *                             ожидание прервано или чтение завершилось с ошибкой
+   */
+  public static SupportVariant get(String uid, Path path, WaitPolicy waitPolicy) {
+    var supportData = cache.find(path, waitPolicy);
 
     if (supportData == null) {
       return SupportVariant.NONE;
@@ -93,9 +375,128 @@ public class ParseSupportData {
     }
   }
 
+  /**
+   * Заполняет массив вариантами поддержки для объектов одной конфигурации в порядке обхода идентификаторов.
+   * Комплект поддержки в кеше находится один раз по переданному пути
+   *
+   * @param uids   Строки-идентификаторы объектов
+   * @param path   Путь к файлу MDO объекта / родительского объекта
+   * @param result Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  public static SupportVariant[] getAll(Collection<String> uids, Path path, SupportVariant[] result) {
+    var supportData = cache.find(path);
+
+    if (supportData == null) {
+      SupportData.checkResultSize(uids.size(), result);
+      Arrays.fill(result, 0, uids.size(), SupportVariant.NONE);
+      return result;
+    } else {
+      return supportData.getAll(uids, result);
+    }
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки для объектов одной конфигурации, элементу {@code i}
+   * результата соответствует элемент {@code i} массива идентификаторов.
+   * Комплект поддержки в кеше находится один раз по переданному пути
+   *
+   * @param uids   Идентификаторы объектов
+   * @param path   Путь к файлу MDO объекта / родительского объекта
+   * @param result Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  public static SupportVariant[] getAll(UUID[] uids, Path path, SupportVariant[] result) {
+    var supportData = cache.find(path);
+
+    if (supportData == null) {
+      SupportData.checkResultSize(uids.length, result);
+      Arrays.fill(result, 0, uids.length, SupportVariant.NONE);
+      return result;
+    } else {
+      return supportData.getAll(uids, result);
+    }
+  }
+
+  /**
+   * Устанавливает настройки кеша. Ранее закешированные данные удаляются,
+   * отслеживание файлов прежним кешем прекращается
+   *
+   * @param settings Настройки кеша
+   */
+  public static void configureCache(CacheSettings settings) {
+    var oldCache = cache;
+    cache = new SupportDataCache(settings);
+    oldCache.close();
+  }
+
+  /**
+   * Возвращает текущие настройки кеша
+   *
+   * @return Настройки кеша
+   */
+  public static CacheSettings getCacheSettings() {
+    return cache.settings();
+  }
+
+  /**
+   * Удаляет из кеша информацию о поддержке, прочитанную из указанного файла
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @return Истина, если информация была в кеше
+   */
+  public static boolean evict(Path pathParentConfigurationBin) {
+    return cache.invalidate(getRootConfiguration(pathParentConfigurationBin));
+  }
+
+  /**
+   * Очищает кеш прочитанной информации о поддержке
+   */
+  public static void clearCache() {
+    cache.clear();
+  }
+
+  /**
+   * Регистрирует слушателя чтения файлов и работы кеша. Повторная регистрация того же слушателя игнорируется
+   *
+   * @param listener Слушатель
+   */
+  public static void addListener(SupportDataListener listener) {
+    Instrumentation.addListener(listener);
+  }
+
+  /**
+   * Отменяет регистрацию слушателя
+   *
+   * @param listener Слушатель
+   * @return Истина, если слушатель был зарегистрирован
+   */
+  public static boolean removeListener(SupportDataListener listener) {
+    return Instrumentation.removeListener(listener);
+  }
+
+  private static <T> Map<String, T> readArchive(Path archive, BiFunction<InputStream, Path, T> reader) {
+    var result = new LinkedHashMap<String, T>();
+    try (var fileSystem = FileSystems.newFileSystem(archive)) {
+      for (var root : fileSystem.getRootDirectories()) {
+        for (var file : WorkspaceSupportFiles.find(root)) {
+          try (var input = Files.newInputStream(file)) {
+            // данные не должны ссылаться на файловую систему архива, которая будет закрыта
+            result.put(file.toString(), reader.apply(input, Path.of(root.relativize(file).toString())));
+          }
+        }
+      }
+    } catch (IOException | ProviderNotFoundException exception) {
+      LOGGER.error("Ошибка чтения архива {}", archive);
+      LOGGER.debug("TRACE", exception);
+      return Collections.emptyMap();
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
   private static Path getRootConfiguration(Path mdoPath) {
-    return Paths.get(
-      FilenameUtils.getFullPathNoEndSeparator(
-        FilenameUtils.getFullPathNoEndSeparator(mdoPath.toString())));
+    var parent = mdoPath.getParent();
+    var rootPath = parent == null ? null : parent.getParent();
+    return rootPath == null ? mdoPath.getFileSystem().getPath("") : rootPath;
   }
 }
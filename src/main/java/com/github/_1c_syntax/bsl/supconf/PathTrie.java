@@ -0,0 +1,127 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Префиксное дерево путей по их элементам.
+ * Позволяет найти значение самого длинного сохраненного пути, являющегося началом указанного,
+ * за количество шагов, равное глубине пути, независимо от количества сохраненных путей.
+ * Пути должны передаваться в одинаковой абсолютной нормализованной форме.
+ * <p>
+ * Поиск допускается одновременно с изменением и не требует блокировок, изменения должны
+ * выполняться последовательно
+ *
+ * @param <V> Тип значения
+ */
+final class PathTrie<V> {
+  private final Node<V> root = new Node<>();
+
+  /**
+   * Сохраняет значение для пути
+   *
+   * @param path  Путь
+   * @param value Значение
+   */
+  void put(Path path, V value) {
+    var node = root.child(path.getRoot(), true);
+    for (var name : path) {
+      node = node.child(name, true);
+    }
+    node.value = value;
+  }
+
+  /**
+   * Удаляет значение для пути, освобождая ставшие пустыми узлы
+   *
+   * @param path Путь
+   */
+  void remove(Path path) {
+    remove(root, path.getRoot(), path, 0);
+  }
+
+  /**
+   * Находит значение самого длинного сохраненного пути, являющегося началом указанного
+   *
+   * @param path Путь
+   * @return Найденное значение или {@code null}
+   */
+  @Nullable
+  V findLongestPrefix(Path path) {
+    var node = root.child(path.getRoot(), false);
+    V result = null;
+    var index = 0;
+    var count = path.getNameCount();
+    while (node != null) {
+      if (node.value != null) {
+        result = node.value;
+      }
+      if (index == count) {
+        break;
+      }
+      node = node.child(path.getName(index++), false);
+    }
+    return result;
+  }
+
+  /**
+   * Удаляет все значения
+   */
+  void clear() {
+    root.children.clear();
+  }
+
+  private static <V> void remove(Node<V> parent, Path name, Path path, int index) {
+    var node = parent.child(name, false);
+    if (node == null) {
+      return;
+    }
+    if (index == path.getNameCount()) {
+      node.value = null;
+    } else {
+      remove(node, path.getName(index), path, index + 1);
+    }
+    if (node.value == null && node.children.isEmpty()) {
+      parent.children.remove(name);
+    }
+  }
+
+  private static final class Node<V> {
+    private final Map<Path, Node<V>> children = new ConcurrentHashMap<>();
+    private volatile @Nullable V value;
+
+    @Nullable
+    private Node<V> child(Path name, boolean create) {
+      var child = children.get(name);
+      if (child == null && create) {
+        child = new Node<>();
+        children.put(name, child);
+      }
+      return child;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+/**
+ * Режим чтения файла ParentConfigurations.bin
+ */
+public enum ReadMode {
+  /**
+   * Потоковое чтение с декодированием всего содержимого в символы
+   */
+  STREAM,
+  /**
+   * Отображение файла в память и разбор байтов UTF-8 напрямую.
+   * В строки декодируются только текстовые поля (имя, поставщик и версия конфигурации).
+   * Файлы меньше 16 МиБ читаются в кучу без отображения. Отображение крупного файла освобождается
+   * сборщиком мусора после разбора, до этого в Windows файл нельзя заменить
+   */
+  MAPPED,
+  /**
+   * Отображение файла в память (на тех же условиях, что и {@link #MAPPED}) с параллельным разбором.
+   * Сначала за один проход находятся границы секций конфигураций поставщика (крупные секции делятся на части),
+   * затем части разбираются в общем пуле {@link java.util.concurrent.ForkJoinPool}, а результаты объединяются
+   * по тем же правилам, что и при последовательном чтении
+   */
+  PARALLEL
+}
@@ -0,0 +1,41 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.nio.file.Path;
+
+/**
+ * Сведения о чтении файла ParentConfigurations.bin
+ *
+ * @param pathParentConfigurationBin Путь к файлу описания поставки
+ * @param readMode                   Режим чтения
+ * @param full                       Читалась полная информация в разрезе конфигураций поставщика
+ * @param bytes                      Количество байт содержимого, полученных из источника при разборе,
+ *                                   {@code -1}, если оно неизвестно
+ * @param configurationCount         Количество прочитанных секций конфигураций поставщика
+ * @param objectCount                Количество прочитанных записей объектов
+ * @param openNanos                  Длительность открытия файла (для отображения в память - вместе с отображением)
+ * @param parseNanos                 Длительность разбора и построения таблицы
+ */
+public record ReadStatistics(Path pathParentConfigurationBin, ReadMode readMode, boolean full, long bytes,
+                             int configurationCount, int objectCount, long openNanos, long parseNanos) {
+}
@@ -0,0 +1,318 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Потоковый разборщик полей файла ParentConfigurations.bin, читающий символы из {@link Reader}
+ */
+final class ReaderTokenizer implements SupportDataTokenizer {
+  private static final int BUFFER_SIZE = 8192;
+  private static final int FIELD_CAPACITY = 64;
+  private static final char BOM = '\uFEFF';
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  @Nullable
+  private final CountingInputStream input;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int position;
+  private int limit;
+
+  private char[] field = new char[FIELD_CAPACITY];
+  private int fieldLength;
+  private final CharSequence fieldView = new FieldView();
+  private boolean finished;
+
+  private long guidMostSigBits;
+  private long guidLeastSigBits;
+
+  ReaderTokenizer(Reader reader) throws IOException {
+    this(reader, null);
+  }
+
+  /**
+   * Создает разборщик над потоком байт UTF-8 с подсчетом прочитанных байт
+   *
+   * @param input Поток с содержимым файла
+   * @throws IOException При ошибке чтения
+   */
+  ReaderTokenizer(InputStream input) throws IOException {
+    this(new CountingInputStream(input));
+  }
+
+  private ReaderTokenizer(CountingInputStream input) throws IOException {
+    this(new InputStreamReader(input, StandardCharsets.UTF_8), input);
+  }
+
+  private ReaderTokenizer(Reader reader, @Nullable CountingInputStream input) throws IOException {
+    this.reader = reader;
+    this.input = input;
+    if (peek() == BOM) {
+      position++;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !finished;
+  }
+
+  @Override
+  public String next() throws IOException {
+    readField(true);
+    return new String(field, 0, fieldLength);
+  }
+
+  @Override
+  public void nextGuid() throws IOException {
+    readField(true);
+    guidMostSigBits = Guids.mostSigBits(fieldView);
+    guidLeastSigBits = Guids.leastSigBits(fieldView);
+  }
+
+  @Override
+  public long guidMostSigBits() {
+    return guidMostSigBits;
+  }
+
+  @Override
+  public long guidLeastSigBits() {
+    return guidLeastSigBits;
+  }
+
+  @Override
+  public int nextInt() throws IOException {
+    readField(true);
+    return parseInt(field, fieldLength);
+  }
+
+  @Override
+  public void skip(int count) throws IOException {
+    for (var index = 0; index < count; index++) {
+      readField(false);
+    }
+  }
+
+  @Override
+  public long byteCount() {
+    return input == null ? -1 : input.count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private void readField(boolean store) throws IOException {
+    if (finished) {
+      throw new EOFException("Unexpected end of ParentConfigurations.bin");
+    }
+
+    fieldLength = 0;
+    var ch = peek();
+    if (ch == '"') {
+      readQuoted(store);
+    } else {
+      while (ch != EOF && ch != ',' && ch != '\n' && ch != '\r' && ch != '"') {
+        if (store) {
+          append((char) ch);
+        }
+        position++;
+        ch = peek();
+      }
+    }
+    skipDelimiter();
+  }
+
+  private void readQuoted(boolean store) throws IOException {
+    appendAndMove(store);
+    while (true) {
+      var ch = peek();
+      if (ch == EOF) {
+        return;
+      }
+      appendAndMove(store);
+      if (ch == '"') {
+        if (peek() != '"') {
+          return;
+        }
+        appendAndMove(store);
+      }
+    }
+  }
+
+  private void appendAndMove(boolean store) {
+    if (store) {
+      append(buffer[position]);
+    }
+    position++;
+  }
+
+  private void skipDelimiter() throws IOException {
+    while (true) {
+      var ch = peek();
+      if (ch == EOF) {
+        finished = true;
+        return;
+      }
+      position++;
+      if (ch == '\n') {
+        return;
+      } else if (ch == ',') {
+        ch = peek();
+        while (ch == '\n' || ch == '\r') {
+          position++;
+          ch = peek();
+        }
+        return;
+      }
+    }
+  }
+
+  private int peek() throws IOException {
+    if (position == limit) {
+      var count = reader.read(buffer, 0, BUFFER_SIZE);
+      if (count <= 0) {
+        return EOF;
+      }
+      position = 0;
+      limit = count;
+    }
+    return buffer[position];
+  }
+
+  private void append(char ch) {
+    if (fieldLength == field.length) {
+      var newField = new char[field.length * 2];
+      System.arraycopy(field, 0, newField, 0, fieldLength);
+      field = newField;
+    }
+    field[fieldLength++] = ch;
+  }
+
+  private static int parseInt(char[] chars, int length) {
+    if (length == 0) {
+      throw new NumberFormatException("For input string: \"\"");
+    }
+
+    var negative = chars[0] == '-';
+    var index = negative ? 1 : 0;
+    if (index == length) {
+      throw numberFormatException(chars, length);
+    }
+
+    var result = 0L;
+    for (; index < length; index++) {
+      var digit = chars[index] - '0';
+      if (digit < 0 || digit > 9) {
+        throw numberFormatException(chars, length);
+      }
+      result = result * 10 + digit;
+      if (result > (long) Integer.MAX_VALUE + 1) {
+        throw numberFormatException(chars, length);
+      }
+    }
+
+    if (negative) {
+      result = -result;
+    }
+    if (result > Integer.MAX_VALUE) {
+      throw numberFormatException(chars, length);
+    }
+    return (int) result;
+  }
+
+  private static NumberFormatException numberFormatException(char[] chars, int length) {
+    return new NumberFormatException("For input string: \"" + new String(chars, 0, length) + "\"");
+  }
+
+  /**
+   * Представление текущего поля в виде последовательности символов без копирования
+   */
+  private final class FieldView implements CharSequence {
+    @Override
+    public int length() {
+      return fieldLength;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return field[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new String(field, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(field, 0, fieldLength);
+    }
+  }
+
+  /**
+   * Поток, считающий прочитанные из него байты
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    private CountingInputStream(InputStream input) {
+      super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+      var result = super.read();
+      if (result >= 0) {
+        count++;
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      var result = super.read(bytes, offset, length);
+      if (result > 0) {
+        count += result;
+      }
+      return result;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+      var result = super.skip(length);
+      count += result;
+      return result;
+    }
+  }
+}
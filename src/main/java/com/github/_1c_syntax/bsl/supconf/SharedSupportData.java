@@ -0,0 +1,207 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Разделение прочитанных данных между файлами с одинаковым содержимым.
+ * <p>
+ * Данные группируются по размеру файла. Хеш SHA-256 содержимого вычисляется, только если уже прочитан
+ * и еще используется файл того же размера: для нового файла перед чтением, для ранее прочитанного файла -
+ * при первом сравнении, пока его размер и дата модификации не изменились. Поэтому файлы уникального размера
+ * читаются один раз. Если содержимое совпало, разбор не выполняется, а новые данные ссылаются на ту же
+ * неизменяемую таблицу. Таблицы удерживаются слабыми ссылками и освобождаются вместе
+ * с последними использующими их данными
+ */
+@Slf4j
+final class SharedSupportData {
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Map<Long, Set<SharedReference>> contents = new ConcurrentHashMap<>();
+  private final ReferenceQueue<VariantTable> queue = new ReferenceQueue<>();
+
+  /**
+   * Возвращает данные файла, разделяя их с ранее прочитанным файлом с тем же содержимым,
+   * или читает файл переданной функцией
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param loader                     Функция чтения файла
+   * @return Данные о поддержке
+   */
+  SupportData load(Path pathParentConfigurationBin, Function<Path, SupportData> loader) {
+    expungeStale();
+
+    FileState state;
+    byte @Nullable [] digest = null;
+    try {
+      state = FileState.of(pathParentConfigurationBin);
+      var candidates = contents.get(state.size());
+      if (candidates != null && !candidates.isEmpty()) {
+        digest = digest(pathParentConfigurationBin);
+        var shared = find(candidates, state, digest);
+        if (shared != null) {
+          return shared;
+        }
+      }
+    } catch (IOException exception) {
+      // отсутствующий или недоступный файл читается как обычно, ошибку сообщит функция чтения
+      return loader.apply(pathParentConfigurationBin);
+    }
+
+    var data = loader.apply(pathParentConfigurationBin);
+    if (!data.isEmpty() && state.isCurrent()) {
+      // файл не изменился во время чтения, данные соответствуют его состоянию и хешу
+      contents.computeIfAbsent(state.size(), size -> ConcurrentHashMap.newKeySet())
+        .add(new SharedReference(state, digest, data.variants(), queue));
+    }
+    return data;
+  }
+
+  /**
+   * Возвращает количество различных содержимых, данные которых еще используются
+   *
+   * @return Количество содержимых
+   */
+  int size() {
+    expungeStale();
+    return contents.values().stream().mapToInt(Set::size).sum();
+  }
+
+  @Nullable
+  private SupportData find(Set<SharedReference> candidates, FileState state, byte[] digest) {
+    for (var reference : candidates) {
+      var shared = reference.get();
+      if (shared != null && Arrays.equals(reference.digest(), digest)) {
+        LOGGER.debug("Sharing support data of {} with {}", state.path(), reference.state.path());
+        return SupportData.shared(state.path(), shared);
+      }
+    }
+    return null;
+  }
+
+  private void expungeStale() {
+    var reference = queue.poll();
+    while (reference != null) {
+      var sharedReference = (SharedReference) reference;
+      contents.computeIfPresent(sharedReference.state.size(), (size, references) -> {
+        references.remove(sharedReference);
+        return references.isEmpty() ? null : references;
+      });
+      reference = queue.poll();
+    }
+  }
+
+  private static byte[] digest(Path path) throws IOException {
+    MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      // алгоритм обязателен для любой реализации Java
+      throw new IllegalStateException(exception);
+    }
+    try (var input = Files.newInputStream(path)) {
+      var buffer = new byte[BUFFER_SIZE];
+      var read = input.read(buffer);
+      while (read >= 0) {
+        messageDigest.update(buffer, 0, read);
+        read = input.read(buffer);
+      }
+    }
+    return messageDigest.digest();
+  }
+
+  /**
+   * Состояние файла на момент начала чтения
+   *
+   * @param path         Путь к файлу
+   * @param size         Размер файла
+   * @param lastModified Дата модификации
+   */
+  private record FileState(Path path, long size, long lastModified) {
+    private static FileState of(Path path) throws IOException {
+      var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return new FileState(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    private boolean isCurrent() {
+      try {
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+      } catch (IOException exception) {
+        return false;
+      }
+    }
+  }
+
+  private static final class SharedReference extends WeakReference<VariantTable> {
+    private final FileState state;
+    private volatile byte @Nullable [] digest;
+    private volatile boolean changed;
+
+    private SharedReference(FileState state, byte @Nullable [] digest, VariantTable supportVariants,
+                            ReferenceQueue<VariantTable> queue) {
+      super(supportVariants, queue);
+      this.state = state;
+      this.digest = digest;
+    }
+
+    /**
+     * Возвращает хеш прочитанного содержимого, вычисляя его при первом обращении. Если исходный файл
+     * изменился после чтения, хеш вычислить уже нельзя, и данные больше не разделяются
+     */
+    private byte @Nullable [] digest() {
+      var result = digest;
+      if (result != null || changed) {
+        return result;
+      }
+      try {
+        if (state.isCurrent()) {
+          result = SharedSupportData.digest(state.path());
+          if (state.isCurrent()) {
+            digest = result;
+            return result;
+          }
+        }
+      } catch (IOException exception) {
+        LOGGER.debug("Digest of {} was not computed", state.path(), exception);
+      }
+      changed = true;
+      return null;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.jspecify.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Место хранения двоичных снимков прочитанной информации о поддержке.
+ * <p>
+ * Снимок содержит отсортированные идентификаторы объектов и колонку вариантов поддержки,
+ * читается в кучу целиком (а не отображается в память, чтобы файл снимка можно было атомарно заменить)
+ * и используется вместо разбора файла ParentConfigurations.bin,
+ * пока размер и дата модификации (или контрольная сумма содержимого) исходного файла не изменились
+ */
+public enum SnapshotLocation {
+  /**
+   * Снимки не используются
+   */
+  NONE,
+
+  /**
+   * Снимок хранится рядом с файлом ParentConfigurations.bin
+   */
+  NEXT_TO_FILE,
+
+  /**
+   * Снимок хранится в каталоге кеша пользователя ({@code $XDG_CACHE_HOME/supportconf}
+   * или {@code ~/.cache/supportconf}), имя файла вычисляется по пути к файлу ParentConfigurations.bin
+   */
+  USER_CACHE;
+
+  private static final String CACHE_DIRECTORY = "supportconf";
+  private static final String SUMMARY_SUFFIX = ".snapshot";
+  private static final String FULL_SUFFIX = ".full.snapshot";
+
+  /**
+   * Возвращает путь к снимку сводной информации о поддержке
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @return Путь к снимку или {@code null}, если снимки не используются
+   */
+  @Nullable
+  Path summarySnapshot(Path pathParentConfigurationBin) {
+    return resolve(pathParentConfigurationBin, SUMMARY_SUFFIX);
+  }
+
+  /**
+   * Возвращает путь к снимку полной информации о поддержке
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @return Путь к снимку или {@code null}, если снимки не используются
+   */
+  @Nullable
+  Path fullSnapshot(Path pathParentConfigurationBin) {
+    return resolve(pathParentConfigurationBin, FULL_SUFFIX);
+  }
+
+  @Nullable
+  private Path resolve(Path pathParentConfigurationBin, String suffix) {
+    if (pathParentConfigurationBin.getFileSystem() != FileSystems.getDefault()) {
+      // снимки файлов из архивов и других файловых систем не создаются
+      return null;
+    }
+    var path = pathParentConfigurationBin.toAbsolutePath().normalize();
+    return switch (this) {
+      case NONE -> null;
+      case NEXT_TO_FILE -> path.resolveSibling(path.getFileName() + suffix);
+      case USER_CACHE -> userCacheDirectory().resolve(
+        UUID.nameUUIDFromBytes(path.toString().getBytes(StandardCharsets.UTF_8)) + suffix);
+    };
+  }
+
+  private static Path userCacheDirectory() {
+    var cacheHome = System.getenv("XDG_CACHE_HOME");
+    if (cacheHome == null || cacheHome.isBlank()) {
+      return Path.of(System.getProperty("user.home"), ".cache", CACHE_DIRECTORY);
+    }
+    return Path.of(cacheHome, CACHE_DIRECTORY);
+  }
+}
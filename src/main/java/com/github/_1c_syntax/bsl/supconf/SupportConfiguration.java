@@ -21,6 +21,11 @@
  */
 package com.github._1c_syntax.bsl.supconf;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * Описание конфигурации поставщика
  *
@@ -30,6 +35,12 @@ package com.github._1c_syntax.bsl.supconf;
  */
 public record SupportConfiguration(String name, String provider,
                                    String version) implements Comparable<SupportConfiguration> {
+  /**
+   * Единственные экземпляры описаний, прочитанных из разных файлов. Освобождаются, когда на них не остается ссылок
+   */
+  private static final Map<SupportConfiguration, WeakReference<SupportConfiguration>> INTERNED =
+    Collections.synchronizedMap(new WeakHashMap<>());
+
   public SupportConfiguration(String name, String provider, String version) {
     this.name = stripQuotes(name);
     this.provider = stripQuotes(provider);
@@ -47,6 +58,24 @@ public record SupportConfiguration(String name, String provider,
     }
   }
 
+  /**
+   * Возвращает единственный экземпляр равного описания, чтобы файлы разных корневых каталогов
+   * ссылались на общие описания конфигураций поставщика
+   *
+   * @return Равное описание
+   */
+  SupportConfiguration intern() {
+    synchronized (INTERNED) {
+      var reference = INTERNED.get(this);
+      var interned = reference == null ? null : reference.get();
+      if (interned == null) {
+        INTERNED.put(this, new WeakReference<>(this));
+        interned = this;
+      }
+      return interned;
+    }
+  }
+
   private static String stripQuotes(String value) {
     if (value.length() < 2) {
       return value;
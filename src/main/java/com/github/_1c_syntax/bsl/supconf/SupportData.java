@@ -25,10 +25,16 @@ import com.github._1c_syntax.bsl.support.SupportVariant;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Содержимое настроек поставки конфигурации поставщика.
@@ -45,14 +51,13 @@ public final class SupportData {
   /**
    * Прочитанная информация о настройка поставки
    */
-  @Getter
-  private final Map<String, SupportVariant> supportVariants;
+  private final VariantTable supportVariants;
 
   private SupportData(Path pathParentConfigurationBin) {
-    this(pathParentConfigurationBin, Collections.emptyMap());
+    this(pathParentConfigurationBin, new VariantTable());
   }
 
-  private SupportData(Path pathParentConfigurationBin, Map<String, SupportVariant> supportVariants) {
+  private SupportData(Path pathParentConfigurationBin, VariantTable supportVariants) {
     this.supportVariants = supportVariants;
     this.pathParentConfigurationBin = pathParentConfigurationBin;
   }
@@ -64,20 +69,167 @@ public final class SupportData {
    * @return Прочитанные данные
    */
   public static SupportData create(Path pathParentConfigurationBin) {
-    Map<String, SupportVariant> supportVariants;
+    return create(pathParentConfigurationBin, ReadMode.STREAM);
+  }
+
+  /**
+   * Читает данные настроек поставки по переданному файлу в указанном режиме
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param readMode                   Режим чтения файла
+   * @return Прочитанные данные
+   */
+  public static SupportData create(Path pathParentConfigurationBin, ReadMode readMode) {
+    VariantTable supportVariants;
     try {
-      supportVariants = SupportDataReader.read(pathParentConfigurationBin);
-    } catch (NumberFormatException | FileNotFoundException exception) {
+      supportVariants = SupportDataReader.readVariants(pathParentConfigurationBin, readMode);
+    } catch (NumberFormatException | IOException exception) {
       LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
       LOGGER.debug("TRACE", exception);
-      supportVariants = Collections.emptyMap();
+      return new SupportData(pathParentConfigurationBin);
     }
 
-    if (supportVariants.isEmpty()) {
+    return new SupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Читает данные настроек поставки из потока, например из записи архива или ответа сервиса.
+   * Поток не закрывается
+   *
+   * @param input                      Содержимое файла описания поставки
+   * @param pathParentConfigurationBin Путь к источнику для сообщений и {@link #getPathParentConfigurationBin()}
+   * @return Прочитанные данные
+   */
+  public static SupportData create(InputStream input, Path pathParentConfigurationBin) {
+    VariantTable supportVariants;
+    try {
+      supportVariants = SupportDataReader.readVariants(input, pathParentConfigurationBin);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
       return new SupportData(pathParentConfigurationBin);
-    } else {
+    }
+
+    return new SupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Читает данные настроек поставки из канала. Канал не закрывается
+   *
+   * @param channel                    Канал с содержимым файла описания поставки
+   * @param pathParentConfigurationBin Путь к источнику для сообщений и {@link #getPathParentConfigurationBin()}
+   * @return Прочитанные данные
+   */
+  public static SupportData create(ReadableByteChannel channel, Path pathParentConfigurationBin) {
+    return create(Channels.newInputStream(channel), pathParentConfigurationBin);
+  }
+
+  /**
+   * Загружает данные настроек поставки из двоичного снимка, а при его отсутствии или устаревании
+   * читает файл в указанном режиме и сохраняет новый снимок
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param readMode                   Режим чтения файла
+   * @param snapshotLocation           Место хранения снимков
+   * @return Прочитанные данные
+   */
+  public static SupportData create(Path pathParentConfigurationBin, ReadMode readMode,
+                                   SnapshotLocation snapshotLocation) {
+    var snapshot = snapshotLocation.summarySnapshot(pathParentConfigurationBin);
+    if (snapshot == null) {
+      return create(pathParentConfigurationBin, readMode);
+    }
+
+    var supportVariants = SupportDataSnapshot.readVariants(snapshot, pathParentConfigurationBin);
+    if (supportVariants != null) {
       return new SupportData(pathParentConfigurationBin, supportVariants);
     }
+
+    SupportDataSnapshot.SourceKey sourceKey;
+    try {
+      sourceKey = SupportDataSnapshot.SourceKey.of(pathParentConfigurationBin);
+      supportVariants = SupportDataReader.readVariants(pathParentConfigurationBin, readMode);
+    } catch (NumberFormatException | IOException exception) {
+      LOGGER.error("Ошибка чтения файла {}", pathParentConfigurationBin);
+      LOGGER.debug("TRACE", exception);
+      return new SupportData(pathParentConfigurationBin);
+    }
+
+    try {
+      SupportDataSnapshot.write(snapshot, supportVariants, sourceKey);
+    } catch (IOException exception) {
+      LOGGER.debug("Snapshot {} was not written", snapshot, exception);
+    }
+    return new SupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Загружает данные настроек поставки из двоичного снимка
+   *
+   * @param snapshot                   Путь к снимку
+   * @param pathParentConfigurationBin Путь к файлу описания поставки, из которого был построен снимок
+   * @return Прочитанные данные или пустое значение, если снимка нет, он поврежден
+   * или файл описания поставки изменился после его создания
+   */
+  public static Optional<SupportData> readSnapshot(Path snapshot, Path pathParentConfigurationBin) {
+    return Optional.ofNullable(SupportDataSnapshot.readVariants(snapshot, pathParentConfigurationBin))
+      .map(supportVariants -> new SupportData(pathParentConfigurationBin, supportVariants));
+  }
+
+  /**
+   * Сохраняет данные в двоичный снимок. Снимок привязывается к текущему состоянию файла описания поставки,
+   * поэтому сохранять его следует только для данных, соответствующих этому состоянию
+   *
+   * @param snapshot Путь к снимку
+   * @throws IOException Ошибка чтения файла описания поставки или записи снимка
+   */
+  public void writeSnapshot(Path snapshot) throws IOException {
+    SupportDataSnapshot.write(snapshot, supportVariants,
+      SupportDataSnapshot.SourceKey.of(pathParentConfigurationBin));
+  }
+
+  /**
+   * Создает данные для файла, содержимое которого совпадает с уже прочитанным.
+   * Таблица не копируется, а разделяется между данными
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param supportVariants            Прочитанная таблица файла с тем же содержимым
+   * @return Данные для указанного файла
+   */
+  static SupportData shared(Path pathParentConfigurationBin, VariantTable supportVariants) {
+    return new SupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  /**
+   * Создает данные по построенной таблице вариантов
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param supportVariants            Таблица вариантов, которая больше не изменяется
+   * @return Данные для указанного файла
+   */
+  static SupportData of(Path pathParentConfigurationBin, VariantTable supportVariants) {
+    return new SupportData(pathParentConfigurationBin, supportVariants);
+  }
+
+  VariantTable variants() {
+    return supportVariants;
+  }
+
+  boolean isEmpty() {
+    return supportVariants.isEmpty();
+  }
+
+  /**
+   * Возвращает прочитанную информацию о настройках поставки в виде неизменяемой коллекции,
+   * ключом которой является строковое представление идентификатора объекта.
+   * Ключи строятся по хранимым числовым идентификаторам в форме {@link java.util.UUID#toString()}, поэтому
+   * при обходе они выдаются в нижнем регистре независимо от написания в файле. Методы {@code get}
+   * и {@code containsKey} коллекции принимают идентификатор в любом регистре
+   *
+   * @return Варианты поддержки объектов
+   */
+  public Map<String, SupportVariant> getSupportVariants() {
+    return supportVariants.asMap();
   }
 
   /**
@@ -88,9 +240,163 @@ public final class SupportData {
    * @return Значение варианта поддержки
    */
   public SupportVariant get(String uid) {
-    if (uid.isBlank() || supportVariants.isEmpty()) {
+    if (uid.isBlank() || supportVariants.isEmpty() || !Guids.isGuid(uid)) {
       return SupportVariant.NONE;
     }
-    return supportVariants.getOrDefault(uid, SupportVariant.NONE);
+    return supportVariants.get(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Возвращает значение о варианте поддержке для указанного идентификатора объекта.
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param uid Идентификатор объекта
+   * @return Значение варианта поддержки
+   */
+  public SupportVariant get(UUID uid) {
+    return get(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+  }
+
+  /**
+   * Возвращает значение о варианте поддержке для идентификатора объекта, заданного парой чисел
+   * (см. {@link UUID#getMostSignificantBits()} и {@link UUID#getLeastSignificantBits()}).
+   * Если значения нет, то вернет SupportVariant.NONE
+   *
+   * @param mostSigBits  Старшие биты идентификатора объекта
+   * @param leastSigBits Младшие биты идентификатора объекта
+   * @return Значение варианта поддержки
+   */
+  public SupportVariant get(long mostSigBits, long leastSigBits) {
+    return supportVariants.get(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * Проверяет, находится ли объект на поддержке хотя бы одной конфигурации поставщика.
+   * Для отсутствующих объектов ответ, как правило, дает фильтр Блума без обращения к индексу
+   *
+   * @param uid Строка-идентификатор объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  public boolean contains(String uid) {
+    if (uid.isBlank() || supportVariants.isEmpty() || !Guids.isGuid(uid)) {
+      return false;
+    }
+    return contains(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Проверяет, находится ли объект на поддержке хотя бы одной конфигурации поставщика
+   *
+   * @param uid Идентификатор объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  public boolean contains(UUID uid) {
+    return contains(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+  }
+
+  /**
+   * Проверяет, находится ли объект, идентификатор которого задан парой чисел, на поддержке
+   * хотя бы одной конфигурации поставщика
+   *
+   * @param mostSigBits  Старшие биты идентификатора объекта
+   * @param leastSigBits Младшие биты идентификатора объекта
+   * @return Истина, если объект принадлежит конфигурации поставщика
+   */
+  public boolean contains(long mostSigBits, long leastSigBits) {
+    return supportVariants.index().indexOf(mostSigBits, leastSigBits) >= 0;
+  }
+
+  /**
+   * Возвращает идентификаторы объектов с указанным вариантом поддержки.
+   * При первом обращении строится обратный индекс по всем вариантам, последующие обращения его переиспользуют
+   *
+   * @param supportVariant Вариант поддержки
+   * @return Неизменяемое множество идентификаторов
+   */
+  public UidSet getObjects(SupportVariant supportVariant) {
+    return supportVariants.objects(supportVariant);
+  }
+
+  /**
+   * Возвращает количество объектов с указанным вариантом поддержки.
+   * После построения обратного индекса выполняется за постоянное время
+   *
+   * @param supportVariant Вариант поддержки
+   * @return Количество объектов
+   */
+  public int count(SupportVariant supportVariant) {
+    return getObjects(supportVariant).size();
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки для идентификаторов объектов в порядке их обхода.
+   * Для отсутствующих и некорректных идентификаторов устанавливается SupportVariant.NONE
+   *
+   * @param uids   Идентификаторы объектов
+   * @param result Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  public SupportVariant[] getAll(Collection<String> uids, SupportVariant[] result) {
+    checkResultSize(uids.size(), result);
+    if (supportVariants.isEmpty()) {
+      Arrays.fill(result, 0, uids.size(), SupportVariant.NONE);
+      return result;
+    }
+
+    var position = 0;
+    for (var uid : uids) {
+      if (Guids.isGuid(uid)) {
+        result[position] = supportVariants.get(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+      } else {
+        result[position] = SupportVariant.NONE;
+      }
+      position++;
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает варианты поддержки для идентификаторов объектов в порядке их обхода.
+   * Для отсутствующих и некорректных идентификаторов возвращается SupportVariant.NONE
+   *
+   * @param uids Идентификаторы объектов
+   * @return Варианты поддержки
+   */
+  public SupportVariant[] getAll(Collection<String> uids) {
+    return getAll(uids, new SupportVariant[uids.size()]);
+  }
+
+  /**
+   * Заполняет массив вариантами поддержки для идентификаторов объектов, элементу {@code i}
+   * результата соответствует элемент {@code i} массива идентификаторов.
+   * Для отсутствующих идентификаторов устанавливается SupportVariant.NONE
+   *
+   * @param uids   Идентификаторы объектов
+   * @param result Массив для результата, размер которого не меньше количества идентификаторов
+   * @return Переданный массив результата
+   */
+  public SupportVariant[] getAll(UUID[] uids, SupportVariant[] result) {
+    checkResultSize(uids.length, result);
+    for (var index = 0; index < uids.length; index++) {
+      result[index] = supportVariants.get(uids[index].getMostSignificantBits(), uids[index].getLeastSignificantBits());
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает варианты поддержки для идентификаторов объектов в порядке следования в массиве.
+   * Для отсутствующих идентификаторов возвращается SupportVariant.NONE
+   *
+   * @param uids Идентификаторы объектов
+   * @return Варианты поддержки
+   */
+  public SupportVariant[] getAll(UUID[] uids) {
+    return getAll(uids, new SupportVariant[uids.length]);
+  }
+
+  static void checkResultSize(int count, SupportVariant[] result) {
+    if (result.length < count) {
+      throw new IllegalArgumentException("Result array is too small: " + result.length + " < " + count);
+    }
   }
 }
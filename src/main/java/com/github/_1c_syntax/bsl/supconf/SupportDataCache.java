@@ -0,0 +1,670 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Кеш прочитанной информации о поддержке, ключом которого является корневой каталог конфигурации.
+ * <p>
+ * Вытеснение выполняется по давности использования (LRU) при превышении ограничений из {@link CacheSettings}
+ * и занимает постоянное время на элемент. Обращения не изменяют порядок вытеснения сразу: элемент отмечается
+ * использованным не чаще одного раза между изменениями состава кеша, а порядок обновляется под блокировкой
+ * записи перед вытеснением. Частота обращений при допуске элементов не учитывается (политика W-TinyLFU
+ * не реализована).
+ * Элементы, файлы которых изменились, перечитываются в фоновом потоке, обнаруженные при очередном обращении
+ * или, при включенном отслеживании, по событию файловой системы. До окончания чтения обращения получают
+ * прежние данные. Интервал проверки файлов отсчитывают грубые часы кеша - виртуальный поток, увеличивающий
+ * номер такта раз в интервал, поэтому обращение к кешу сравнивает номера тактов и не вызывает
+ * {@link System#nanoTime()}, а файл проверяется не чаще одного раза за такт.
+ * Пути приводятся к абсолютной нормализованной форме, поэтому относительный и абсолютный пути
+ * к одному каталогу указывают на один элемент, а поиск корня по вложенному пути выполняется
+ * по префиксному дереву за количество шагов, равное глубине пути.
+ * <p>
+ * Чтение не использует блокировок: элементы хранятся в конкурентной таблице и префиксном дереве,
+ * которые изменяются на месте под блокировкой записи, а перечитанные данные подменяют прежние
+ * атомарно только после окончания чтения файла.
+ * <p>
+ * Одновременные чтения одного корневого каталога объединяются: файл читает первый обратившийся поток,
+ * остальные ожидают его результата. Повторное чтение измененного файла также выполняется не более чем
+ * одним потоком. Незавершенное чтение можно отменить, тогда его результат
+ * не попадает в кеш.
+ * <p>
+ * Корневые каталоги с одинаковым по содержимому файлом (например, разные ветки одного решения)
+ * разделяют одну прочитанную таблицу, см. {@link SharedSupportData}
+ */
+@Slf4j
+final class SupportDataCache implements Closeable {
+  private final CacheSettings settings;
+  private final @Nullable Thread validationClock;
+  private final Object writeLock = new Object();
+  private final AtomicInteger loadsInFlight = new AtomicInteger();
+  private final Map<Path, CompletableFuture<SupportData>> loads = new ConcurrentHashMap<>();
+  private final PathTrie<Path> loadingRoots = new PathTrie<>();
+  private final SharedSupportData contents = new SharedSupportData();
+  private final @Nullable SupportDataWatcher watcher;
+  private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+  private final PathTrie<Path> roots = new PathTrie<>();
+  private final LinkedHashMap<Path, Entry> order = new LinkedHashMap<>(16, 0.75f, true);
+  private final Queue<Entry> accesses = new ConcurrentLinkedQueue<>();
+  private volatile int epoch;
+  private volatile long totalWeight;
+  private volatile int validationTick;
+
+  SupportDataCache(CacheSettings settings) {
+    this.settings = settings;
+    this.validationClock = settings.validateFiles() && !settings.validationInterval().isZero()
+      ? startValidationClock(new WeakReference<>(this), settings.validationInterval())
+      : null;
+    this.watcher = settings.watchFiles() ? createWatcher() : null;
+  }
+
+  /**
+   * Возвращает настройки кеша
+   *
+   * @return Настройки кеша
+   */
+  CacheSettings settings() {
+    return settings;
+  }
+
+  /**
+   * Возвращает закешированные данные корневого каталога, читая их при отсутствии или изменении файла
+   *
+   * @param rootPath                   Корневой каталог конфигурации
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param loader                     Функция чтения файла
+   * @return Данные о поддержке
+   */
+  SupportData get(Path rootPath, Path pathParentConfigurationBin, Function<Path, SupportData> loader) {
+    var key = normalize(rootPath);
+    var entry = entries.get(key);
+    if (entry != null) {
+      Instrumentation.cacheLookup(key, SupportDataListener.LookupResult.HIT);
+      return access(entry);
+    }
+    Instrumentation.cacheLookup(key, SupportDataListener.LookupResult.MISS);
+
+    var load = new CompletableFuture<SupportData>();
+    var current = startLoading(key, load);
+    if (current != null) {
+      try {
+        return current.join();
+      } catch (CancellationException exception) {
+        // чтение другого потока отменено, читаем файл заново
+        return get(rootPath, pathParentConfigurationBin, loader);
+      }
+    }
+    try {
+      return load(key, pathParentConfigurationBin, loader, load);
+    } catch (RuntimeException exception) {
+      load.completeExceptionally(exception);
+      throw exception;
+    } finally {
+      finishLoading(key, load);
+    }
+  }
+
+  /**
+   * Возвращает закешированные данные корневого каталога, а при их отсутствии запускает чтение файла
+   * на виртуальном потоке. Одновременные обращения к одному корневому каталогу получают общий результат,
+   * поэтому его отмена отменяет чтение для всех ожидающих
+   *
+   * @param rootPath                   Корневой каталог конфигурации
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   * @param loader                     Функция чтения файла
+   * @return Данные о поддержке по завершении чтения
+   */
+  CompletableFuture<SupportData> getAsync(Path rootPath, Path pathParentConfigurationBin,
+                                          Function<Path, SupportData> loader) {
+    var key = normalize(rootPath);
+    var entry = entries.get(key);
+    if (entry != null) {
+      Instrumentation.cacheLookup(key, SupportDataListener.LookupResult.HIT);
+      return CompletableFuture.completedFuture(access(entry));
+    }
+    Instrumentation.cacheLookup(key, SupportDataListener.LookupResult.MISS);
+
+    var load = new CompletableFuture<SupportData>();
+    var current = startLoading(key, load);
+    if (current != null) {
+      return current;
+    }
+    Thread.ofVirtual()
+      .name("supportconf-load")
+      .start(() -> {
+        try {
+          if (!load.isDone()) {
+            load(key, pathParentConfigurationBin, loader, load);
+          }
+        } catch (RuntimeException exception) {
+          load.completeExceptionally(exception);
+        } finally {
+          finishLoading(key, load);
+        }
+      });
+    return load;
+  }
+
+  /**
+   * Находит данные так же, как {@link #find(Path)}, а если их нет, но подходящее чтение еще не завершено,
+   * ожидает его согласно переданному поведению
+   *
+   * @param path       Путь к файлу или каталогу внутри конфигурации
+   * @param waitPolicy Поведение при незавершенном чтении
+   * @return Найденные данные или {@code null}, если данных нет, чтение не завершено или отменено
+   * @throws CompletionException Время ожидания истекло (причина - {@link TimeoutException}),
+   *                             ожидание прервано или чтение завершилось с ошибкой
+   */
+  @Nullable
+  SupportData find(Path path, WaitPolicy waitPolicy) {
+    var supportData = find(path);
+    var loading = supportData == null ? findLoading(path) : null;
+    if (loading == null) {
+      return supportData;
+    }
+
+    try {
+      return switch (waitPolicy.mode()) {
+        case BLOCK -> loading.join();
+        case NONE_UNTIL_READY -> loading.getNow(null);
+        case TIMEOUT -> loading.get(waitPolicy.timeout().toNanos(), TimeUnit.NANOSECONDS);
+      };
+    } catch (CancellationException exception) {
+      return null;
+    } catch (TimeoutException exception) {
+      throw new CompletionException(exception);
+    } catch (ExecutionException exception) {
+      throw new CompletionException(exception.getCause());
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(exception);
+    }
+  }
+
+  /**
+   * Находит незавершенное чтение, корневой каталог которого совпадает с указанным путем
+   * или является самым длинным его началом. Корневые каталоги незавершенных чтений хранятся
+   * в префиксном дереве, поэтому поиск не зависит от количества одновременных чтений
+   *
+   * @param path Путь к файлу или каталогу внутри конфигурации
+   * @return Результат чтения или {@code null}, если подходящих чтений нет
+   */
+  @Nullable
+  CompletableFuture<SupportData> findLoading(Path path) {
+    if (loads.isEmpty()) {
+      return null;
+    }
+
+    var rootPath = loadingRoots.findLongestPrefix(normalize(path));
+    return rootPath == null ? null : loads.get(rootPath);
+  }
+
+  /**
+   * Отменяет незавершенные чтения корневых каталогов, расположенных в указанном каталоге.
+   * Файлы дочитываются до конца, но их данные не помещаются в кеш
+   *
+   * @param path Каталог
+   * @return Количество отмененных чтений
+   */
+  int cancelLoading(Path path) {
+    var normalizedPath = normalize(path);
+    var count = 0;
+    synchronized (writeLock) {
+      for (var load : loads.entrySet()) {
+        if (load.getKey().startsWith(normalizedPath) && load.getValue().cancel(false)) {
+          // отмененное чтение не должно мешать новому чтению того же каталога
+          finishLoading(load.getKey(), load.getValue());
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Находит данные, корневой каталог которых совпадает с указанным путем или является самым длинным его началом
+   *
+   * @param path Путь к файлу или каталогу внутри конфигурации
+   * @return Найденные данные или {@code null}
+   */
+  @Nullable
+  SupportData find(Path path) {
+    if (entries.isEmpty()) {
+      Instrumentation.cacheLookup(path, SupportDataListener.LookupResult.MISS);
+      return null;
+    }
+
+    var normalizedPath = normalize(path);
+    var entry = entries.get(normalizedPath);
+    var result = SupportDataListener.LookupResult.HIT;
+    if (entry == null) {
+      var rootPath = roots.findLongestPrefix(normalizedPath);
+      entry = rootPath == null ? null : entries.get(rootPath);
+      result = SupportDataListener.LookupResult.PREFIX_HIT;
+    }
+
+    if (entry == null) {
+      Instrumentation.cacheLookup(normalizedPath, SupportDataListener.LookupResult.MISS);
+      return null;
+    }
+    Instrumentation.cacheLookup(normalizedPath, result);
+    return access(entry);
+  }
+
+  /**
+   * Удаляет данные корневого каталога из кеша
+   *
+   * @param rootPath Корневой каталог конфигурации
+   * @return Истина, если данные были в кеше
+   */
+  boolean invalidate(Path rootPath) {
+    var key = normalize(rootPath);
+    synchronized (writeLock) {
+      var entry = entries.get(key);
+      if (entry == null) {
+        return false;
+      }
+      remove(entry);
+      return true;
+    }
+  }
+
+  /**
+   * Очищает кеш
+   */
+  void clear() {
+    synchronized (writeLock) {
+      loads.values().forEach(load -> load.cancel(false));
+      loads.clear();
+      loadingRoots.clear();
+      entries.clear();
+      roots.clear();
+      order.clear();
+      accesses.clear();
+      totalWeight = 0;
+      if (watcher != null) {
+        watcher.unregisterAll();
+      }
+    }
+  }
+
+  /**
+   * Возвращает количество элементов кеша
+   *
+   * @return Количество элементов
+   */
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Возвращает суммарное количество объектов во всех элементах кеша
+   *
+   * @return Вес кеша
+   */
+  long weight() {
+    return totalWeight;
+  }
+
+  /**
+   * Возвращает количество различных по содержимому файлов, данные которых еще используются
+   *
+   * @return Количество содержимых
+   */
+  int sharedContents() {
+    return contents.size();
+  }
+
+  /**
+   * Очищает кеш и останавливает отслеживание файлов
+   */
+  @Override
+  public void close() {
+    clear();
+    if (validationClock != null) {
+      validationClock.interrupt();
+    }
+    if (watcher != null) {
+      try {
+        watcher.close();
+      } catch (IOException exception) {
+        LOGGER.debug("TRACE", exception);
+      }
+    }
+  }
+
+  private SupportData access(Entry entry) {
+    var current = epoch;
+    if (entry.accessEpoch != current) {
+      entry.accessEpoch = current;
+      accesses.offer(entry);
+    }
+    if (settings.validateFiles()) {
+      validate(entry);
+    }
+    return entry.state.data();
+  }
+
+  private void validate(Entry entry) {
+    if (validationClock != null) {
+      var tick = validationTick;
+      if (entry.checkedTick == tick) {
+        return;
+      }
+      entry.checkedTick = tick;
+    }
+
+    if (!FileStamp.of(entry.pathParentConfigurationBin).equals(entry.state.stamp())) {
+      reload(entry);
+    }
+  }
+
+  /**
+   * Запускает повторное чтение файла элемента на виртуальном потоке, если оно еще не запущено.
+   * Чтение регистрируется среди незавершенных чтений корневого каталога, поэтому одновременно
+   * выполняется не более одного чтения, а его отмена отбрасывает результат
+   */
+  private void reload(Entry entry) {
+    var reload = new CompletableFuture<SupportData>();
+    if (startLoading(entry.rootPath, reload) != null) {
+      return;
+    }
+    Thread.ofVirtual()
+      .name("supportconf-reload")
+      .start(() -> {
+        try {
+          reload(entry, reload);
+        } catch (RuntimeException exception) {
+          LOGGER.error("Ошибка чтения файла {}", entry.pathParentConfigurationBin);
+          LOGGER.debug("TRACE", exception);
+          reload.completeExceptionally(exception);
+        } finally {
+          finishLoading(entry.rootPath, reload);
+        }
+      });
+  }
+
+  /**
+   * Перечитывает файл элемента и атомарно заменяет его данные, если элемент все еще находится в кеше
+   */
+  private void reload(Entry entry, CompletableFuture<SupportData> reload) {
+    LOGGER.debug("Reloading {}", entry.pathParentConfigurationBin);
+    var state = loadState(entry.pathParentConfigurationBin, entry.loader, true);
+    synchronized (writeLock) {
+      if (!reload.isCancelled() && entries.get(entry.rootPath) == entry) {
+        totalWeight += state.weight() - entry.state.weight();
+        entry.state = state;
+        drainAccesses();
+        evictOverflow();
+      }
+    }
+    reload.complete(state.data());
+  }
+
+  private void reloadChanged(Path pathParentConfigurationBin) {
+    for (var entry : entries.values()) {
+      if (normalize(entry.pathParentConfigurationBin).equals(pathParentConfigurationBin)) {
+        entry.checkedTick = validationTick;
+        reload(entry);
+      }
+    }
+  }
+
+  /**
+   * Читает файл и публикует элемент, если чтение не было отменено. Результат чтения завершается
+   * под блокировкой записи, поэтому отмена и публикация не пересекаются
+   */
+  private SupportData load(Path rootPath, Path pathParentConfigurationBin, Function<Path, SupportData> loader,
+                           CompletableFuture<SupportData> load) {
+    var state = loadState(pathParentConfigurationBin, loader, false);
+    synchronized (writeLock) {
+      if (load.isCancelled()) {
+        LOGGER.debug("Loading {} was cancelled", pathParentConfigurationBin);
+        return state.data();
+      }
+
+      var current = entries.get(rootPath);
+      if (current != null) {
+        // данные уже прочитаны другим потоком
+        load.complete(current.state.data());
+        return current.state.data();
+      }
+
+      var entry = new Entry(rootPath, pathParentConfigurationBin, loader, state, validationTick);
+      drainAccesses();
+      entries.put(rootPath, entry);
+      roots.put(rootPath, rootPath);
+      order.put(rootPath, entry);
+      totalWeight += state.weight();
+      evictOverflow();
+      if (watcher != null) {
+        watcher.register(pathParentConfigurationBin);
+      }
+      load.complete(state.data());
+      return state.data();
+    }
+  }
+
+  /**
+   * Регистрирует незавершенное чтение корневого каталога, если другого чтения этого каталога нет
+   *
+   * @return Уже выполняющееся чтение или {@code null}, если зарегистрировано переданное
+   */
+  @Nullable
+  private CompletableFuture<SupportData> startLoading(Path rootPath, CompletableFuture<SupportData> load) {
+    synchronized (writeLock) {
+      var current = loads.putIfAbsent(rootPath, load);
+      if (current == null) {
+        loadingRoots.put(rootPath, rootPath);
+      }
+      return current;
+    }
+  }
+
+  /**
+   * Снимает регистрацию чтения корневого каталога, если оно еще зарегистрировано
+   */
+  private void finishLoading(Path rootPath, CompletableFuture<SupportData> load) {
+    synchronized (writeLock) {
+      if (loads.remove(rootPath, load)) {
+        loadingRoots.remove(rootPath);
+      }
+    }
+  }
+
+  private State loadState(Path pathParentConfigurationBin, Function<Path, SupportData> loader, boolean reload) {
+    var event = Instrumentation.loadStarted(pathParentConfigurationBin, loadsInFlight.incrementAndGet(), reload);
+    var startedAt = System.nanoTime();
+    try {
+      return State.load(pathParentConfigurationBin, path -> contents.load(path, loader));
+    } finally {
+      Instrumentation.loadFinished(event, pathParentConfigurationBin, System.nanoTime() - startedAt,
+        loadsInFlight.decrementAndGet());
+    }
+  }
+
+  /**
+   * Вытесняет лишние элементы, начиная с давно не использованных. Отметки обращений должны быть
+   * перенесены в порядок вытеснения до вызова. Вызывается под блокировкой записи
+   */
+  private void evictOverflow() {
+    while (entries.size() > 1 && isOverflow()) {
+      var eldest = order.firstEntry().getValue();
+      remove(eldest);
+      Instrumentation.eviction(eldest.rootPath, eldest.state.weight());
+    }
+  }
+
+  /**
+   * Переносит отмеченные с прошлого изменения элементы в конец порядка вытеснения и начинает новую эпоху
+   * отметок. Вызывается под блокировкой записи
+   */
+  private void drainAccesses() {
+    var entry = accesses.poll();
+    while (entry != null) {
+      if (entries.get(entry.rootPath) == entry) {
+        order.get(entry.rootPath);
+      }
+      entry = accesses.poll();
+    }
+    epoch++;
+  }
+
+  private boolean isOverflow() {
+    return (settings.maximumSize() > 0 && entries.size() > settings.maximumSize())
+      || (settings.maximumWeight() > 0 && totalWeight > settings.maximumWeight());
+  }
+
+  /**
+   * Удаляет элемент из кеша. Вызывается под блокировкой записи
+   */
+  private void remove(Entry entry) {
+    entries.remove(entry.rootPath);
+    roots.remove(entry.rootPath);
+    order.remove(entry.rootPath);
+    totalWeight -= entry.state.weight();
+    unwatch(entry);
+  }
+
+  private void unwatch(Entry entry) {
+    if (watcher != null) {
+      watcher.unregister(entry.pathParentConfigurationBin);
+    }
+  }
+
+  @Nullable
+  private SupportDataWatcher createWatcher() {
+    try {
+      return new SupportDataWatcher(this::reloadChanged);
+    } catch (IOException exception) {
+      LOGGER.error("Unable to start watching ParentConfigurations.bin files");
+      LOGGER.debug("TRACE", exception);
+      return null;
+    }
+  }
+
+  /**
+   * Запускает часы проверки файлов: раз в интервал увеличивает номер такта кеша. Кеш доступен часам
+   * через слабую ссылку, поэтому не закрытый, но ставший недостижимым кеш останавливает часы
+   */
+  private static Thread startValidationClock(WeakReference<SupportDataCache> reference, Duration interval) {
+    return Thread.ofVirtual()
+      .name("supportconf-validation-clock")
+      .start(() -> {
+        try {
+          while (true) {
+            Thread.sleep(interval);
+            var cache = reference.get();
+            if (cache == null) {
+              return;
+            }
+            // номер такта изменяет только этот поток
+            cache.validationTick++;
+          }
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+      });
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+
+  /**
+   * Элемент кеша
+   */
+  private static final class Entry {
+    private final Path rootPath;
+    private final Path pathParentConfigurationBin;
+    private final Function<Path, SupportData> loader;
+    private volatile State state;
+    private volatile int checkedTick;
+    private volatile int accessEpoch;
+
+    private Entry(Path rootPath, Path pathParentConfigurationBin, Function<Path, SupportData> loader, State state,
+                  int checkedTick) {
+      this.rootPath = rootPath;
+      this.pathParentConfigurationBin = pathParentConfigurationBin;
+      this.loader = loader;
+      this.state = state;
+      this.checkedTick = checkedTick;
+    }
+  }
+
+  /**
+   * Прочитанные данные элемента, заменяемые целиком
+   *
+   * @param data   Данные о поддержке
+   * @param stamp  Отпечаток файла на момент чтения
+   * @param weight Количество объектов
+   */
+  private record State(SupportData data, FileStamp stamp, long weight) {
+    private static State load(Path pathParentConfigurationBin, Function<Path, SupportData> loader) {
+      var stamp = FileStamp.of(pathParentConfigurationBin);
+      var data = loader.apply(pathParentConfigurationBin);
+      return new State(data, stamp, Math.max(1, data.getSupportVariants().size()));
+    }
+  }
+
+  /**
+   * Отпечаток состояния файла для определения его изменения
+   *
+   * @param lastModified Время модификации в наносекундах, {@code -1} для отсутствующего файла
+   * @param size         Размер файла
+   */
+  private record FileStamp(long lastModified, long size) {
+    private static final FileStamp MISSING = new FileStamp(-1, -1);
+
+    private static FileStamp of(Path path) {
+      try {
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new FileStamp(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), attributes.size());
+      } catch (IOException exception) {
+        return MISSING;
+      }
+    }
+  }
+}
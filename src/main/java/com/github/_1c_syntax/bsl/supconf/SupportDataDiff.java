@@ -0,0 +1,199 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Различия вариантов поддержки объектов между двумя версиями файла описания поставки.
+ * <p>
+ * Сравнение выполняется слиянием отсортированных идентификаторов обеих версий за один проход,
+ * без поиска каждого идентификатора одной версии в другой. Изменения в списках упорядочены
+ * по идентификаторам объектов
+ *
+ * @param added   Объекты, вариант поддержки которых появился в новой версии
+ * @param removed Объекты, вариант поддержки которых отсутствует в новой версии
+ * @param changed Объекты, вариант поддержки которых изменился
+ */
+public record SupportDataDiff(List<SupportVariantChange> added,
+                              List<SupportVariantChange> removed,
+                              List<SupportVariantChange> changed) {
+
+  public SupportDataDiff {
+    added = List.copyOf(added);
+    removed = List.copyOf(removed);
+    changed = List.copyOf(changed);
+  }
+
+  /**
+   * Проверяет отсутствие различий
+   *
+   * @return Истина, если версии не различаются
+   */
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+
+  /**
+   * Сравнивает сводные варианты поддержки двух версий
+   *
+   * @param before Прежняя версия
+   * @param after  Новая версия
+   * @return Различия
+   */
+  public static SupportDataDiff between(SupportData before, SupportData after) {
+    var beforeVariants = before.variants();
+    var afterVariants = after.variants();
+    var builder = new Builder();
+    merge(beforeVariants.index(), afterVariants.index(), (index, row, beforeRow, afterRow) -> builder.add(index, row,
+      beforeRow < 0 ? SupportVariant.NONE : beforeVariants.variant(beforeRow),
+      afterRow < 0 ? SupportVariant.NONE : afterVariants.variant(afterRow)));
+    return builder.build();
+  }
+
+  /**
+   * Сравнивает варианты поддержки двух версий в разрезе конфигураций поставщика
+   *
+   * @param before Прежняя версия
+   * @param after  Новая версия
+   * @return Различия по конфигурациям поставщика, для которых они есть, в порядке следования конфигураций
+   * сначала в прежней, затем в новой версии
+   */
+  public static Map<SupportConfiguration, SupportDataDiff> between(FullSupportData before, FullSupportData after) {
+    var beforeVariants = before.variants();
+    var afterVariants = after.variants();
+    var configurations = new LinkedHashSet<>(beforeVariants.configurations());
+    configurations.addAll(afterVariants.configurations());
+
+    var count = configurations.size();
+    var beforeOrdinals = new int[count];
+    var afterOrdinals = new int[count];
+    var builders = new Builder[count];
+    var position = 0;
+    for (var configuration : configurations) {
+      beforeOrdinals[position] = beforeVariants.ordinalOf(configuration);
+      afterOrdinals[position] = afterVariants.ordinalOf(configuration);
+      builders[position] = new Builder();
+      position++;
+    }
+
+    merge(beforeVariants.index(), afterVariants.index(), (index, row, beforeRow, afterRow) -> {
+      for (var number = 0; number < count; number++) {
+        builders[number].add(index, row,
+          variant(beforeVariants, beforeRow, beforeOrdinals[number]),
+          variant(afterVariants, afterRow, afterOrdinals[number]));
+      }
+    });
+
+    var result = new LinkedHashMap<SupportConfiguration, SupportDataDiff>();
+    position = 0;
+    for (var configuration : configurations) {
+      var diff = builders[position++].build();
+      if (!diff.isEmpty()) {
+        result.put(configuration, diff);
+      }
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  private static SupportVariant variant(ConfigurationVariantTable table, int row, int ordinal) {
+    if (row < 0 || ordinal < 0) {
+      return SupportVariant.NONE;
+    }
+    return table.get(row, ordinal);
+  }
+
+  /**
+   * Обходит идентификаторы двух индексов в порядке сортировки, сопоставляя равные
+   */
+  private static void merge(GuidIndex before, GuidIndex after, RowPairConsumer consumer) {
+    var beforeRows = before.sortedRows();
+    var afterRows = after.sortedRows();
+    var beforePosition = 0;
+    var afterPosition = 0;
+    while (beforePosition < beforeRows.length || afterPosition < afterRows.length) {
+      int compare;
+      if (beforePosition == beforeRows.length) {
+        compare = 1;
+      } else if (afterPosition == afterRows.length) {
+        compare = -1;
+      } else {
+        compare = GuidIndex.compareRows(before, beforeRows[beforePosition], after, afterRows[afterPosition]);
+      }
+
+      if (compare < 0) {
+        var row = beforeRows[beforePosition++];
+        consumer.accept(before, row, row, -1);
+      } else if (compare > 0) {
+        var row = afterRows[afterPosition++];
+        consumer.accept(after, row, -1, row);
+      } else {
+        var row = beforeRows[beforePosition++];
+        consumer.accept(before, row, row, afterRows[afterPosition++]);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowPairConsumer {
+    /**
+     * @param index     Индекс, содержащий идентификатор объекта
+     * @param row       Номер строки идентификатора в этом индексе
+     * @param beforeRow Номер строки прежней версии или {@code -1}
+     * @param afterRow  Номер строки новой версии или {@code -1}
+     */
+    void accept(GuidIndex index, int row, int beforeRow, int afterRow);
+  }
+
+  private static final class Builder {
+    private final List<SupportVariantChange> added = new ArrayList<>();
+    private final List<SupportVariantChange> removed = new ArrayList<>();
+    private final List<SupportVariantChange> changed = new ArrayList<>();
+
+    private void add(GuidIndex index, int row, SupportVariant before, SupportVariant after) {
+      if (before == after) {
+        return;
+      }
+
+      var change = new SupportVariantChange(new UUID(index.mostSigBits(row), index.leastSigBits(row)), before, after);
+      if (before == SupportVariant.NONE) {
+        added.add(change);
+      } else if (after == SupportVariant.NONE) {
+        removed.add(change);
+      } else {
+        changed.add(change);
+      }
+    }
+
+    private SupportDataDiff build() {
+      return new SupportDataDiff(added, removed, changed);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.util.UUID;
+
+/**
+ * Обработчик записей, получающий также поля файла, которые не влияют на варианты поддержки:
+ * идентификаторы секций, признаки и вторые идентификаторы записей, служебные поля заголовка и окончания файла.
+ * Используется, чтобы записать файл обратно без потери этих полей.
+ * <p>
+ * Передается в {@link SupportDataReader#accept(java.nio.ByteBuffer, SupportDataLayoutVisitor)}. Файл читается
+ * целиком, результаты обработчиков {@link SupportDataVisitor} не учитываются
+ */
+interface SupportDataLayoutVisitor extends SupportDataVisitor {
+  /**
+   * Вызывается перед {@link #visitHeader(int)}
+   *
+   * @param format    Первое поле файла (вместе с открывающей скобкой)
+   * @param flag      Второе поле файла
+   * @param separator Разделитель полей, записанный после первого поля
+   */
+  default void visitPreamble(String format, String flag, String separator) {
+    // по умолчанию поля не используются
+  }
+
+  /**
+   * Вызывается сразу после {@link #visitConfiguration(SupportConfiguration, GeneralSupportVariant, int)}
+   *
+   * @param configurationUid        Первый идентификатор секции
+   * @param generalSupport          Код общего варианта поддержки из файла
+   * @param configurationVersionUid Второй идентификатор секции
+   * @param version                 Поле версии в том виде, в котором оно записано в файле
+   * @param provider                Поле поставщика в том виде, в котором оно записано в файле
+   * @param name                    Поле названия в том виде, в котором оно записано в файле
+   */
+  default void visitSectionLayout(UUID configurationUid, int generalSupport, UUID configurationVersionUid,
+                                  String version, String provider, String name) {
+    // по умолчанию поля не используются
+  }
+
+  /**
+   * Вызывается сразу после {@link #visitObject(long, long, int, com.github._1c_syntax.bsl.support.SupportVariant)}
+   * для той же записи
+   *
+   * @param flag               Признак записи
+   * @param parentMostSigBits  Старшие биты второго идентификатора записи
+   * @param parentLeastSigBits Младшие биты второго идентификатора записи
+   */
+  default void visitObjectLayout(int flag, long parentMostSigBits, long parentLeastSigBits) {
+    // по умолчанию поля не используются
+  }
+
+  /**
+   * Вызывается перед {@link #visitConfigurationEnd(SupportConfiguration)}
+   *
+   * @param first  Первое поле после записей секции
+   * @param second Второе поле после записей секции
+   */
+  default void visitSectionEnd(String first, String second) {
+    // по умолчанию поля не используются
+  }
+
+  /**
+   * Вызывается после последней секции
+   *
+   * @param footer Остаток файла после последней секции
+   */
+  default void visitFooter(String footer) {
+    // по умолчанию поля не используются
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.nio.file.Path;
+
+/**
+ * Слушатель чтения файлов ParentConfigurations.bin и работы кеша {@link ParseSupportData}.
+ * <p>
+ * Регистрируется через {@link ParseSupportData#addListener(SupportDataListener)} и получает уведомления
+ * синхронно в потоке, выполняющем операцию, поэтому обработчики должны быть быстрыми и потокобезопасными.
+ * Исключения обработчиков не прерывают операцию. Те же сведения публикуются событиями JFR
+ * категории "Support Configuration" независимо от наличия слушателей
+ */
+public interface SupportDataListener {
+  /**
+   * Вызывается после чтения файла
+   *
+   * @param statistics Сведения о чтении
+   */
+  default void onRead(ReadStatistics statistics) {
+  }
+
+  /**
+   * Вызывается при поиске данных в кеше
+   *
+   * @param path   Путь, по которому выполнялся поиск
+   * @param result Результат поиска
+   */
+  default void onCacheLookup(Path path, LookupResult result) {
+  }
+
+  /**
+   * Вызывается перед чтением файла для помещения в кеш или для замены измененных данных
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param loadsInFlight              Количество выполняющихся чтений, включая текущее
+   */
+  default void onLoadStarted(Path pathParentConfigurationBin, int loadsInFlight) {
+  }
+
+  /**
+   * Вызывается после чтения файла для кеша
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param durationNanos              Длительность чтения в наносекундах
+   * @param loadsInFlight              Количество выполняющихся чтений после завершения текущего
+   */
+  default void onLoadFinished(Path pathParentConfigurationBin, long durationNanos, int loadsInFlight) {
+  }
+
+  /**
+   * Вызывается при вытеснении данных из кеша из-за превышения ограничений
+   *
+   * @param rootPath Корневой каталог конфигурации
+   * @param weight   Количество объектов вытесненных данных
+   */
+  default void onEviction(Path rootPath, long weight) {
+  }
+
+  /**
+   * Результат поиска в кеше
+   */
+  enum LookupResult {
+    /**
+     * Данные найдены по точному совпадению корневого каталога
+     */
+    HIT,
+    /**
+     * Данные найдены по самому длинному совпадающему началу пути
+     */
+    PREFIX_HIT,
+    /**
+     * Данные не найдены
+     */
+    MISS
+  }
+}
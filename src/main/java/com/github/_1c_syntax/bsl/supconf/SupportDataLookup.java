@@ -0,0 +1,252 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import lombok.experimental.UtilityClass;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Точечный поиск вариантов поддержки объектов в файле ParentConfigurations.bin без полного разбора.
+ * <p>
+ * Содержимое файла просматривается побайтно в поисках текстового представления запрошенных идентификаторов.
+ * Если совпадений нет, файл не разбирается вовсе. Иначе находятся границы секций (заголовки разбираются,
+ * записи объектов пропускаются) и разбираются только записи с найденными идентификаторами.
+ * Результат совпадает с {@link SupportData#get(String)} и {@link FullSupportData#get(String)}
+ */
+@UtilityClass
+class SupportDataLookup {
+  private static final int NOT_FOUND = -1;
+
+  /**
+   * Находит сводные варианты поддержки объектов: при нескольких вхождениях выбирается максимальный вариант
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param uids                       Строки-идентификаторы объектов
+   * @return Варианты поддержки в порядке идентификаторов, для отсутствующих - SupportVariant.NONE
+   * @throws IOException Ошибка чтения или разбора файла
+   */
+  static SupportVariant[] variants(Path pathParentConfigurationBin, List<String> uids) throws IOException {
+    var result = new SupportVariant[uids.size()];
+    Arrays.fill(result, SupportVariant.NONE);
+    var buffer = ByteBufferTokenizer.mapFile(pathParentConfigurationBin);
+    scan(buffer, patterns(uids), (numberUid, header, supportVariant) ->
+      result[numberUid] = SupportVariant.max(result[numberUid], supportVariant));
+    return result;
+  }
+
+  /**
+   * Находит варианты поддержки объекта по конфигурациям поставщика: при нескольких вхождениях
+   * в секции одной конфигурации используется первое
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param uid                        Строка-идентификатор объекта
+   * @return Варианты поддержки по конфигурациям в порядке следования секций
+   * @throws IOException Ошибка чтения или разбора файла
+   */
+  static Map<SupportConfiguration, SupportVariant> configurationVariants(Path pathParentConfigurationBin, String uid)
+    throws IOException {
+    return configurationVariants(ByteBufferTokenizer.mapFile(pathParentConfigurationBin), uid);
+  }
+
+  /**
+   * Находит варианты поддержки объекта по конфигурациям поставщика в уже прочитанном содержимом файла
+   *
+   * @param buffer Содержимое файла ParentConfigurations.bin
+   * @param uid    Строка-идентификатор объекта
+   * @return Варианты поддержки по конфигурациям в порядке следования секций
+   * @throws IOException Ошибка разбора файла
+   */
+  static Map<SupportConfiguration, SupportVariant> configurationVariants(ByteBuffer buffer, String uid)
+    throws IOException {
+    if (!Guids.isGuid(uid)) {
+      return Collections.emptyMap();
+    }
+    return configurationVariants(buffer, Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Находит варианты поддержки объекта по конфигурациям поставщика в уже прочитанном содержимом файла
+   *
+   * @param buffer       Содержимое файла ParentConfigurations.bin
+   * @param mostSigBits  Старшие 64 бита идентификатора объекта
+   * @param leastSigBits Младшие 64 бита идентификатора объекта
+   * @return Варианты поддержки по конфигурациям в порядке следования секций
+   * @throws IOException Ошибка разбора файла
+   */
+  static Map<SupportConfiguration, SupportVariant> configurationVariants(ByteBuffer buffer, long mostSigBits,
+                                                                         long leastSigBits) throws IOException {
+    var result = new LinkedHashMap<SupportConfiguration, SupportVariant>();
+    scan(buffer, new byte[][]{Guids.toBytes(mostSigBits, leastSigBits)}, (numberUid, header, supportVariant) ->
+      result.putIfAbsent(header.supportConfiguration(), supportVariant));
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Строит образцы поиска идентификаторов в нижнем регистре
+   *
+   * @return Образцы в порядке идентификаторов, для некорректных идентификаторов - {@code null}
+   */
+  private static byte[][] patterns(List<String> uids) {
+    var patterns = new byte[uids.size()][];
+    for (var numberUid = 0; numberUid < patterns.length; numberUid++) {
+      var uid = uids.get(numberUid);
+      // некорректный идентификатор не может встретиться в файле, как и в SupportData
+      if (Guids.isGuid(uid)) {
+        patterns[numberUid] = uid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+      }
+    }
+    return patterns;
+  }
+
+  /**
+   * Передает обработчику записи объектов с идентификаторами, совпадающими с образцами,
+   * в порядке следования в файле
+   */
+  private static void scan(ByteBuffer buffer, byte[][] patterns, MatchHandler handler) throws IOException {
+    List<SupportDataReader.RecordRange> ranges = null;
+    var limit = buffer.limit() - Guids.LENGTH;
+    for (var position = 1; position <= limit; position++) {
+      // идентификатор объекта - отдельное поле, поэтому сравнение выполняется только в начале поля
+      if (!isDelimiter(buffer.get(position - 1)) || !isFieldEnd(buffer, position + Guids.LENGTH)) {
+        continue;
+      }
+      for (var numberUid = 0; numberUid < patterns.length; numberUid++) {
+        if (patterns[numberUid] == null || !matches(buffer, position, patterns[numberUid])) {
+          continue;
+        }
+        // границы секций нужны только при наличии совпадений
+        if (ranges == null) {
+          ranges = SupportDataReader.indexRecords(buffer);
+        }
+        var range = findRange(ranges, position);
+        var rawVariant = range == null ? null : readRawVariant(buffer, range, position);
+        if (rawVariant != null) {
+          handler.match(numberUid, range.header(),
+            SupportDataReader.computeSupportVariant(range.header().supportVariant(), rawVariant));
+        }
+      }
+    }
+  }
+
+  /**
+   * Находит секцию, в области записей которой находится смещение
+   */
+  private static SupportDataReader.@Nullable RecordRange findRange(List<SupportDataReader.RecordRange> ranges,
+                                                                  int position) {
+    var low = 0;
+    var high = ranges.size() - 1;
+    while (low <= high) {
+      var middle = (low + high) >>> 1;
+      var range = ranges.get(middle);
+      if (position < range.start()) {
+        high = middle - 1;
+      } else if (position >= range.end()) {
+        low = middle + 1;
+      } else {
+        return range;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Читает вариант поддержки записи, если совпадение является идентификатором объекта (третьим полем записи).
+   * Запись состоит из варианта поддержки, признака и двух идентификаторов
+   *
+   * @return Вариант поддержки из записи или {@code null}, если совпадение в другом поле
+   */
+  private static @Nullable Integer readRawVariant(ByteBuffer buffer, SupportDataReader.RecordRange range,
+                                                  int position) {
+    var flagEnd = previousFieldEnd(buffer, range.start(), position);
+    if (flagEnd == NOT_FOUND) {
+      return null;
+    }
+    var flagStart = fieldStart(buffer, range.start(), flagEnd);
+    // перед четвертым полем записи находится идентификатор, перед третьим - признак
+    if (flagEnd - flagStart == Guids.LENGTH) {
+      return null;
+    }
+    var variantEnd = previousFieldEnd(buffer, range.start(), flagStart);
+    if (variantEnd == NOT_FOUND) {
+      return null;
+    }
+    return parseInt(buffer, fieldStart(buffer, range.start(), variantEnd), variantEnd);
+  }
+
+  private static int previousFieldEnd(ByteBuffer buffer, int start, int fieldStart) {
+    var position = fieldStart;
+    while (position > start && isDelimiter(buffer.get(position - 1))) {
+      position--;
+    }
+    return position == fieldStart || position == start ? NOT_FOUND : position;
+  }
+
+  private static int fieldStart(ByteBuffer buffer, int start, int fieldEnd) {
+    var position = fieldEnd;
+    while (position > start && !isDelimiter(buffer.get(position - 1))) {
+      position--;
+    }
+    return position;
+  }
+
+  private static int parseInt(ByteBuffer buffer, int from, int to) {
+    var value = new byte[to - from];
+    buffer.get(from, value);
+    return Integer.parseInt(new String(value, StandardCharsets.US_ASCII));
+  }
+
+  private static boolean matches(ByteBuffer buffer, int position, byte[] pattern) {
+    for (var index = 0; index < pattern.length; index++) {
+      var value = buffer.get(position + index);
+      // образец в нижнем регистре, в файле допускаются шестнадцатеричные цифры в любом регистре
+      if (value != pattern[index] && (pattern[index] < 'a' || value != pattern[index] - ('a' - 'A'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isFieldEnd(ByteBuffer buffer, int position) {
+    return position == buffer.limit() || isDelimiter(buffer.get(position));
+  }
+
+  private static boolean isDelimiter(byte value) {
+    return value == ',' || value == '\n' || value == '\r';
+  }
+
+  @FunctionalInterface
+  private interface MatchHandler {
+    void match(int numberUid, SupportDataReader.ConfigurationHeader header, SupportVariant supportVariant);
+  }
+}
@@ -24,17 +24,18 @@ package com.github._1c_syntax.bsl.supconf;
 import com.github._1c_syntax.bsl.support.SupportVariant;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import java.util.UUID;
 
 /**
  * Служебный класс для чтения файла описания настроек поддержки
@@ -42,108 +43,444 @@ import java.util.regex.Pattern;
 @Slf4j
 @UtilityClass
 public class SupportDataReader {
-  private static final Pattern PATTERN_SPLIT =
-    Pattern.compile("(?:,[\\n\\r]*|\\n|^)(\"(?:(?:\"\")*[^\"]*)*\"|[^\",\\n]*|(?:\\n|$))"); // NOSONAR
-
-  private static final int POINT_COUNT_CONFIGURATION = 2;
-  private static final int SHIFT_CONFIGURATION_VERSION = 3;
-  private static final int SHIFT_CONFIGURATION_PRODUCER = 4;
-  private static final int SHIFT_CONFIGURATION_NAME = 5;
-  private static final int SHIFT_CONFIGURATION_COUNT_OBJECT = 6;
-  private static final int SHIFT_OBJECT_COUNT = 7;
-  private static final int COUNT_ELEMENT_OBJECT = 4;
-  private static final int CONFIGURATION_SUPPORT = 1;
-  private static final int START_READ_POSITION = 3;
-  private static final int SHIFT_SIZE = 2;
-
-  public static Map<String, SupportVariant> read(Path pathParentConfigurationBin) throws FileNotFoundException {
-    Map<String, SupportVariant> supportVariants = new HashMap<>();
-    var dataStrings = readDataStrings(pathParentConfigurationBin);
-
-    var countConfiguration = Integer.parseInt(dataStrings[POINT_COUNT_CONFIGURATION]);
-    LOGGER.debug("Configurations count: {}", countConfiguration);
+  private static final int SKIP_BEFORE_COUNT_CONFIGURATION = 2;
+  private static final int SKIP_BEFORE_CONFIGURATION_SUPPORT = 1;
+  private static final int SKIP_AFTER_CONFIGURATION_SUPPORT = 1;
+  private static final int SKIP_BEFORE_OBJECT_GUID = 1;
+  private static final int SKIP_AFTER_OBJECT_GUID = 1;
+  private static final int SKIP_AFTER_CONFIGURATION = 2;
+  private static final SupportVariant[] VARIANTS = SupportVariant.values();
+  private static final int FIELDS_PER_OBJECT = 1 + SKIP_BEFORE_OBJECT_GUID + 1 + SKIP_AFTER_OBJECT_GUID;
+
+  /**
+   * Количество объектов в части секции при параллельном разборе
+   */
+  private static final int CHUNK_OBJECTS = 16_384;
+
+  public static Map<String, SupportVariant> read(Path pathParentConfigurationBin) throws IOException {
+    return read(pathParentConfigurationBin, ReadMode.STREAM);
+  }
+
+  public static Map<String, SupportVariant> read(Path pathParentConfigurationBin, ReadMode readMode)
+    throws IOException {
+    return readVariants(pathParentConfigurationBin, readMode).asMap();
+  }
+
+  static VariantTable readVariants(Path pathParentConfigurationBin, ReadMode readMode) throws IOException {
+    if (readMode == ReadMode.PARALLEL) {
+      return readVariantsParallel(pathParentConfigurationBin);
+    }
+
+    var trace = Instrumentation.startRead(pathParentConfigurationBin, readMode, false);
+    VariantTable supportVariants;
+    try (var tokenizer = openTokenizer(pathParentConfigurationBin, readMode)) {
+      trace.opened();
+      supportVariants = readVariants(tokenizer, trace);
+      trace.read(tokenizer.byteCount());
+    }
+    trace.finish();
+    return supportVariants;
+  }
 
-    var startPoint = START_READ_POSITION;
+  /**
+   * Читает сводные варианты поддержки из потока. Поток не закрывается
+   *
+   * @param input  Содержимое файла ParentConfigurations.bin
+   * @param source Путь к источнику для сообщений и статистики чтения
+   * @return Прочитанная таблица
+   * @throws IOException Ошибка чтения или разбора
+   */
+  static VariantTable readVariants(InputStream input, Path source) throws IOException {
+    var trace = Instrumentation.startRead(source, ReadMode.STREAM, false);
+    var tokenizer = openTokenizer(input, source);
+    trace.opened();
+    var supportVariants = readVariants(tokenizer, trace);
+    trace.read(tokenizer.byteCount());
+    trace.finish();
+    return supportVariants;
+  }
+
+  private static VariantTable readVariants(SupportDataTokenizer tokenizer, Instrumentation.ReadTrace trace)
+    throws IOException {
+    var supportVariants = new VariantTable();
+    var countConfiguration = readCountConfiguration(tokenizer);
     for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
-      var countObjectsConfiguration = Integer.parseInt(dataStrings[startPoint + SHIFT_CONFIGURATION_COUNT_OBJECT]);
-      var configurationSupportVariant =
-        GeneralSupportVariant.valueOf(Integer.parseInt(dataStrings[startPoint + CONFIGURATION_SUPPORT]));
-      printInfo(dataStrings, startPoint);
-
-      var startObjectPoint = startPoint + SHIFT_OBJECT_COUNT;
-      for (var numberObject = 0; numberObject < countObjectsConfiguration; numberObject++) {
-        var currentObjectPoint = startObjectPoint + numberObject * COUNT_ELEMENT_OBJECT;
-        var guidObject = dataStrings[currentObjectPoint + SHIFT_SIZE];
+      var header = readConfigurationHeader(tokenizer);
+      trace.configuration(header.countObjects());
+      for (var numberObject = 0; numberObject < header.countObjects(); numberObject++) {
         // 0 - не редактируется, 1 - с сохранением поддержки, 2 - снято
-        var supportVariant = computeSupportVariant(
-          configurationSupportVariant,
-          Integer.parseInt(dataStrings[currentObjectPoint]));
-
-        supportVariants.compute(guidObject, (String k, SupportVariant existingValue) -> {
-          if (existingValue == null) {
-            // Ключа нет - вставляем новое значение
-            return supportVariant;
-          } else {
-            // Ключ есть - выбираем максимальное значение
-            return SupportVariant.max(existingValue, supportVariant);
-          }
-        });
-      }
+        var supportVariant = computeSupportVariant(header.supportVariant(), tokenizer.nextInt());
+        tokenizer.skip(SKIP_BEFORE_OBJECT_GUID);
+        tokenizer.nextGuid();
+        tokenizer.skip(SKIP_AFTER_OBJECT_GUID);
 
-      startPoint = startObjectPoint + SHIFT_SIZE + countObjectsConfiguration * COUNT_ELEMENT_OBJECT;
+        // при повторе идентификатора выбирается максимальное значение
+        supportVariants.merge(tokenizer.guidMostSigBits(), tokenizer.guidLeastSigBits(), supportVariant);
+      }
+      tokenizer.skip(SKIP_AFTER_CONFIGURATION);
     }
-
-    return Collections.unmodifiableMap(supportVariants);
+    supportVariants.trim();
+    return supportVariants;
   }
 
   public static Map<String, Map<SupportConfiguration, SupportVariant>> readFull(Path pathParentConfigurationBin)
-    throws FileNotFoundException {
-    Map<String, Map<SupportConfiguration, SupportVariant>> supportVariants = new HashMap<>();
-    var dataStrings = readDataStrings(pathParentConfigurationBin);
+    throws IOException {
+    return readFull(pathParentConfigurationBin, ReadMode.STREAM);
+  }
 
-    var countConfiguration = Integer.parseInt(dataStrings[POINT_COUNT_CONFIGURATION]);
-    LOGGER.debug("Configurations count: {}", countConfiguration);
+  public static Map<String, Map<SupportConfiguration, SupportVariant>> readFull(Path pathParentConfigurationBin,
+                                                                                ReadMode readMode)
+    throws IOException {
+    return readConfigurationVariants(pathParentConfigurationBin, readMode).asMap();
+  }
 
+  static ConfigurationVariantTable readConfigurationVariants(Path pathParentConfigurationBin, ReadMode readMode)
+    throws IOException {
+    if (readMode == ReadMode.PARALLEL) {
+      return readConfigurationVariantsParallel(pathParentConfigurationBin);
+    }
 
-    var startPoint = START_READ_POSITION;
+    var trace = Instrumentation.startRead(pathParentConfigurationBin, readMode, true);
+    ConfigurationVariantTable supportVariants;
+    try (var tokenizer = openTokenizer(pathParentConfigurationBin, readMode)) {
+      trace.opened();
+      supportVariants = readConfigurationVariants(tokenizer, trace);
+      trace.read(tokenizer.byteCount());
+    }
+    trace.finish();
+    return supportVariants;
+  }
+
+  /**
+   * Читает варианты поддержки в разрезе конфигураций поставщика из потока. Поток не закрывается
+   *
+   * @param input  Содержимое файла ParentConfigurations.bin
+   * @param source Путь к источнику для сообщений и статистики чтения
+   * @return Прочитанная таблица
+   * @throws IOException Ошибка чтения или разбора
+   */
+  static ConfigurationVariantTable readConfigurationVariants(InputStream input, Path source) throws IOException {
+    var trace = Instrumentation.startRead(source, ReadMode.STREAM, true);
+    var tokenizer = openTokenizer(input, source);
+    trace.opened();
+    var supportVariants = readConfigurationVariants(tokenizer, trace);
+    trace.read(tokenizer.byteCount());
+    trace.finish();
+    return supportVariants;
+  }
+
+  private static ConfigurationVariantTable readConfigurationVariants(SupportDataTokenizer tokenizer,
+                                                                     Instrumentation.ReadTrace trace)
+    throws IOException {
+    var supportVariants = new ConfigurationVariantTable();
+    var countConfiguration = readCountConfiguration(tokenizer);
     for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
-      var configurationVersion = dataStrings[startPoint + SHIFT_CONFIGURATION_VERSION];
-      var configurationProducer = dataStrings[startPoint + SHIFT_CONFIGURATION_PRODUCER];
-      var configurationName = dataStrings[startPoint + SHIFT_CONFIGURATION_NAME];
-      var countObjectsConfiguration = Integer.parseInt(dataStrings[startPoint + SHIFT_CONFIGURATION_COUNT_OBJECT]);
-      var configurationSupportVariant =
-        GeneralSupportVariant.valueOf(Integer.parseInt(dataStrings[startPoint + CONFIGURATION_SUPPORT]));
-
-      var supportConfiguration
-        = new SupportConfiguration(configurationName, configurationProducer, configurationVersion);
-      printInfo(dataStrings, startPoint);
-
-      var startObjectPoint = startPoint + SHIFT_OBJECT_COUNT;
-      for (var numberObject = 0; numberObject < countObjectsConfiguration; numberObject++) {
-        var currentObjectPoint = startObjectPoint + numberObject * COUNT_ELEMENT_OBJECT;
-        var guidObject = dataStrings[currentObjectPoint + SHIFT_SIZE];
+      var header = readConfigurationHeader(tokenizer);
+      trace.configuration(header.countObjects());
+      var ordinal = supportVariants.addConfiguration(header.supportConfiguration());
+      for (var numberObject = 0; numberObject < header.countObjects(); numberObject++) {
         // 0 - не редактируется, 1 - с сохранением поддержки, 2 - снято
-        var supportVariant = computeSupportVariant(configurationSupportVariant,
-          Integer.parseInt(dataStrings[currentObjectPoint]));
+        var supportVariant = computeSupportVariant(header.supportVariant(), tokenizer.nextInt());
+        tokenizer.skip(SKIP_BEFORE_OBJECT_GUID);
+        tokenizer.nextGuid();
+        tokenizer.skip(SKIP_AFTER_OBJECT_GUID);
+
+        supportVariants.putIfAbsent(
+          tokenizer.guidMostSigBits(), tokenizer.guidLeastSigBits(), ordinal, supportVariant);
+      }
+      tokenizer.skip(SKIP_AFTER_CONFIGURATION);
+    }
+    supportVariants.trim();
+    return supportVariants;
+  }
+
+  private static VariantTable readVariantsParallel(Path pathParentConfigurationBin) throws IOException {
+    var trace = Instrumentation.startRead(pathParentConfigurationBin, ReadMode.PARALLEL, false);
+    var chunks = decodeParallel(pathParentConfigurationBin, trace);
+    var supportVariants = new VariantTable(countObjects(chunks));
+    for (var chunk : chunks) {
+      for (var numberObject = 0; numberObject < chunk.variants().length; numberObject++) {
+        // при повторе идентификатора выбирается максимальное значение
+        supportVariants.merge(chunk.guids()[numberObject * 2], chunk.guids()[numberObject * 2 + 1],
+          VARIANTS[chunk.variants()[numberObject]]);
+      }
+    }
+
+    supportVariants.trim();
+    trace.finish();
+    return supportVariants;
+  }
+
+  private static ConfigurationVariantTable readConfigurationVariantsParallel(Path pathParentConfigurationBin)
+    throws IOException {
+    var trace = Instrumentation.startRead(pathParentConfigurationBin, ReadMode.PARALLEL, true);
+    var chunks = decodeParallel(pathParentConfigurationBin, trace);
+    var supportVariants = new ConfigurationVariantTable(countObjects(chunks));
+    // части объединяются в порядке следования в файле, чтобы сохранить приоритет первого вхождения
+    for (var chunk : chunks) {
+      var ordinal = supportVariants.addConfiguration(chunk.header().supportConfiguration());
+      for (var numberObject = 0; numberObject < chunk.variants().length; numberObject++) {
+        supportVariants.putIfAbsent(chunk.guids()[numberObject * 2], chunk.guids()[numberObject * 2 + 1],
+          ordinal, VARIANTS[chunk.variants()[numberObject]]);
+      }
+    }
+
+    supportVariants.trim();
+    trace.finish();
+    return supportVariants;
+  }
+
+  /**
+   * Находит границы частей секций и разбирает части параллельно
+   *
+   * @return Разобранные части в порядке следования в файле
+   */
+  private static List<DecodedChunk> decodeParallel(Path pathParentConfigurationBin, Instrumentation.ReadTrace trace)
+    throws IOException {
+    LOGGER.debug("Reading ParentConfigurations.bin from {} (PARALLEL)", pathParentConfigurationBin);
+    var buffer = ByteBufferTokenizer.mapFile(pathParentConfigurationBin);
+    trace.opened();
+    trace.read(buffer.limit());
+    var chunks = findChunks(new ByteBufferTokenizer(buffer), trace, CHUNK_OBJECTS);
+    LOGGER.debug("Chunks count: {}", chunks.size());
+
+    try {
+      return chunks.parallelStream()
+        .map(chunk -> decodeChunk(buffer, chunk))
+        .toList();
+    } catch (UncheckedIOException exception) {
+      throw exception.getCause();
+    }
+  }
+
+  /**
+   * Разбирает файл, передавая записи обработчику по мере чтения, без построения таблиц.
+   * Режим {@link ReadMode#PARALLEL} не меняет порядок записей: файл отображается в память
+   * и разбирается последовательно
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param readMode                   Режим чтения файла
+   * @param visitor                    Обработчик записей
+   * @throws IOException Ошибка чтения или разбора файла
+   */
+  public static void accept(Path pathParentConfigurationBin, ReadMode readMode, SupportDataVisitor visitor)
+    throws IOException {
+    var effectiveReadMode = readMode == ReadMode.PARALLEL ? ReadMode.MAPPED : readMode;
+    try (var tokenizer = openTokenizer(pathParentConfigurationBin, effectiveReadMode)) {
+      accept(tokenizer, visitor);
+    }
+  }
+
+  /**
+   * Разбирает содержимое файла из потока, передавая записи обработчику по мере чтения. Поток не закрывается
+   *
+   * @param input   Содержимое файла ParentConfigurations.bin
+   * @param visitor Обработчик записей
+   * @throws IOException Ошибка чтения или разбора
+   */
+  public static void accept(InputStream input, SupportDataVisitor visitor) throws IOException {
+    accept(openTokenizer(input, null), visitor);
+  }
+
+  /**
+   * Разбирает содержимое файла целиком, передавая обработчику также поля, не влияющие на варианты поддержки
+   *
+   * @param buffer  Содержимое файла ParentConfigurations.bin
+   * @param visitor Обработчик записей и полей файла
+   * @throws IOException Ошибка разбора
+   */
+  static void accept(ByteBuffer buffer, SupportDataLayoutVisitor visitor) throws IOException {
+    var tokenizer = new ByteBufferTokenizer(buffer);
+    var format = tokenizer.next();
+    var separator = tokenizer.delimiter();
+    visitor.visitPreamble(format, tokenizer.next(), separator);
+    var countConfiguration = tokenizer.nextInt();
+    visitor.visitHeader(countConfiguration);
+
+    for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
+      var configurationUid = nextUuid(tokenizer);
+      var generalSupport = tokenizer.nextInt();
+      var configurationVersionUid = nextUuid(tokenizer);
+      var version = tokenizer.next();
+      var provider = tokenizer.next();
+      var name = tokenizer.next();
+      var countObjects = tokenizer.nextInt();
+      var configuration = new SupportConfiguration(name, provider, version).intern();
+      var configurationSupportVariant = GeneralSupportVariant.valueOf(generalSupport);
+      visitor.visitConfiguration(configuration, configurationSupportVariant, countObjects);
+      visitor.visitSectionLayout(configurationUid, generalSupport, configurationVersionUid, version, provider, name);
 
-        supportVariants.compute(guidObject, (String k, Map<SupportConfiguration, SupportVariant> map) -> {
-          if (map == null) {
-            // Ключа нет - вставляем новое значение
-            map = new HashMap<>();
+      for (var numberObject = 0; numberObject < countObjects; numberObject++) {
+        var rawVariant = tokenizer.nextInt();
+        var flag = tokenizer.nextInt();
+        tokenizer.nextGuid();
+        var mostSigBits = tokenizer.guidMostSigBits();
+        var leastSigBits = tokenizer.guidLeastSigBits();
+        tokenizer.nextGuid();
+        visitor.visitObject(mostSigBits, leastSigBits, rawVariant,
+          computeSupportVariant(configurationSupportVariant, rawVariant));
+        visitor.visitObjectLayout(flag, tokenizer.guidMostSigBits(), tokenizer.guidLeastSigBits());
+      }
+      visitor.visitSectionEnd(tokenizer.next(), tokenizer.next());
+      visitor.visitConfigurationEnd(configuration);
+    }
+    visitor.visitFooter(tokenizer.remainder());
+  }
+
+  private static void accept(SupportDataTokenizer tokenizer, SupportDataVisitor visitor) throws IOException {
+    var countConfiguration = readCountConfiguration(tokenizer);
+    if (visitor.visitHeader(countConfiguration) == SupportDataVisitor.Result.STOP) {
+      return;
+    }
+
+    for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
+      var header = readConfigurationHeader(tokenizer);
+      var countObjects = Math.max(header.countObjects(), 0);
+      var result = visitor.visitConfiguration(header.supportConfiguration(), header.supportVariant(),
+        header.countObjects());
+      if (result == SupportDataVisitor.Result.STOP) {
+        return;
+      }
+
+      var numberObject = 0;
+      if (result == SupportDataVisitor.Result.CONTINUE) {
+        while (numberObject < countObjects) {
+          var rawVariant = tokenizer.nextInt();
+          tokenizer.skip(SKIP_BEFORE_OBJECT_GUID);
+          tokenizer.nextGuid();
+          tokenizer.skip(SKIP_AFTER_OBJECT_GUID);
+          numberObject++;
+
+          var objectResult = visitor.visitObject(tokenizer.guidMostSigBits(), tokenizer.guidLeastSigBits(),
+            rawVariant, computeSupportVariant(header.supportVariant(), rawVariant));
+          if (objectResult == SupportDataVisitor.Result.STOP) {
+            return;
+          } else if (objectResult == SupportDataVisitor.Result.SKIP_SECTION) {
+            break;
           }
-          map.putIfAbsent(supportConfiguration, supportVariant);
-          return map;
-        });
+        }
       }
+      tokenizer.skip((countObjects - numberObject) * FIELDS_PER_OBJECT + SKIP_AFTER_CONFIGURATION);
 
-      startPoint = startObjectPoint + SHIFT_SIZE + countObjectsConfiguration * COUNT_ELEMENT_OBJECT;
+      if (result == SupportDataVisitor.Result.CONTINUE
+        && visitor.visitConfigurationEnd(header.supportConfiguration()) == SupportDataVisitor.Result.STOP) {
+        return;
+      }
     }
+  }
 
-    return Collections.unmodifiableMap(supportVariants);
+  /**
+   * Читает заголовки секций конфигураций поставщика. Записи объектов пропускаются без разбора
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @return Описания секций в порядке следования в файле
+   * @throws IOException Ошибка чтения или разбора заголовков
+   */
+  public static List<ConfigurationDescriptor> readDescriptors(Path pathParentConfigurationBin) throws IOException {
+    var descriptors = new ArrayList<ConfigurationDescriptor>();
+    try (var tokenizer = ByteBufferTokenizer.map(pathParentConfigurationBin)) {
+      var countConfiguration = readCountConfiguration(tokenizer);
+      for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
+        var header = readConfigurationHeader(tokenizer);
+        descriptors.add(new ConfigurationDescriptor(header.supportConfiguration(), header.supportVariant(),
+          header.countObjects()));
+        tokenizer.skip(Math.max(header.countObjects(), 0) * FIELDS_PER_OBJECT + SKIP_AFTER_CONFIGURATION);
+      }
+    }
+    return descriptors;
   }
 
-  private static SupportVariant computeSupportVariant(GeneralSupportVariant configurationSupportVariant,
-                                                      int dataStrings) {
+  /**
+   * Находит границы секций конфигураций поставщика без разбора записей объектов
+   *
+   * @param buffer Содержимое файла ParentConfigurations.bin
+   * @return Секции в порядке следования в файле
+   * @throws IOException Ошибка разбора заголовков
+   */
+  static List<Chunk> indexSections(ByteBuffer buffer) throws IOException {
+    return findChunks(new ByteBufferTokenizer(buffer), Instrumentation.ReadTrace.DISABLED, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Находит области записей объектов секций конфигураций поставщика без разбора записей
+   *
+   * @param buffer Содержимое файла ParentConfigurations.bin
+   * @return Области записей в порядке следования в файле
+   * @throws IOException Ошибка разбора заголовков
+   */
+  static List<RecordRange> indexRecords(ByteBuffer buffer) throws IOException {
+    var ranges = new ArrayList<RecordRange>();
+    var tokenizer = new ByteBufferTokenizer(buffer);
+    var countConfiguration = readCountConfiguration(tokenizer);
+    for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
+      var header = readConfigurationHeader(tokenizer);
+      var start = tokenizer.position();
+      tokenizer.skip(Math.max(header.countObjects(), 0) * FIELDS_PER_OBJECT);
+      ranges.add(new RecordRange(header, start, tokenizer.position()));
+      tokenizer.skip(SKIP_AFTER_CONFIGURATION);
+    }
+    return ranges;
+  }
+
+  private static List<Chunk> findChunks(ByteBufferTokenizer tokenizer, Instrumentation.ReadTrace trace,
+                                        int chunkObjects) throws IOException {
+    var chunks = new ArrayList<Chunk>();
+    var countConfiguration = readCountConfiguration(tokenizer);
+    for (var numberConfiguration = 1; numberConfiguration <= countConfiguration; numberConfiguration++) {
+      var header = readConfigurationHeader(tokenizer);
+      trace.configuration(header.countObjects());
+      var remaining = Math.max(header.countObjects(), 0);
+      // секция без объектов тоже дает часть, чтобы конфигурация была зарегистрирована
+      do {
+        var countObjects = Math.min(remaining, chunkObjects);
+        chunks.add(new Chunk(header, tokenizer.position(), countObjects));
+        tokenizer.skip(countObjects * FIELDS_PER_OBJECT);
+        remaining -= countObjects;
+      } while (remaining > 0);
+      tokenizer.skip(SKIP_AFTER_CONFIGURATION);
+    }
+    return chunks;
+  }
+
+  /**
+   * Разбирает записи объектов части секции
+   *
+   * @param buffer Содержимое файла ParentConfigurations.bin
+   * @param chunk  Часть секции
+   * @return Идентификаторы и вычисленные варианты поддержки объектов
+   * @throws UncheckedIOException Ошибка разбора
+   */
+  static DecodedChunk decodeChunk(ByteBuffer buffer, Chunk chunk) {
+    var guids = new long[chunk.countObjects() * 2];
+    var variants = new byte[chunk.countObjects()];
+    try (var tokenizer = new ByteBufferTokenizer(buffer.duplicate().position(chunk.position()))) {
+      for (var numberObject = 0; numberObject < chunk.countObjects(); numberObject++) {
+        // 0 - не редактируется, 1 - с сохранением поддержки, 2 - снято
+        var supportVariant = computeSupportVariant(chunk.header().supportVariant(), tokenizer.nextInt());
+        tokenizer.skip(SKIP_BEFORE_OBJECT_GUID);
+        tokenizer.nextGuid();
+        tokenizer.skip(SKIP_AFTER_OBJECT_GUID);
+
+        guids[numberObject * 2] = tokenizer.guidMostSigBits();
+        guids[numberObject * 2 + 1] = tokenizer.guidLeastSigBits();
+        variants[numberObject] = (byte) supportVariant.ordinal();
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return new DecodedChunk(chunk.header(), guids, variants);
+  }
+
+  private static int countObjects(List<DecodedChunk> chunks) {
+    var countObjects = 0;
+    for (var chunk : chunks) {
+      countObjects += chunk.variants().length;
+    }
+    return countObjects;
+  }
+
+  static SupportVariant computeSupportVariant(GeneralSupportVariant configurationSupportVariant,
+                                              int dataStrings) {
     SupportVariant supportVariant;
     if (configurationSupportVariant == GeneralSupportVariant.LOCKED) {
       supportVariant = SupportVariant.NOT_EDITABLE;
@@ -153,32 +490,41 @@ public class SupportDataReader {
     return supportVariant;
   }
 
-  private static String[] readDataStrings(Path pathParentConfigurationBin) throws FileNotFoundException {
-    LOGGER.debug("Reading ParentConfigurations.bin from {}", pathParentConfigurationBin);
-
-    String[] dataStrings;
-    var fileInputStream = new FileInputStream(pathParentConfigurationBin.toFile());
-    try (var scanner = new Scanner(fileInputStream, StandardCharsets.UTF_8)) {
-      dataStrings = scanner.findAll(PATTERN_SPLIT)
-        .map(matchResult -> matchResult.group(1))
-        .toArray(String[]::new);
+  private static SupportDataTokenizer openTokenizer(Path pathParentConfigurationBin, ReadMode readMode)
+    throws IOException {
+    LOGGER.debug("Reading ParentConfigurations.bin from {} ({})", pathParentConfigurationBin, readMode);
+    if (readMode == ReadMode.MAPPED) {
+      return ByteBufferTokenizer.map(pathParentConfigurationBin);
     }
+    // Files вместо FileInputStream, чтобы читать пути любых файловых систем, в том числе архивов
+    return new ReaderTokenizer(Files.newInputStream(pathParentConfigurationBin));
+  }
 
-    try {
-      fileInputStream.close();
-    } catch (IOException exception) {
-      LOGGER.error("Error close file {}", pathParentConfigurationBin);
-      LOGGER.debug("TRACE", exception);
-    }
+  private static SupportDataTokenizer openTokenizer(InputStream input, @Nullable Path source) throws IOException {
+    LOGGER.debug("Reading ParentConfigurations.bin from stream {}", source);
+    return new ReaderTokenizer(input);
+  }
 
-    return dataStrings;
+  private static UUID nextUuid(SupportDataTokenizer tokenizer) throws IOException {
+    tokenizer.nextGuid();
+    return new UUID(tokenizer.guidMostSigBits(), tokenizer.guidLeastSigBits());
   }
 
-  private static void printInfo(String[] dataStrings, int startPoint) {
-    var configurationVersion = dataStrings[startPoint + SHIFT_CONFIGURATION_VERSION];
-    var configurationProducer = dataStrings[startPoint + SHIFT_CONFIGURATION_PRODUCER];
-    var configurationName = dataStrings[startPoint + SHIFT_CONFIGURATION_NAME];
-    var countObjectsConfiguration = Integer.parseInt(dataStrings[startPoint + SHIFT_CONFIGURATION_COUNT_OBJECT]);
+  private static int readCountConfiguration(SupportDataTokenizer tokenizer) throws IOException {
+    tokenizer.skip(SKIP_BEFORE_COUNT_CONFIGURATION);
+    var countConfiguration = tokenizer.nextInt();
+    LOGGER.debug("Configurations count: {}", countConfiguration);
+    return countConfiguration;
+  }
+
+  private static ConfigurationHeader readConfigurationHeader(SupportDataTokenizer tokenizer) throws IOException {
+    tokenizer.skip(SKIP_BEFORE_CONFIGURATION_SUPPORT);
+    var configurationSupportVariant = GeneralSupportVariant.valueOf(tokenizer.nextInt());
+    tokenizer.skip(SKIP_AFTER_CONFIGURATION_SUPPORT);
+    var configurationVersion = tokenizer.next();
+    var configurationProducer = tokenizer.next();
+    var configurationName = tokenizer.next();
+    var countObjectsConfiguration = tokenizer.nextInt();
 
     LOGGER.debug(
       "Configuration name: {} Version: {} Vendor: {} Object count: {}",
@@ -186,5 +532,52 @@ public class SupportDataReader {
       configurationVersion,
       configurationProducer,
       countObjectsConfiguration);
+
+    return new ConfigurationHeader(
+      new SupportConfiguration(configurationName, configurationProducer, configurationVersion).intern(),
+      configurationSupportVariant,
+      countObjectsConfiguration);
+  }
+
+  /**
+   * Заголовок секции конфигурации поставщика
+   *
+   * @param supportConfiguration Описание конфигурации поставщика
+   * @param supportVariant       Общий вариант поддержки конфигурации
+   * @param countObjects         Количество объектов в секции
+   */
+  record ConfigurationHeader(SupportConfiguration supportConfiguration,
+                             GeneralSupportVariant supportVariant,
+                             int countObjects) {
+  }
+
+  /**
+   * Часть секции конфигурации поставщика для параллельного или отложенного разбора
+   *
+   * @param header       Заголовок секции
+   * @param position     Смещение первого объекта части в файле
+   * @param countObjects Количество объектов в части
+   */
+  record Chunk(ConfigurationHeader header, int position, int countObjects) {
+  }
+
+  /**
+   * Область записей объектов секции конфигурации поставщика
+   *
+   * @param header Заголовок секции
+   * @param start  Смещение первой записи в файле
+   * @param end    Смещение, следующее за последней записью
+   */
+  record RecordRange(ConfigurationHeader header, int start, int end) {
+  }
+
+  /**
+   * Разобранная часть секции
+   *
+   * @param header   Заголовок секции
+   * @param guids    Пары старших и младших битов идентификаторов объектов
+   * @param variants Номера вычисленных вариантов поддержки объектов
+   */
+  record DecodedChunk(ConfigurationHeader header, long[] guids, byte[] variants) {
   }
 }
@@ -0,0 +1,323 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Чтение и запись двоичных снимков информации о поддержке.
+ * <p>
+ * Формат снимка (числа в порядке big-endian):
+ * <ul>
+ *   <li>заголовок: сигнатура, версия формата, вид снимка, размер, дата модификации и контрольная сумма CRC32C
+ *   исходного файла ParentConfigurations.bin;</li>
+ *   <li>для полной информации - количество конфигураций поставщика, их название, поставщик и версия
+ *   (длина и байты UTF-8), а также количество {@code long} в упакованном векторе вариантов объекта;</li>
+ *   <li>количество объектов и пары старших и младших битов их идентификаторов по возрастанию;</li>
+ *   <li>колонка вариантов: по байту на объект для сводной информации
+ *   или упакованные векторы вариантов для полной.</li>
+ * </ul>
+ * Снимок читается в кучу целиком, а не отображается в память: отображение держит файл открытым
+ * до сборки мусора и на Windows мешает атомарной замене снимка при перезаписи.
+ * Колонки копируются в массивы целиком
+ */
+@Slf4j
+@UtilityClass
+class SupportDataSnapshot {
+  private static final int MAGIC = 0x53435350;
+  private static final short VERSION = 1;
+  private static final byte KIND_SUMMARY = 1;
+  private static final byte KIND_FULL = 2;
+  private static final int GUID_BYTES = Long.BYTES * 2;
+  private static final int CHECKSUM_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Читает снимок сводной информации о поддержке
+   *
+   * @param snapshot                   Путь к снимку
+   * @param pathParentConfigurationBin Путь к исходному файлу описания поставки
+   * @return Прочитанная таблица или {@code null}, если снимка нет, он поврежден или устарел
+   */
+  @Nullable
+  static VariantTable readVariants(Path snapshot, Path pathParentConfigurationBin) {
+    try {
+      // снимок читается в кучу, а не отображается, чтобы не мешать его атомарной замене
+      var buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+      if (!readHeader(buffer, KIND_SUMMARY, pathParentConfigurationBin)) {
+        return null;
+      }
+      var guids = readGuids(buffer);
+      var variants = new byte[guids.length / 2];
+      buffer.get(variants);
+      return VariantTable.of(guids, variants);
+    } catch (NoSuchFileException exception) {
+      return null;
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException exception) {
+      LOGGER.debug("Snapshot {} is unreadable", snapshot, exception);
+      return null;
+    }
+  }
+
+  /**
+   * Читает снимок полной информации о поддержке
+   *
+   * @param snapshot                   Путь к снимку
+   * @param pathParentConfigurationBin Путь к исходному файлу описания поставки
+   * @return Прочитанная таблица или {@code null}, если снимка нет, он поврежден или устарел
+   */
+  @Nullable
+  static ConfigurationVariantTable readConfigurationVariants(Path snapshot, Path pathParentConfigurationBin) {
+    try {
+      // снимок читается в кучу, а не отображается, чтобы не мешать его атомарной замене
+      var buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+      if (!readHeader(buffer, KIND_FULL, pathParentConfigurationBin)) {
+        return null;
+      }
+
+      var countConfiguration = buffer.getInt();
+      if (countConfiguration < 0 || countConfiguration > buffer.remaining()) {
+        throw new IllegalArgumentException("Invalid configuration count: " + countConfiguration);
+      }
+      var configurations = new ArrayList<SupportConfiguration>(countConfiguration);
+      for (var number = 0; number < countConfiguration; number++) {
+        configurations.add(new SupportConfiguration(
+          quoted(readString(buffer)), quoted(readString(buffer)), quoted(readString(buffer))).intern());
+      }
+
+      var wordsPerRow = buffer.getInt();
+      var guids = readGuids(buffer);
+      if (wordsPerRow < 1 || (long) guids.length / 2 * wordsPerRow * Long.BYTES > buffer.remaining()) {
+        throw new IllegalArgumentException("Invalid row width: " + wordsPerRow);
+      }
+      var variants = new long[guids.length / 2 * wordsPerRow];
+      buffer.asLongBuffer().get(variants);
+      return ConfigurationVariantTable.of(configurations, guids, wordsPerRow, variants);
+    } catch (NoSuchFileException exception) {
+      return null;
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException exception) {
+      LOGGER.debug("Snapshot {} is unreadable", snapshot, exception);
+      return null;
+    }
+  }
+
+  /**
+   * Записывает снимок сводной информации о поддержке. Снимок заменяется атомарно
+   *
+   * @param snapshot  Путь к снимку
+   * @param table     Таблица вариантов
+   * @param sourceKey Состояние исходного файла, из которого прочитана таблица
+   * @throws IOException Ошибка записи
+   */
+  static void write(Path snapshot, VariantTable table, SourceKey sourceKey) throws IOException {
+    var rows = table.index().sortedRows();
+    writeAtomically(snapshot, output -> {
+      writeHeader(output, KIND_SUMMARY, sourceKey);
+      writeGuids(output, table.index(), rows);
+      for (var row : rows) {
+        output.writeByte(table.variant(row).ordinal());
+      }
+    });
+  }
+
+  /**
+   * Записывает снимок полной информации о поддержке. Снимок заменяется атомарно
+   *
+   * @param snapshot  Путь к снимку
+   * @param table     Таблица вариантов
+   * @param sourceKey Состояние исходного файла, из которого прочитана таблица
+   * @throws IOException Ошибка записи
+   */
+  static void write(Path snapshot, ConfigurationVariantTable table, SourceKey sourceKey) throws IOException {
+    var rows = table.index().sortedRows();
+    writeAtomically(snapshot, output -> {
+      writeHeader(output, KIND_FULL, sourceKey);
+      output.writeInt(table.configurations().size());
+      for (var configuration : table.configurations()) {
+        writeString(output, configuration.name());
+        writeString(output, configuration.provider());
+        writeString(output, configuration.version());
+      }
+      output.writeInt(table.wordsPerRow());
+      writeGuids(output, table.index(), rows);
+      for (var row : rows) {
+        for (var word = 0; word < table.wordsPerRow(); word++) {
+          output.writeLong(table.word(row, word));
+        }
+      }
+    });
+  }
+
+  private static boolean readHeader(ByteBuffer buffer, byte kind, Path pathParentConfigurationBin)
+    throws IOException {
+    if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.get() != kind) {
+      return false;
+    }
+    var sourceKey = new SourceKey(buffer.getLong(), buffer.getLong(), buffer.getInt());
+    return sourceKey.matches(pathParentConfigurationBin);
+  }
+
+  private static long[] readGuids(ByteBuffer buffer) {
+    var count = buffer.getInt();
+    if (count < 0 || (long) count * GUID_BYTES > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid object count: " + count);
+    }
+    var guids = new long[count * 2];
+    buffer.asLongBuffer().get(guids);
+    buffer.position(buffer.position() + count * GUID_BYTES);
+    return guids;
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid string length: " + length);
+    }
+    var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Возвращает значение в кавычках, которые снимает конструктор {@link SupportConfiguration}
+   */
+  private static String quoted(String value) {
+    return '"' + value + '"';
+  }
+
+  private static void writeHeader(DataOutputStream output, byte kind, SourceKey sourceKey) throws IOException {
+    output.writeInt(MAGIC);
+    output.writeShort(VERSION);
+    output.writeByte(kind);
+    output.writeLong(sourceKey.size());
+    output.writeLong(sourceKey.lastModified());
+    output.writeInt(sourceKey.checksum());
+  }
+
+  private static void writeGuids(DataOutputStream output, GuidIndex index, int[] rows) throws IOException {
+    output.writeInt(rows.length);
+    for (var row : rows) {
+      output.writeLong(index.mostSigBits(row));
+      output.writeLong(index.leastSigBits(row));
+    }
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static void writeAtomically(Path snapshot, SnapshotWriter writer) throws IOException {
+    var directory = snapshot.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    var temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+    try {
+      try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        writer.write(output);
+      }
+      try {
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  @FunctionalInterface
+  private interface SnapshotWriter {
+    void write(DataOutputStream output) throws IOException;
+  }
+
+  /**
+   * Состояние исходного файла, для которого построен снимок
+   *
+   * @param size         Размер файла
+   * @param lastModified Время модификации в наносекундах
+   * @param checksum     Контрольная сумма CRC32C содержимого
+   */
+  record SourceKey(long size, long lastModified, int checksum) {
+    /**
+     * Вычисляет состояние файла. Должно вызываться до чтения файла, чтобы изменение файла во время чтения
+     * не было скрыто снимком
+     *
+     * @param path Путь к файлу
+     * @return Состояние файла
+     * @throws IOException Ошибка чтения файла
+     */
+    static SourceKey of(Path path) throws IOException {
+      var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return new SourceKey(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+        checksum(path));
+    }
+
+    /**
+     * Проверяет, что файл не изменился. Контрольная сумма вычисляется, только если при прежнем размере
+     * изменилась дата модификации (например, после повторного извлечения файла из системы контроля версий)
+     */
+    private boolean matches(Path path) throws IOException {
+      BasicFileAttributes attributes;
+      try {
+        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      } catch (NoSuchFileException exception) {
+        return false;
+      }
+      if (attributes.size() != size) {
+        return false;
+      }
+      return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) == lastModified || checksum(path) == checksum;
+    }
+
+    private static int checksum(Path path) throws IOException {
+      try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        var crc = new CRC32C();
+        var buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+        while (channel.read(buffer) >= 0) {
+          crc.update(buffer.flip());
+          buffer.clear();
+        }
+        return (int) crc.getValue();
+      }
+    }
+  }
+}
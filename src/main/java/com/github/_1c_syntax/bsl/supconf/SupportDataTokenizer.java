@@ -0,0 +1,99 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Разборщик полей файла ParentConfigurations.bin.
+ * <p>
+ * Поля разделяются запятой (за которой могут следовать переводы строк) или переводом строки.
+ * Значение в кавычках может содержать разделители, кавычки внутри него экранируются удвоением.
+ * Значения в кавычках возвращаются как есть, вместе с обрамляющими и удвоенными кавычками.
+ * Поля читаются по требованию, без построения промежуточного массива строк.
+ */
+interface SupportDataTokenizer extends Closeable {
+
+  /**
+   * Проверяет наличие очередного поля
+   *
+   * @return Истина, если поля еще есть
+   */
+  boolean hasNext();
+
+  /**
+   * Читает очередное поле как текст
+   *
+   * @return Значение поля
+   * @throws IOException При ошибке чтения или отсутствии полей
+   */
+  String next() throws IOException;
+
+  /**
+   * Читает очередное поле, содержащее идентификатор объекта, не создавая строку.
+   * Значение доступно через {@link #guidMostSigBits()} и {@link #guidLeastSigBits()}
+   *
+   * @throws IOException           При ошибке чтения или отсутствии полей
+   * @throws NumberFormatException Если поле не является идентификатором
+   */
+  void nextGuid() throws IOException;
+
+  /**
+   * Возвращает старшие 64 бита последнего прочитанного идентификатора
+   *
+   * @return Старшие биты идентификатора
+   */
+  long guidMostSigBits();
+
+  /**
+   * Возвращает младшие 64 бита последнего прочитанного идентификатора
+   *
+   * @return Младшие биты идентификатора
+   */
+  long guidLeastSigBits();
+
+  /**
+   * Читает очередное поле как целое число, не создавая строку
+   *
+   * @return Значение поля
+   * @throws IOException           При ошибке чтения или отсутствии полей
+   * @throws NumberFormatException Если поле не является целым числом
+   */
+  int nextInt() throws IOException;
+
+  /**
+   * Пропускает указанное количество полей
+   *
+   * @param count Количество полей
+   * @throws IOException При ошибке чтения или отсутствии полей
+   */
+  void skip(int count) throws IOException;
+
+  /**
+   * Возвращает количество байт, полученных разборщиком из источника: для буфера - размер его содержимого,
+   * для потока - количество прочитанных из него байт
+   *
+   * @return Количество байт или {@code -1}, если источник символьный и размер в байтах неизвестен
+   */
+  long byteCount();
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+
+/**
+ * Обработчик записей файла ParentConfigurations.bin, получающий их по мере разбора.
+ * <p>
+ * Передается в {@link SupportDataReader#accept(java.nio.file.Path, ReadMode, SupportDataVisitor)}
+ * и позволяет построить собственные структуры за один проход без промежуточных коллекций.
+ * Каждый обработчик возвращает {@link Result}, которым можно пропустить остаток секции или прекратить чтение.
+ * Идентификаторы объектов передаются парой чисел без создания объектов,
+ * при необходимости {@link java.util.UUID} создается как {@code new UUID(mostSigBits, leastSigBits)}
+ */
+public interface SupportDataVisitor {
+  /**
+   * Вызывается после чтения заголовка файла
+   *
+   * @param configurationCount Количество секций конфигураций поставщика
+   * @return Продолжение чтения ({@link Result#SKIP_SECTION} равносилен {@link Result#CONTINUE})
+   */
+  default Result visitHeader(int configurationCount) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Вызывается в начале секции конфигурации поставщика
+   *
+   * @param configuration         Описание конфигурации поставщика
+   * @param generalSupportVariant Общий вариант поддержки конфигурации
+   * @param objectCount           Количество записей объектов в секции
+   * @return Продолжение чтения, {@link Result#SKIP_SECTION} - пропустить записи объектов секции
+   * без разбора, при этом окончание секции не сообщается
+   */
+  default Result visitConfiguration(SupportConfiguration configuration,
+                                    GeneralSupportVariant generalSupportVariant,
+                                    int objectCount) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Вызывается для каждой записи объекта секции
+   *
+   * @param mostSigBits    Старшие биты идентификатора объекта
+   * @param leastSigBits   Младшие биты идентификатора объекта
+   * @param rawVariant     Код варианта из файла: 0 - не редактируется, 1 - с сохранением поддержки, 2 - снято
+   * @param supportVariant Вариант поддержки с учетом общего варианта конфигурации
+   * @return Продолжение чтения, {@link Result#SKIP_SECTION} - пропустить остальные записи секции
+   */
+  default Result visitObject(long mostSigBits, long leastSigBits, int rawVariant, SupportVariant supportVariant) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Вызывается в конце секции, начало которой не было пропущено
+   *
+   * @param configuration Описание конфигурации поставщика
+   * @return Продолжение чтения ({@link Result#SKIP_SECTION} равносилен {@link Result#CONTINUE})
+   */
+  default Result visitConfigurationEnd(SupportConfiguration configuration) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Продолжение чтения после обработки записи
+   */
+  enum Result {
+    /**
+     * Продолжить чтение
+     */
+    CONTINUE,
+    /**
+     * Пропустить оставшиеся записи объектов текущей секции
+     */
+    SKIP_SECTION,
+    /**
+     * Прекратить чтение
+     */
+    STOP
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Отслеживает изменения файлов ParentConfigurations.bin через {@link WatchService}
+ * и сообщает об изменившихся файлах из фонового потока.
+ * События, пришедшие в течение короткого интервала, объединяются, чтобы запись файла
+ * по частям приводила к однократному перечитыванию
+ */
+@Slf4j
+final class SupportDataWatcher implements Closeable {
+  private static final long DEBOUNCE_MILLIS = 200;
+
+  private final WatchService watchService;
+  private final Consumer<Path> listener;
+  private final Map<Path, WatchKey> keys = new ConcurrentHashMap<>();
+  private final Map<WatchKey, Path> files = new ConcurrentHashMap<>();
+
+  /**
+   * Создает наблюдатель и запускает фоновый поток
+   *
+   * @param listener Получатель нормализованных путей изменившихся файлов
+   * @throws IOException Если служба отслеживания недоступна
+   */
+  SupportDataWatcher(Consumer<Path> listener) throws IOException {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.listener = listener;
+    Thread.ofPlatform()
+      .daemon()
+      .name("supportconf-watcher")
+      .start(this::run);
+  }
+
+  /**
+   * Начинает отслеживать файл
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   */
+  void register(Path pathParentConfigurationBin) {
+    var file = pathParentConfigurationBin.toAbsolutePath().normalize();
+    var directory = file.getParent();
+    if (directory == null || keys.containsKey(file) || file.getFileSystem() != FileSystems.getDefault()) {
+      // файлы других файловых систем (например, архивов) не отслеживаются
+      return;
+    }
+
+    try {
+      var key = directory.register(watchService,
+        StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY,
+        StandardWatchEventKinds.ENTRY_DELETE);
+      keys.put(file, key);
+      files.put(key, file);
+    } catch (IOException | ClosedWatchServiceException exception) {
+      LOGGER.warn("Unable to watch {}", file);
+      LOGGER.debug("TRACE", exception);
+    }
+  }
+
+  /**
+   * Прекращает отслеживать файл
+   *
+   * @param pathParentConfigurationBin Путь к файлу конфигурации поставщика
+   */
+  void unregister(Path pathParentConfigurationBin) {
+    var key = keys.remove(pathParentConfigurationBin.toAbsolutePath().normalize());
+    if (key != null) {
+      files.remove(key);
+      key.cancel();
+    }
+  }
+
+  /**
+   * Прекращает отслеживать все файлы
+   */
+  void unregisterAll() {
+    keys.keySet().forEach(this::unregister);
+  }
+
+  @Override
+  public void close() throws IOException {
+    keys.clear();
+    files.clear();
+    watchService.close();
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        Set<Path> changed = new LinkedHashSet<>();
+        collect(watchService.take(), changed);
+        WatchKey key;
+        while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+          collect(key, changed);
+        }
+        changed.forEach(this::notifyListener);
+      }
+    } catch (ClosedWatchServiceException exception) {
+      LOGGER.debug("Watch service closed");
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void collect(WatchKey key, Set<Path> changed) {
+    var file = files.get(key);
+    for (var event : key.pollEvents()) {
+      if (file != null
+        && (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context()))) {
+        changed.add(file);
+      }
+    }
+    key.reset();
+  }
+
+  private void notifyListener(Path file) {
+    try {
+      listener.accept(file);
+    } catch (RuntimeException exception) {
+      LOGGER.error("Error reloading {}", file);
+      LOGGER.debug("TRACE", exception);
+    }
+  }
+}
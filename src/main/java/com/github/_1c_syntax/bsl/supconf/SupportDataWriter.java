@@ -0,0 +1,171 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Служебный класс для записи файла описания настроек поддержки.
+ * <p>
+ * Записывается структура, которую разбирает {@link SupportDataReader}: заголовок, секции конфигураций поставщика
+ * и записи объектов. Поля, которые не влияют на варианты поддержки, записываются в том виде, в котором
+ * они сохранены в {@link FullSupportDataBuilder} при чтении файла, все поля разделяются одним разделителем
+ */
+@UtilityClass
+class SupportDataWriter {
+  private static final char BOM = '\uFEFF';
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Записывает файл. Файл заменяется атомарно, если это поддерживает файловая система
+   *
+   * @param pathParentConfigurationBin Путь к файлу описания поставки
+   * @param layout                     Служебные поля заголовка и окончания файла
+   * @param sections                   Секции в порядке записи
+   * @throws IOException Ошибка записи
+   */
+  static void write(Path pathParentConfigurationBin, FullSupportDataBuilder.Layout layout,
+                    List<FullSupportDataBuilder.Section> sections) throws IOException {
+    var directory = pathParentConfigurationBin.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    var temporary = Files.createTempFile(directory, pathParentConfigurationBin.getFileName().toString(), ".tmp");
+    try {
+      try (var output = Files.newOutputStream(temporary)) {
+        write(output, layout, sections);
+      }
+      try {
+        Files.move(temporary, pathParentConfigurationBin,
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temporary, pathParentConfigurationBin, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Записывает содержимое файла в поток. Поток не закрывается
+   *
+   * @param output   Поток для записи
+   * @param layout   Служебные поля заголовка и окончания файла
+   * @param sections Секции в порядке записи
+   * @throws IOException Ошибка записи
+   */
+  static void write(OutputStream output, FullSupportDataBuilder.Layout layout,
+                    List<FullSupportDataBuilder.Section> sections) throws IOException {
+    var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+    var separator = layout.separator();
+    writer.write(BOM);
+    writer.write(layout.format());
+    field(writer, separator, layout.flag());
+    field(writer, separator, Integer.toString(sections.size()));
+    for (var section : sections) {
+      writeSection(writer, separator, section);
+    }
+    field(writer, separator, layout.footer());
+    writer.flush();
+  }
+
+  /**
+   * Возвращает код варианта поддержки, который записывается в файл
+   *
+   * @param supportVariant Вариант поддержки
+   * @return Код варианта
+   * @throws IllegalArgumentException Вариант SupportVariant.NONE не записывается
+   */
+  static int code(SupportVariant supportVariant) {
+    return switch (supportVariant) {
+      case NOT_EDITABLE -> 0;
+      case EDITABLE_SUPPORT_ENABLED -> 1;
+      case NOT_SUPPORTED -> 2;
+      default -> throw new IllegalArgumentException("Support variant cannot be written: " + supportVariant);
+    };
+  }
+
+  /**
+   * Заключает значение в кавычки. Описания конфигураций хранят кавычки внутри значения в том виде,
+   * в котором они записаны в файле (удвоенными), поэтому удваивается только непарная кавычка
+   *
+   * @param value Значение поля
+   * @return Поле в том виде, в котором оно записывается в файл
+   */
+  static String quote(String value) {
+    var result = new StringBuilder(value.length() + 2).append('"');
+    var quotes = 0;
+    for (var index = 0; index < value.length(); index++) {
+      var ch = value.charAt(index);
+      if (ch == '"') {
+        quotes++;
+      } else {
+        appendQuotes(result, quotes);
+        quotes = 0;
+        result.append(ch);
+      }
+    }
+    appendQuotes(result, quotes);
+    return result.append('"').toString();
+  }
+
+  private static void writeSection(Writer writer, String separator, FullSupportDataBuilder.Section section)
+    throws IOException {
+    field(writer, separator, section.configurationUid.toString());
+    field(writer, separator, Integer.toString(section.generalSupport));
+    field(writer, separator, section.configurationVersionUid.toString());
+    field(writer, separator, section.version);
+    field(writer, separator, section.provider);
+    field(writer, separator, section.name);
+    field(writer, separator, Integer.toString(section.size));
+    for (var objectRecord : section.records) {
+      if (!objectRecord.removed) {
+        field(writer, separator, Integer.toString(objectRecord.rawVariant));
+        field(writer, separator, Integer.toString(objectRecord.flag));
+        field(writer, separator, objectRecord.uid.toString());
+        field(writer, separator, objectRecord.parentUid.toString());
+      }
+    }
+    field(writer, separator, section.firstEnd);
+    field(writer, separator, section.secondEnd);
+  }
+
+  private static void field(Writer writer, String separator, String value) throws IOException {
+    writer.write(separator);
+    writer.write(value);
+  }
+
+  private static void appendQuotes(StringBuilder result, int quotes) {
+    result.repeat('"', quotes + quotes % 2);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Неизменяемое множество идентификаторов объектов, выбранных из прочитанных данных о поддержке.
+ * Хранит только номера строк таблицы, поэтому не копирует идентификаторы. Размер возвращается
+ * за постоянное время, проверка вхождения выполняется поиском в таблице и двоичным поиском по номерам строк
+ */
+public final class UidSet extends AbstractSet<UUID> {
+  private static final int[] NO_ROWS = new int[0];
+
+  private final GuidIndex index;
+  private final int[] rows;
+
+  /**
+   * @param index Индекс идентификаторов таблицы
+   * @param rows  Номера строк по возрастанию
+   */
+  UidSet(GuidIndex index, int[] rows) {
+    this.index = index;
+    this.rows = rows;
+  }
+
+  static UidSet empty() {
+    return new UidSet(new GuidIndex(), NO_ROWS);
+  }
+
+  @Override
+  public int size() {
+    return rows.length;
+  }
+
+  @Override
+  public boolean contains(Object value) {
+    return value instanceof UUID uid && contains(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+  }
+
+  /**
+   * Проверяет вхождение идентификатора, заданного строкой
+   *
+   * @param uid Идентификатор объекта
+   * @return Истина, если идентификатор входит в множество
+   */
+  public boolean contains(String uid) {
+    return Guids.isGuid(uid) && contains(Guids.mostSigBits(uid), Guids.leastSigBits(uid));
+  }
+
+  /**
+   * Проверяет вхождение идентификатора, заданного парой чисел
+   *
+   * @param mostSigBits  Старшие биты идентификатора объекта
+   * @param leastSigBits Младшие биты идентификатора объекта
+   * @return Истина, если идентификатор входит в множество
+   */
+  public boolean contains(long mostSigBits, long leastSigBits) {
+    var row = index.indexOf(mostSigBits, leastSigBits);
+    return row >= 0 && Arrays.binarySearch(rows, row) >= 0;
+  }
+
+  @Override
+  public Iterator<UUID> iterator() {
+    return new Iterator<>() {
+      private int position;
+
+      @Override
+      public boolean hasNext() {
+        return position < rows.length;
+      }
+
+      @Override
+      public UUID next() {
+        if (position >= rows.length) {
+          throw new NoSuchElementException();
+        }
+        var row = rows[position++];
+        return new UUID(index.mostSigBits(row), index.leastSigBits(row));
+      }
+    };
+  }
+
+  /**
+   * Раскладывает строки таблицы по группам за один проход
+   *
+   * @param index  Индекс идентификаторов таблицы
+   * @param groups Номера групп строк, {@code -1} - строка не входит ни в одну группу
+   * @param count  Количество групп
+   * @return Множества по номерам групп
+   */
+  static UidSet[] group(GuidIndex index, int[] groups, int count) {
+    var sizes = new int[count];
+    for (var group : groups) {
+      if (group >= 0) {
+        sizes[group]++;
+      }
+    }
+
+    var rows = new int[count][];
+    for (var group = 0; group < count; group++) {
+      rows[group] = new int[sizes[group]];
+    }
+    var positions = new int[count];
+    for (var row = 0; row < groups.length; row++) {
+      var group = groups[row];
+      if (group >= 0) {
+        rows[group][positions[group]++] = row;
+      }
+    }
+
+    var result = new UidSet[count];
+    for (var group = 0; group < count; group++) {
+      result[group] = new UidSet(index, rows[group]);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Таблица сводных вариантов поддержки объектов: индекс идентификаторов и колонка вариантов,
+ * где вариант хранится в одном байте на объект
+ */
+final class VariantTable {
+  private static final int MIN_CAPACITY = 16;
+  private static final SupportVariant[] VARIANTS = SupportVariant.values();
+
+  private final GuidIndex index;
+  private byte[] variants;
+
+  /**
+   * Обратный индекс по вариантам поддержки, строится при первом обращении
+   */
+  private volatile UidSet @Nullable [] objectsByVariant;
+
+  VariantTable() {
+    this(0);
+  }
+
+  VariantTable(int expectedSize) {
+    index = new GuidIndex(expectedSize);
+    variants = new byte[Math.max(expectedSize, MIN_CAPACITY)];
+  }
+
+  private VariantTable(GuidIndex index, byte[] variants) {
+    this.index = index;
+    this.variants = variants;
+  }
+
+  /**
+   * Создает таблицу над готовыми колонками без копирования
+   *
+   * @param guids    Пары старших и младших битов уникальных идентификаторов
+   * @param variants Номера вариантов поддержки ({@link SupportVariant#ordinal()}) в порядке идентификаторов
+   * @return Таблица
+   */
+  static VariantTable of(long[] guids, byte[] variants) {
+    if (guids.length != variants.length * 2) {
+      throw new IllegalArgumentException("Columns have different length");
+    }
+    for (var variant : variants) {
+      if (variant < 0 || variant >= VARIANTS.length) {
+        throw new IllegalArgumentException("Unknown support variant: " + variant);
+      }
+    }
+    return new VariantTable(GuidIndex.of(guids), variants);
+  }
+
+  /**
+   * Возвращает количество объектов
+   *
+   * @return Количество объектов
+   */
+  int size() {
+    return index.size();
+  }
+
+  /**
+   * Проверяет отсутствие объектов
+   *
+   * @return Истина, если таблица пуста
+   */
+  boolean isEmpty() {
+    return index.isEmpty();
+  }
+
+  /**
+   * Возвращает вариант поддержки по идентификатору
+   *
+   * @param mostSigBits  Старшие биты идентификатора
+   * @param leastSigBits Младшие биты идентификатора
+   * @return Найденный вариант или {@link SupportVariant#NONE}
+   */
+  SupportVariant get(long mostSigBits, long leastSigBits) {
+    var row = index.indexOf(mostSigBits, leastSigBits);
+    if (row < 0) {
+      return SupportVariant.NONE;
+    }
+    return VARIANTS[variants[row]];
+  }
+
+  /**
+   * Возвращает индекс идентификаторов таблицы
+   *
+   * @return Индекс идентификаторов
+   */
+  GuidIndex index() {
+    return index;
+  }
+
+  /**
+   * Возвращает вариант поддержки строки
+   *
+   * @param row Номер строки
+   * @return Вариант поддержки
+   */
+  SupportVariant variant(int row) {
+    return VARIANTS[variants[row]];
+  }
+
+  /**
+   * Возвращает идентификаторы всех объектов таблицы
+   *
+   * @return Множество идентификаторов
+   */
+  UidSet objects() {
+    return UidSet.group(index, new int[index.size()], 1)[0];
+  }
+
+  /**
+   * Возвращает идентификаторы объектов с указанным вариантом поддержки. При первом обращении
+   * строится обратный индекс по всем вариантам за один проход по таблице.
+   * Вызывается только для заполненной таблицы
+   *
+   * @param supportVariant Вариант поддержки
+   * @return Множество идентификаторов
+   */
+  UidSet objects(SupportVariant supportVariant) {
+    var result = objectsByVariant;
+    if (result == null) {
+      var groups = new int[index.size()];
+      for (var row = 0; row < groups.length; row++) {
+        groups[row] = variants[row];
+      }
+      result = UidSet.group(index, groups, VARIANTS.length);
+      objectsByVariant = result;
+    }
+    return result[supportVariant.ordinal()];
+  }
+
+  /**
+   * Добавляет вариант поддержки для идентификатора.
+   * Если идентификатор уже есть, сохраняется максимальный из вариантов
+   *
+   * @param mostSigBits    Старшие биты идентификатора
+   * @param leastSigBits   Младшие биты идентификатора
+   * @param supportVariant Вариант поддержки
+   */
+  void merge(long mostSigBits, long leastSigBits, SupportVariant supportVariant) {
+    var countBefore = index.size();
+    var row = index.add(mostSigBits, leastSigBits);
+    if (row == countBefore) {
+      if (row == variants.length) {
+        variants = Arrays.copyOf(variants, Math.max(variants.length * 2, MIN_CAPACITY));
+      }
+      variants[row] = (byte) supportVariant.ordinal();
+    } else {
+      variants[row] = (byte) SupportVariant.max(VARIANTS[variants[row]], supportVariant).ordinal();
+    }
+  }
+
+  /**
+   * Добавляет вариант поддержки для идентификатора, если идентификатора еще нет
+   *
+   * @param mostSigBits    Старшие биты идентификатора
+   * @param leastSigBits   Младшие биты идентификатора
+   * @param supportVariant Вариант поддержки
+   */
+  void putIfAbsent(long mostSigBits, long leastSigBits, SupportVariant supportVariant) {
+    var countBefore = index.size();
+    var row = index.add(mostSigBits, leastSigBits);
+    if (row == countBefore) {
+      if (row == variants.length) {
+        variants = Arrays.copyOf(variants, Math.max(variants.length * 2, MIN_CAPACITY));
+      }
+      variants[row] = (byte) supportVariant.ordinal();
+    }
+  }
+
+  /**
+   * Освобождает неиспользуемую емкость после окончания наполнения
+   */
+  void trim() {
+    index.trim();
+    variants = Arrays.copyOf(variants, index.size());
+  }
+
+  /**
+   * Возвращает объем памяти, занимаемой массивами таблицы и ее индекса, без заголовков объектов
+   * и обратных индексов
+   *
+   * @return Объем в байтах
+   */
+  long retainedBytes() {
+    return index.retainedBytes() + variants.length;
+  }
+
+  /**
+   * Возвращает представление таблицы в виде неизменяемой коллекции.
+   * Строковые ключи создаются только при обходе
+   *
+   * @return Представление таблицы
+   */
+  Map<String, SupportVariant> asMap() {
+    return new MapView();
+  }
+
+  private final class MapView extends AbstractMap<String, SupportVariant> {
+    @Override
+    public int size() {
+      return index.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public SupportVariant get(Object key) {
+      if (key instanceof String uid) {
+        var row = index.indexOf(uid);
+        if (row >= 0) {
+          return VARIANTS[variants[row]];
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Set<Entry<String, SupportVariant>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public int size() {
+          return index.size();
+        }
+
+        @Override
+        public Iterator<Entry<String, SupportVariant>> iterator() {
+          return new Iterator<>() {
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+              return row < index.size();
+            }
+
+            @Override
+            public Entry<String, SupportVariant> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              var entry = Map.entry(index.uid(row), VARIANTS[variants[row]]);
+              row++;
+              return entry;
+            }
+          };
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Поведение поиска варианта поддержки, если данные о поддержке конфигурации еще читаются
+ *
+ * @param mode    Режим ожидания
+ * @param timeout Наибольшее время ожидания для режима {@link Mode#TIMEOUT}
+ */
+public record WaitPolicy(Mode mode, Duration timeout) {
+
+  /**
+   * Режим ожидания незавершенного чтения
+   */
+  public enum Mode {
+    /**
+     * Ожидать окончания чтения
+     */
+    BLOCK,
+    /**
+     * Не ожидать и возвращать SupportVariant.NONE, пока чтение не завершено
+     */
+    NONE_UNTIL_READY,
+    /**
+     * Ожидать не дольше указанного времени, по его истечении завершаться с ошибкой
+     */
+    TIMEOUT
+  }
+
+  public WaitPolicy {
+    Objects.requireNonNull(mode);
+    Objects.requireNonNull(timeout);
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+    }
+  }
+
+  /**
+   * Ожидать окончания чтения
+   *
+   * @return Поведение поиска
+   */
+  public static WaitPolicy block() {
+    return new WaitPolicy(Mode.BLOCK, Duration.ZERO);
+  }
+
+  /**
+   * Возвращать SupportVariant.NONE, пока чтение не завершено
+   *
+   * @return Поведение поиска
+   */
+  public static WaitPolicy noneUntilReady() {
+    return new WaitPolicy(Mode.NONE_UNTIL_READY, Duration.ZERO);
+  }
+
+  /**
+   * Ожидать окончания чтения не дольше указанного времени
+   *
+   * @param timeout Наибольшее время ожидания
+   * @return Поведение поиска
+   */
+  public static WaitPolicy timeout(Duration timeout) {
+    return new WaitPolicy(Mode.TIMEOUT, timeout);
+  }
+}
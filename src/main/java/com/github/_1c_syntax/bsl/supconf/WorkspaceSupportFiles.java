@@ -0,0 +1,154 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Поиск файлов описания поставки в каталоге рабочей области и их параллельное чтение.
+ * Поддерживаются выгрузки конфигуратора ({@code <корень>/Ext/ParentConfigurations.bin})
+ * и проекты EDT ({@code <проект>/src/Configuration/ParentConfigurations.bin})
+ */
+@Slf4j
+@UtilityClass
+class WorkspaceSupportFiles {
+  private static final String FILE_NAME = "ParentConfigurations.bin";
+  private static final String DESIGNER_DIRECTORY = "Ext";
+  private static final String EDT_DIRECTORY = "Configuration";
+  private static final String EDT_SOURCES_DIRECTORY = "src";
+
+  /**
+   * Находит файлы описания поставки. Скрытые каталоги (например, {@code .git}) не просматриваются,
+   * недоступные каталоги пропускаются
+   *
+   * @param workspace Каталог рабочей области
+   * @return Пути к файлам в порядке сортировки
+   * @throws IOException Ошибка обхода каталога рабочей области
+   */
+  static List<Path> find(Path workspace) throws IOException {
+    var result = new ArrayList<Path>();
+    Files.walkFileTree(workspace, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+        var name = dir.getFileName();
+        if (!dir.equals(workspace) && name != null && name.toString().startsWith(".")) {
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (attrs.isRegularFile() && isSupportFile(file)) {
+          result.add(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException exception) {
+        LOGGER.debug("Skipped {}", file, exception);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    result.sort(null);
+    return result;
+  }
+
+  /**
+   * Проверяет, что путь указывает на файл описания поставки в одной из поддерживаемых структур каталогов.
+   * Имена файла и каталогов сравниваются без учета регистра, как на нечувствительных к регистру файловых системах
+   *
+   * @param path Путь к файлу
+   * @return Истина, если файл является файлом описания поставки
+   */
+  static boolean isSupportFile(Path path) {
+    var name = path.getFileName();
+    var parent = path.getParent();
+    if (name == null || parent == null || parent.getFileName() == null
+      || !FILE_NAME.equalsIgnoreCase(name.toString())) {
+      return false;
+    }
+
+    var parentName = parent.getFileName().toString();
+    if (DESIGNER_DIRECTORY.equalsIgnoreCase(parentName)) {
+      return true;
+    }
+    var sources = parent.getParent();
+    return EDT_DIRECTORY.equalsIgnoreCase(parentName)
+      && sources != null
+      && sources.getFileName() != null
+      && EDT_SOURCES_DIRECTORY.equalsIgnoreCase(sources.getFileName().toString());
+  }
+
+  /**
+   * Читает файлы на виртуальных потоках, одновременно выполняется не более указанного количества чтений.
+   * Метод возвращает управление после завершения всех чтений
+   *
+   * @param files       Пути к файлам
+   * @param parallelism Наибольшее количество одновременных чтений
+   * @param reader      Функция чтения файла
+   */
+  static void readAll(List<Path> files, int parallelism, Consumer<Path> reader) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+    }
+
+    var permits = new Semaphore(parallelism);
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var file : files) {
+        executor.execute(() -> read(file, permits, reader));
+      }
+    }
+  }
+
+  private static void read(Path file, Semaphore permits, Consumer<Path> reader) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    try {
+      reader.accept(file);
+    } catch (RuntimeException exception) {
+      LOGGER.error("Ошибка чтения файла {}", file);
+      LOGGER.debug("TRACE", exception);
+    } finally {
+      permits.release();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FullSupportDataBuilderTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void roundTrip() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(3)
+      .objects(6_000)
+      .sharedPercent(50)
+      .lockedEvery(2)
+      .lineBreaks(true)
+      .quotingEdgeCases(true);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var builder = FullSupportDataBuilder.read(path);
+    assertThat(builder.getGeneralSupportVariant(generator.supportConfiguration(1)))
+      .isEqualTo(GeneralSupportVariant.LOCKED);
+
+    var copy = tempDir.resolve("copy").resolve("ParentConfigurations.bin");
+    builder.write(copy);
+    assertThat(Files.mismatch(path, copy)).isEqualTo(-1L);
+    assertThat(ParseSupportData.readFull(copy).getSupportVariants())
+      .isEqualTo(generator.expectedFullSupportVariants());
+    assertThat(new HashMap<>(ParseSupportData.readNoCache(copy).getSupportVariants()))
+      .isEqualTo(generator.expectedSupportVariants());
+    assertThat(ParseSupportData.probe(copy)).isEqualTo(ParseSupportData.probe(path));
+  }
+
+  @Test
+  void writeFixturesByteForByte() throws IOException {
+    var fixtures = List.of(
+      Path.of("src/test/resources/correct/Ext/ParentConfigurations.bin"),
+      Path.of("src/test/resources/correct_crlf/Ext/ParentConfigurations.bin"),
+      Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin"),
+      Path.of("src/test/resources/edt/src/Configuration/ParentConfigurations.bin"));
+    var copy = tempDir.resolve("ParentConfigurations.bin");
+    for (var fixture : fixtures) {
+      FullSupportDataBuilder.read(fixture).write(copy);
+      assertThat(Files.mismatch(fixture, copy)).isEqualTo(-1L);
+    }
+  }
+
+  @Test
+  void keepRepeatedSections() throws IOException {
+    var section = "%s,0,%s,\"1.0\",\"Поставщик\",\"Конфигурация\",2,1,0,%s,%s,2,0,%s,%s,0,0";
+    var shared = "1aa0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f1";
+    var first = "2bb0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f2";
+    var second = "3cc0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f3";
+    var content = "\uFEFF{6,1,2,"
+      + section.formatted(first, first, shared, shared, first, second) + ","
+      + section.formatted(second, second, shared, shared, second, first) + ",0,1}";
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    Files.writeString(path, content);
+
+    var builder = FullSupportDataBuilder.read(path);
+    assertThat(builder.getSectionCount()).isEqualTo(2);
+    assertThat(builder.getConfigurations()).hasSize(1);
+    var output = new ByteArrayOutputStream();
+    builder.write(output);
+    assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(content);
+
+    var configuration = builder.getConfigurations().get(0);
+    builder.put(UUID.fromString(shared), configuration, SupportVariant.NOT_SUPPORTED);
+    output.reset();
+    builder.write(output);
+    var written = FullSupportData.create(new ByteArrayInputStream(output.toByteArray()), path);
+    assertThat(written.getSupportVariants()).isEqualTo(builder.buildFull().getSupportVariants());
+    assertThat(written.get(shared, configuration)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(content.replace("2,1,0,", "2,2,0,"));
+  }
+
+  @Test
+  void readInvalidFile() {
+    assertThatThrownBy(() -> FullSupportDataBuilder.read(tempDir.resolve("missing.bin")))
+      .isInstanceOf(IOException.class);
+    assertThatThrownBy(() -> FullSupportDataBuilder.read(
+      Path.of("src/test/resources/incorrect/Ext/ParentConfigurations.bin")))
+      .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void changesKeepAggregate() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(3)
+      .objects(3_000)
+      .sharedPercent(100)
+      .lockedEvery(2);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var full = ParseSupportData.readFull(path);
+    var builder = full.toBuilder();
+    var first = generator.supportConfiguration(0);
+    var locked = generator.supportConfiguration(1);
+    var uids = full.getSupportVariants().keySet().stream().limit(3).map(UUID::fromString).toList();
+
+    builder.remove(uids.get(0));
+    builder.put(uids.get(1), first, SupportVariant.NOT_SUPPORTED)
+      .put(uids.get(1), locked, SupportVariant.NONE);
+    builder.put(uids.get(2), locked, SupportVariant.EDITABLE_SUPPORT_ENABLED);
+    var added = UUID.randomUUID();
+    var other = new SupportConfiguration("Другая", "Разработчик \"\"Тест\"\", отдел", "2.0");
+    builder.put(added, other, SupportVariant.EDITABLE_SUPPORT_ENABLED);
+
+    assertThat(builder.get(uids.get(0))).isEqualTo(SupportVariant.NONE);
+    assertThat(builder.get(uids.get(2), locked)).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+    assertThat(builder.get(added)).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+    assertThat(builder.getConfigurations()).hasSize(4);
+
+    var output = new ByteArrayOutputStream();
+    builder.write(output);
+    var written = FullSupportData.create(new ByteArrayInputStream(output.toByteArray()), path);
+    var writtenSummary = SupportData.create(new ByteArrayInputStream(output.toByteArray()), path);
+    var builtFull = builder.buildFull();
+    var built = builder.build();
+
+    assertThat(written.getSupportVariants()).isEqualTo(builtFull.getSupportVariants());
+    assertThat(writtenSummary.getSupportVariants()).isEqualTo(built.getSupportVariants());
+    assertThat(built.getSupportVariants()).hasSize(builder.size());
+    for (var uid : written.getSupportVariants().keySet()) {
+      assertThat(built.get(uid)).isEqualTo(builder.get(UUID.fromString(uid)));
+    }
+    assertThat(written.get(uids.get(0))).isEmpty();
+    assertThat(written.get(uids.get(2).toString(), locked)).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+    assertThat(builder.getGeneralSupportVariant(locked)).isEqualTo(GeneralSupportVariant.UNLOCKED);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyFullSupportDataTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void decodeOnFirstAccess() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(4)
+      .objects(20_000)
+      .sharedPercent(40)
+      .lockedEvery(2);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var full = ParseSupportData.readFull(path);
+    var lazy = ParseSupportData.readFullLazy(path);
+    assertThat(lazy.getPathParentConfigurationBin()).isEqualTo(path);
+    assertThat(lazy.getConfigurations()).isEqualTo(full.getConfigurations());
+    assertThat(lazy.getObjectCount(generator.supportConfiguration(0))).isEqualTo(5_000);
+    lazy.getConfigurations().forEach(configuration -> assertThat(lazy.isDecoded(configuration)).isFalse());
+
+    var first = generator.supportConfiguration(1);
+    var uids = full.getSupportVariants().keySet();
+    var firstUid = uids.iterator().next();
+    // запросы по всем конфигурациям сначала выполняются без разбора секций
+    assertThat(lazy.get(firstUid)).isEqualTo(full.get(firstUid));
+    assertThat(lazy.contains(UUID.fromString(firstUid))).isTrue();
+    assertThat(lazy.contains(UUID.randomUUID())).isFalse();
+    lazy.getConfigurations().forEach(configuration -> assertThat(lazy.isDecoded(configuration)).isFalse());
+
+    for (var uid : uids) {
+      assertThat(lazy.get(uid, first)).isEqualTo(full.get(uid, first));
+    }
+    assertThat(lazy.isDecoded(first)).isTrue();
+    assertThat(lazy.isDecoded(generator.supportConfiguration(0))).isFalse();
+
+    for (var uid : uids) {
+      assertThat(lazy.get(uid)).isEqualTo(full.get(uid));
+      var guid = UUID.fromString(uid);
+      assertThat(lazy.get(guid, generator.supportConfiguration(3)))
+        .isEqualTo(full.get(guid, generator.supportConfiguration(3)));
+    }
+    lazy.getConfigurations().forEach(configuration -> assertThat(lazy.isDecoded(configuration)).isTrue());
+  }
+
+  @Test
+  void sameQueriesAsFull() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(3)
+      .objects(3_000)
+      .sharedPercent(50)
+      .lockedEvery(2);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var full = ParseSupportData.readFull(path);
+    var lazy = ParseSupportData.readFullLazy(path);
+    var configuration = generator.supportConfiguration(2);
+    var uids = List.copyOf(full.getSupportVariants().keySet());
+    assertThat(lazy.getAll(uids, configuration, new SupportVariant[uids.size()]))
+      .containsExactly(full.getAll(uids, configuration, new SupportVariant[uids.size()]));
+    var guids = uids.stream().map(UUID::fromString).toArray(UUID[]::new);
+    assertThat(lazy.getAll(guids, configuration, new SupportVariant[guids.length]))
+      .containsExactly(full.getAll(guids, configuration, new SupportVariant[guids.length]));
+    assertThat(lazy.getObjects(configuration)).isEqualTo(full.getObjects(configuration));
+    assertThat(lazy.count(configuration)).isEqualTo(full.count(configuration));
+    for (var supportVariant : SupportVariant.values()) {
+      assertThat(lazy.getObjects(configuration, supportVariant)).isEqualTo(full.getObjects(configuration, supportVariant));
+      assertThat(lazy.count(configuration, supportVariant)).isEqualTo(full.count(configuration, supportVariant));
+    }
+    assertThat(lazy.isDecoded(generator.supportConfiguration(0))).isFalse();
+
+    assertThat(lazy.getSupportVariants()).isEqualTo(full.getSupportVariants());
+    lazy.getConfigurations().forEach(decoded -> assertThat(lazy.isDecoded(decoded)).isTrue());
+  }
+
+  @Test
+  void interchangeableWithFull() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(2)
+      .objects(2_000)
+      .sharedPercent(30);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var full = ParseSupportData.readFull(path);
+    var uids = List.copyOf(full.getSupportVariants().keySet());
+    var configuration = generator.supportConfiguration(1);
+    List<FullSupportView> views = List.of(full, ParseSupportData.readFullLazy(path));
+    for (var view : views) {
+      assertThat(view.getPathParentConfigurationBin()).isEqualTo(path);
+      assertThat(view.getConfigurations()).isEqualTo(full.getConfigurations());
+      assertThat(view.count(configuration)).isEqualTo(full.getObjects(configuration).size());
+      // больше запросов, чем просмотров до разбора, чтобы проверить оба способа поиска
+      for (var uid : uids.subList(0, 10)) {
+        var guid = UUID.fromString(uid);
+        assertThat(view.get(guid)).isEqualTo(full.get(uid));
+        assertThat(view.contains(guid)).isTrue();
+        assertThat(view.contains(uid.toUpperCase(Locale.ROOT))).isTrue();
+        assertThat(view.get(uid, configuration)).isEqualTo(full.get(guid, configuration));
+      }
+      assertThat(view.contains(UUID.randomUUID())).isFalse();
+      assertThat(view.getSupportVariants()).isEqualTo(full.getSupportVariants());
+    }
+  }
+
+  @Test
+  void decodeFailureIsNotCached() throws IOException {
+    var uid = "1aa0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f1";
+    var section = "%s,0,%s,\"1.0\",\"Поставщик\",\"%s\",1,%s,0,%s,%s,0,0";
+    var broken = "2bb0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f2";
+    var correct = "3cc0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f3";
+    var path = Files.writeString(tempDir.resolve("ParentConfigurations.bin"), "\uFEFF{6,1,2,"
+      + section.formatted(broken, broken, "Первая", "x", uid, uid) + ","
+      + section.formatted(correct, correct, "Вторая", "2", uid, uid) + ",0,1}");
+
+    var lazy = ParseSupportData.readFullLazy(path);
+    var first = lazy.getConfigurations().get(0);
+    var second = lazy.getConfigurations().get(1);
+    assertThat(lazy.get(uid, first)).isEqualTo(SupportVariant.NONE);
+    assertThat(lazy.isDecoded(first)).isFalse();
+    assertThat(lazy.get(uid, second)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(lazy.isDecoded(second)).isTrue();
+    assertThat(lazy.getSupportVariants().get(uid)).containsOnlyKeys(second);
+  }
+
+  @Test
+  void missingFile() {
+    var lazy = ParseSupportData.readFullLazy(tempDir.resolve("missing.bin"));
+    var configuration = new SupportConfiguration("Конфигурация", "Разработчик", "1.0");
+
+    assertThat(lazy.getConfigurations()).isEmpty();
+    assertThat(lazy.getObjectCount(configuration)).isZero();
+    assertThat(lazy.get(UUID.randomUUID().toString(), configuration)).isEqualTo(SupportVariant.NONE);
+    assertThat(lazy.get(UUID.randomUUID().toString())).isEmpty();
+  }
+}
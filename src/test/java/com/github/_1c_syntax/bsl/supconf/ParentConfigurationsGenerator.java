@@ -0,0 +1,270 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Генератор синтетических файлов ParentConfigurations.bin.
+ * <p>
+ * Содержимое полностью определяется настройками и начальным значением: идентификаторы и варианты объектов
+ * вычисляются из номера конфигурации и номера объекта, поэтому ожидаемый результат разбора можно получить
+ * без хранения записанного файла
+ */
+final class ParentConfigurationsGenerator {
+  private static final char BOM = '\uFEFF';
+
+  private int configurations = 1;
+  private int objects = 10_000;
+  private int sharedPercent;
+  private int lockedEvery;
+  private int[] variantWeights = {1, 1, 1};
+  private String fieldSeparator = ",";
+  private boolean quotingEdgeCases;
+  private long seed = 1;
+
+  /**
+   * Количество секций конфигураций поставщика
+   */
+  ParentConfigurationsGenerator configurations(int configurations) {
+    this.configurations = configurations;
+    return this;
+  }
+
+  /**
+   * Общее количество записей объектов, распределяемое между секциями поровну
+   */
+  ParentConfigurationsGenerator objects(int objects) {
+    this.objects = objects;
+    return this;
+  }
+
+  /**
+   * Процент объектов секций, начиная со второй, идентификаторы которых повторяют объекты первой секции
+   */
+  ParentConfigurationsGenerator sharedPercent(int sharedPercent) {
+    this.sharedPercent = sharedPercent;
+    return this;
+  }
+
+  /**
+   * Каждая секция с номером, кратным значению (считая с единицы), получает общий вариант "не редактируется",
+   * {@code 0} - все секции доступны для изменения
+   */
+  ParentConfigurationsGenerator lockedEvery(int lockedEvery) {
+    this.lockedEvery = lockedEvery;
+    return this;
+  }
+
+  /**
+   * Веса кодов вариантов объектов: 0 - не редактируется, 1 - с сохранением поддержки, 2 - снято
+   */
+  ParentConfigurationsGenerator variantWeights(int notEditable, int editable, int notSupported) {
+    this.variantWeights = new int[]{notEditable, editable, notSupported};
+    return this;
+  }
+
+  /**
+   * Переводы строк после каждого поля в стиле Windows ({@code true}) или Unix ({@code false})
+   */
+  ParentConfigurationsGenerator lineBreaks(boolean crlf) {
+    this.fieldSeparator = crlf ? ",\r\n" : ",\n";
+    return this;
+  }
+
+  /**
+   * Добавлять в названия конфигураций экранированные кавычки, запятые и переводы строк
+   */
+  ParentConfigurationsGenerator quotingEdgeCases(boolean quotingEdgeCases) {
+    this.quotingEdgeCases = quotingEdgeCases;
+    return this;
+  }
+
+  ParentConfigurationsGenerator seed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Записывает файл
+   *
+   * @param path Путь к файлу
+   * @throws IOException Ошибка записи
+   */
+  void write(Path path) throws IOException {
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    try (var writer = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+      writer.write(BOM);
+      writer.write("{6");
+      field(writer, "1");
+      field(writer, Integer.toString(configurations));
+      for (var configuration = 0; configuration < configurations; configuration++) {
+        field(writer, guid(configuration, -1).toString());
+        field(writer, isLocked(configuration) ? "1" : "0");
+        field(writer, guid(configuration, -2).toString());
+        field(writer, version(configuration));
+        field(writer, provider(configuration));
+        field(writer, name(configuration));
+        field(writer, Integer.toString(countObjects(configuration)));
+        for (var object = 0; object < countObjects(configuration); object++) {
+          var uid = objectGuid(configuration, object).toString();
+          field(writer, Integer.toString(variantCode(configuration, object)));
+          field(writer, "0");
+          field(writer, uid);
+          field(writer, uid);
+        }
+        field(writer, "0");
+        field(writer, "0");
+      }
+      field(writer, "0");
+      writer.write(",1}");
+    }
+  }
+
+  /**
+   * Вычисляет ожидаемую сводную информацию о поддержке
+   *
+   * @return Варианты поддержки объектов
+   */
+  Map<String, SupportVariant> expectedSupportVariants() {
+    var result = new HashMap<String, SupportVariant>();
+    for (var configuration = 0; configuration < configurations; configuration++) {
+      for (var object = 0; object < countObjects(configuration); object++) {
+        result.merge(objectGuid(configuration, object).toString(), variant(configuration, object), SupportVariant::max);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Вычисляет ожидаемую полную информацию о поддержке
+   *
+   * @return Варианты поддержки объектов в разрезе конфигураций поставщика
+   */
+  Map<String, Map<SupportConfiguration, SupportVariant>> expectedFullSupportVariants() {
+    var result = new HashMap<String, Map<SupportConfiguration, SupportVariant>>();
+    for (var configuration = 0; configuration < configurations; configuration++) {
+      var supportConfiguration = supportConfiguration(configuration);
+      for (var object = 0; object < countObjects(configuration); object++) {
+        result.computeIfAbsent(objectGuid(configuration, object).toString(), uid -> new LinkedHashMap<>())
+          .putIfAbsent(supportConfiguration, variant(configuration, object));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Возвращает описание конфигурации поставщика секции так, как его формирует разбор файла
+   *
+   * @param configuration Номер секции, начиная с нуля
+   * @return Описание конфигурации поставщика
+   */
+  SupportConfiguration supportConfiguration(int configuration) {
+    return new SupportConfiguration(name(configuration), provider(configuration), version(configuration));
+  }
+
+  private int countObjects(int configuration) {
+    var count = objects / configurations;
+    return configuration < objects % configurations ? count + 1 : count;
+  }
+
+  private boolean isLocked(int configuration) {
+    return lockedEvery > 0 && (configuration + 1) % lockedEvery == 0;
+  }
+
+  private SupportVariant variant(int configuration, int object) {
+    if (isLocked(configuration)) {
+      return SupportVariant.NOT_EDITABLE;
+    }
+    return SupportVariant.valueOf(variantCode(configuration, object));
+  }
+
+  private int variantCode(int configuration, int object) {
+    var total = variantWeights[0] + variantWeights[1] + variantWeights[2];
+    var value = (int) Long.remainderUnsigned(mix(seed ^ 0x5DEECE66DL, configuration, object), total);
+    if (value < variantWeights[0]) {
+      return 0;
+    }
+    return value < variantWeights[0] + variantWeights[1] ? 1 : 2;
+  }
+
+  private UUID objectGuid(int configuration, int object) {
+    if (configuration > 0
+      && object < countObjects(0)
+      && Long.remainderUnsigned(mix(seed ^ 0x2545F4914F6CDD1DL, configuration, object), 100) < sharedPercent) {
+      return guid(0, object);
+    }
+    return guid(configuration, object);
+  }
+
+  private UUID guid(int configuration, int object) {
+    var mostSigBits = mix(seed, configuration, object);
+    var leastSigBits = mix(mostSigBits, configuration, object);
+    // версия 4 и вариант IETF, как у идентификаторов, создаваемых платформой
+    return new UUID((mostSigBits & ~0xF000L) | 0x4000L, (leastSigBits & 0x3FFFFFFFFFFFFFFFL) | Long.MIN_VALUE);
+  }
+
+  private String version(int configuration) {
+    return quote("1." + configuration + ".0.1");
+  }
+
+  private String provider(int configuration) {
+    if (quotingEdgeCases && configuration % 2 == 1) {
+      return quote("Фирма \"\"Поставщик " + configuration + "\"\", отдел, 1");
+    }
+    return quote("Поставщик " + configuration);
+  }
+
+  private String name(int configuration) {
+    if (quotingEdgeCases) {
+      return quote("Конфигурация \"\"" + configuration + "\"\",\r\nредакция {3}, \"\"\"\"");
+    }
+    return quote("Конфигурация " + configuration);
+  }
+
+  private void field(Writer writer, String value) throws IOException {
+    writer.write(fieldSeparator);
+    writer.write(value);
+  }
+
+  private static String quote(String value) {
+    return '"' + value + '"';
+  }
+
+  private static long mix(long seed, int configuration, int object) {
+    var value = seed + 0x9E3779B97F4A7C15L * (((long) configuration << 32) ^ (object & 0xFFFFFFFFL));
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
@@ -23,13 +23,24 @@ package com.github._1c_syntax.bsl.supconf;
 
 import com.github._1c_syntax.bsl.support.SupportVariant;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ParseSupportDataTest {
 
@@ -102,6 +113,208 @@ class ParseSupportDataTest {
     assertThat(result.get("00009f6c-9712-4a66-a48a-50b59fc617b6")).isEqualTo(SupportVariant.NOT_EDITABLE);
   }
 
+  @Test
+  void getByUuid() {
+    var path = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+    var result = ParseSupportData.readNoCache(path);
+    var uid = UUID.fromString("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb");
+
+    assertThat(result.get(uid)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(result.get(uid.getMostSignificantBits(), uid.getLeastSignificantBits()))
+      .isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(result.get("2B5D5D5D-3FA5-4448-A8E3-13011EB483CB")).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(result.get(UUID.randomUUID())).isEqualTo(SupportVariant.NONE);
+    assertThat(result.get("not-a-guid")).isEqualTo(SupportVariant.NONE);
+    assertThat(result.contains(uid)).isTrue();
+    assertThat(result.contains("2B5D5D5D-3FA5-4448-A8E3-13011EB483CB")).isTrue();
+    assertThat(result.contains(UUID.randomUUID())).isFalse();
+    assertThat(result.contains("not-a-guid")).isFalse();
+    assertThat(result.getSupportVariants())
+      .containsEntry("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb", SupportVariant.NOT_SUPPORTED)
+      .doesNotContainKey("not-a-guid");
+  }
+
+  @Test
+  void readMapped() {
+    var path = Path.of("src/test/resources/correct_crlf/Ext/ParentConfigurations.bin");
+    var result = ParseSupportData.readNoCache(path, ReadMode.MAPPED);
+
+    assertThat(result.getSupportVariants())
+      .hasSize(39784)
+      .isEqualTo(ParseSupportData.readNoCache(path).getSupportVariants());
+
+    path = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+    var resultFull = ParseSupportData.readFull(path, ReadMode.MAPPED);
+    assertThat(resultFull.getSupportVariants()).isEqualTo(ParseSupportData.readFull(path).getSupportVariants());
+
+    path = Path.of("src/test/resources/incorrect/Ext/ParentConfigurations.bin");
+    assertThat(ParseSupportData.readNoCache(path, ReadMode.MAPPED).getSupportVariants()).isEmpty();
+  }
+
+  @Test
+  void readParallel(@TempDir Path tempDir) throws IOException {
+    var path = Path.of("src/test/resources/correct/Ext/ParentConfigurations.bin");
+    assertThat(ParseSupportData.readNoCache(path, ReadMode.PARALLEL).getSupportVariants())
+      .hasSize(39784)
+      .isEqualTo(ParseSupportData.readNoCache(path).getSupportVariants());
+    assertThat(ParseSupportData.readFull(path, ReadMode.PARALLEL).getSupportVariants())
+      .isEqualTo(ParseSupportData.readFull(path).getSupportVariants());
+
+    var first = "2b5d5d5d-3fa5-4448-a8e3-13011eb483cb";
+    var second = "28777e74-89cf-4993-8a0a-a5d2b9a758b9";
+    path = tempDir.resolve("ParentConfigurations.bin");
+    Files.writeString(path, "\uFEFF{6,1,2,"
+      + "795e520e-8d45-480b-b182-ed2e56b5f8c3,0,edaf4d3c-90e9-48a0-845e-b761181cbfa1,\"1.0\",\"V1\",\"C1\",2,\n"
+      + "0,0," + first + "," + first + ",\n"
+      + "2,0," + second + "," + second + ",\n"
+      + "0,0,\n"
+      + "50791551-3395-4b3f-94e4-c4dac0be017f,1,f8329cee-9d65-483d-b30f-f14618ca8e9c,\"2.0\",\"V2\",\"C2\",1,\n"
+      + "2,0," + second + "," + second + ",\n"
+      + "0,0}", StandardCharsets.UTF_8);
+
+    var result = ParseSupportData.readNoCache(path, ReadMode.PARALLEL);
+    assertThat(result.getSupportVariants())
+      .hasSize(2)
+      .isEqualTo(ParseSupportData.readNoCache(path).getSupportVariants());
+    assertThat(result.get(second)).isEqualTo(SupportVariant.max(SupportVariant.NOT_SUPPORTED, SupportVariant.NOT_EDITABLE));
+
+    var resultFull = ParseSupportData.readFull(path, ReadMode.PARALLEL);
+    assertThat(resultFull.getConfigurations()).hasSize(2);
+    assertThat(resultFull.getSupportVariants()).isEqualTo(ParseSupportData.readFull(path).getSupportVariants());
+
+    path = Path.of("src/test/resources/incorrect/Ext/ParentConfigurations.bin");
+    assertThat(ParseSupportData.readNoCache(path, ReadMode.PARALLEL).getSupportVariants()).isEmpty();
+  }
+
+  @Test
+  void findSupportFilesIgnoresCase(@TempDir Path tempDir) throws IOException {
+    var designer = tempDir.resolve("designer").resolve("EXT").resolve("parentconfigurations.bin");
+    var edt = tempDir.resolve("edt").resolve("Src").resolve("configuration").resolve("ParentConfigurations.BIN");
+    for (var file : List.of(designer, edt)) {
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, "");
+    }
+
+    assertThat(ParseSupportData.findSupportFiles(tempDir)).containsExactly(designer, edt);
+  }
+
+  @Test
+  void readWorkspace(@TempDir Path tempDir) throws IOException {
+    var designer = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+    var edt = Path.of("src/test/resources/edt/src/Configuration/ParentConfigurations.bin");
+    var designerCopy = tempDir.resolve("designer").resolve("Ext").resolve("ParentConfigurations.bin");
+    var edtCopy = tempDir.resolve("projects").resolve("edt").resolve("src").resolve("Configuration")
+      .resolve("ParentConfigurations.bin");
+    var hidden = tempDir.resolve(".git").resolve("Ext").resolve("ParentConfigurations.bin");
+    var other = tempDir.resolve("other").resolve("Configuration").resolve("ParentConfigurations.bin");
+    for (var copy : List.of(designerCopy, edtCopy, hidden, other)) {
+      Files.createDirectories(copy.getParent());
+      Files.copy(copy == edtCopy ? edt : designer, copy);
+    }
+
+    assertThat(ParseSupportData.findSupportFiles(tempDir)).containsExactly(designerCopy, edtCopy);
+    assertThat(ParseSupportData.findSupportFiles(tempDir.resolve("missing"))).isEmpty();
+
+    ParseSupportData.clearCache();
+    try {
+      assertThat(ParseSupportData.readWorkspace(tempDir, ReadMode.STREAM, 1)).hasSize(2);
+      assertThat(ParseSupportData.get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb",
+        designerCopy.getParent().resolve("Configuration").resolve("Configuration.xml")))
+        .isEqualTo(SupportVariant.NOT_SUPPORTED);
+      assertThat(ParseSupportData.get("3c907782-1b24-440c-b0de-1d62cebde27b",
+        edtCopy.getParent().resolve("Configuration.mdo")))
+        .isEqualTo(SupportVariant.NOT_EDITABLE);
+      assertThat(ParseSupportData.get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb",
+        other.getParent().resolve("Configuration.mdo")))
+        .isEqualTo(SupportVariant.NONE);
+    } finally {
+      ParseSupportData.clearCache();
+    }
+  }
+
+  @Test
+  void readArchive(@TempDir Path tempDir) throws IOException {
+    var designer = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+    var edt = Path.of("src/test/resources/edt/src/Configuration/ParentConfigurations.bin");
+    var archive = tempDir.resolve("export.zip");
+    try (var output = new ZipOutputStream(Files.newOutputStream(archive))) {
+      output.putNextEntry(new ZipEntry("designer/Ext/ParentConfigurations.bin"));
+      Files.copy(designer, output);
+      output.closeEntry();
+      output.putNextEntry(new ZipEntry("edt/src/Configuration/ParentConfigurations.bin"));
+      Files.copy(edt, output);
+      output.closeEntry();
+    }
+
+    var result = ParseSupportData.readArchive(archive);
+    assertThat(result).containsOnlyKeys(
+      "/designer/Ext/ParentConfigurations.bin", "/edt/src/Configuration/ParentConfigurations.bin");
+    assertThat(result.get("/designer/Ext/ParentConfigurations.bin").getSupportVariants())
+      .isEqualTo(ParseSupportData.readNoCache(designer).getSupportVariants());
+    assertThat(ParseSupportData.readFullArchive(archive).get("/edt/src/Configuration/ParentConfigurations.bin")
+      .getSupportVariants()).isEqualTo(ParseSupportData.readFull(edt).getSupportVariants());
+    assertThat(ParseSupportData.readArchive(tempDir.resolve("missing.zip"))).isEmpty();
+
+    // данные архива пригодны к использованию после закрытия его файловой системы
+    var designerData = result.get("/designer/Ext/ParentConfigurations.bin");
+    assertThat(designerData.getPathParentConfigurationBin()).isEqualTo(Path.of("designer/Ext/ParentConfigurations.bin"));
+    assertThat(designerData.getPathParentConfigurationBin().getFileSystem()).isEqualTo(FileSystems.getDefault());
+    assertThat(ParseSupportData.evict(designerData.getPathParentConfigurationBin())).isFalse();
+
+    try (var fileSystem = FileSystems.newFileSystem(archive)) {
+      var path = fileSystem.getPath("/designer/Ext/ParentConfigurations.bin");
+      for (var readMode : ReadMode.values()) {
+        assertThat(ParseSupportData.readNoCache(path, readMode).get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb"))
+          .isEqualTo(SupportVariant.NOT_SUPPORTED);
+      }
+      assertThat(ParseSupportData.probe(path)).hasSize(1);
+    }
+
+    try (var input = Files.newInputStream(designer); var channel = Files.newByteChannel(edt)) {
+      assertThat(SupportData.create(input, designer).getSupportVariants())
+        .isEqualTo(ParseSupportData.readNoCache(designer).getSupportVariants());
+      assertThat(FullSupportData.create(channel, edt).getSupportVariants())
+        .isEqualTo(ParseSupportData.readFull(edt).getSupportVariants());
+    }
+  }
+
+  @Test
+  void getAll(@TempDir Path tempDir) throws IOException {
+    var source = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+    var path = tempDir.resolve("conf").resolve("Ext").resolve("ParentConfigurations.bin");
+    Files.createDirectories(path.getParent());
+    Files.copy(source, path);
+    var pathConfiguration = path.resolveSibling("Configuration").resolve("Configuration.xml");
+    var uids = List.of("28777e74-89cf-4993-8a0a-a5d2b9a758b9", "", "2b5d5d5d-3fa5-4448-a8e3-13011eb483cb",
+      "not-a-guid", "00000000-0000-0000-0000-000000000000");
+    var expected = new SupportVariant[]{SupportVariant.NOT_EDITABLE, SupportVariant.NONE,
+      SupportVariant.NOT_SUPPORTED, SupportVariant.NONE, SupportVariant.NONE};
+
+    var result = new SupportVariant[uids.size() + 1];
+    assertThat(ParseSupportData.getAll(uids, pathConfiguration, result)[0]).isEqualTo(SupportVariant.NONE);
+
+    ParseSupportData.read(path);
+    ParseSupportData.getAll(uids, pathConfiguration, result);
+    assertThat(Arrays.copyOf(result, uids.size())).containsExactly(expected);
+    assertThat(result[uids.size()]).isNull();
+
+    var uuids = new UUID[]{UUID.fromString(uids.get(0)), UUID.fromString(uids.get(2))};
+    assertThat(ParseSupportData.getAll(uuids, pathConfiguration, new SupportVariant[2]))
+      .containsExactly(SupportVariant.NOT_EDITABLE, SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.readNoCache(path).getAll(uids)).containsExactly(expected);
+    assertThatThrownBy(() -> ParseSupportData.getAll(uids, pathConfiguration, new SupportVariant[1]))
+      .isInstanceOf(IllegalArgumentException.class);
+
+    var full = ParseSupportData.readFull(path);
+    var configuration = full.getConfigurations().get(0);
+    assertThat(full.getAll(uids, configuration, new SupportVariant[uids.size()]))
+      .containsExactly(expected);
+    assertThat(full.getAll(uuids, new SupportConfiguration("x", "y", "z"), new SupportVariant[2]))
+      .containsExactly(SupportVariant.NONE, SupportVariant.NONE);
+
+    ParseSupportData.evict(path);
+  }
+
   @Test
   void readSimpleIncorrectSupport() {
     var path = Path.of("src/test/resources/incorrect/Ext/ParentConfigurations.bin");
@@ -139,5 +352,17 @@ class ParseSupportDataTest {
     assertThat(supportConfList)
       .isNotEmpty()
       .allMatch(value -> value.compareTo(supportConf) == 0);
+    assertThat(result.getConfigurations()).containsExactly(supportConf);
+
+    var uid = "2b5d5d5d-3fa5-4448-a8e3-13011eb483cb";
+    assertThat(result.get(uid)).isEqualTo(Map.of(supportConf, SupportVariant.NOT_SUPPORTED));
+    assertThat(result.get(UUID.fromString(uid))).isEqualTo(Map.of(supportConf, SupportVariant.NOT_SUPPORTED));
+    assertThat(result.get(uid, supportConf)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(result.get(UUID.fromString(uid), supportConf)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(result.get(uid, new SupportConfiguration("Другая", "Разработчик", "1.0.0.0")))
+      .isEqualTo(SupportVariant.NONE);
+    assertThat(result.get(UUID.randomUUID())).isEmpty();
+    assertThat(result.contains(uid)).isTrue();
+    assertThat(result.contains(UUID.randomUUID())).isFalse();
   }
 }
@@ -0,0 +1,50 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathTrieTest {
+
+  @Test
+  void findLongestPrefix() {
+    var trie = new PathTrie<String>();
+    var root = Path.of("/work/project").toAbsolutePath();
+    trie.put(root, "outer");
+    trie.put(root.resolve("vendor/lib"), "inner");
+
+    assertThat(trie.findLongestPrefix(root)).isEqualTo("outer");
+    assertThat(trie.findLongestPrefix(root.resolve("src/Module.bsl"))).isEqualTo("outer");
+    assertThat(trie.findLongestPrefix(root.resolve("vendor/lib/src/Module.bsl"))).isEqualTo("inner");
+    assertThat(trie.findLongestPrefix(root.getParent())).isNull();
+
+    trie.remove(root.resolve("vendor/lib"));
+    assertThat(trie.findLongestPrefix(root.resolve("vendor/lib/src/Module.bsl"))).isEqualTo("outer");
+
+    trie.clear();
+    assertThat(trie.findLongestPrefix(root)).isNull();
+  }
+}
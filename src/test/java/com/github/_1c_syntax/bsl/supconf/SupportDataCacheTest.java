@@ -0,0 +1,399 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SupportDataCacheTest {
+
+  private static final Path SOURCE = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+  private static final String UID = "2b5d5d5d-3fa5-4448-a8e3-13011eb483cb";
+
+  @TempDir
+  Path tempDir;
+
+  @AfterEach
+  void resetCache() {
+    ParseSupportData.configureCache(CacheSettings.defaults());
+  }
+
+  @Test
+  void evictLeastRecentlyUsed() throws IOException {
+    ParseSupportData.configureCache(CacheSettings.defaults().withMaximumSize(2));
+    var first = copyFixture("first");
+    var second = copyFixture("second");
+    var third = copyFixture("third");
+
+    ParseSupportData.read(first);
+    ParseSupportData.read(second);
+    assertThat(ParseSupportData.get(UID, rootOf(first))).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    ParseSupportData.read(third);
+
+    assertThat(ParseSupportData.get(UID, rootOf(first))).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.get(UID, rootOf(second))).isEqualTo(SupportVariant.NONE);
+    assertThat(ParseSupportData.get(UID, rootOf(third))).isEqualTo(SupportVariant.NOT_SUPPORTED);
+  }
+
+  @Test
+  void evictByWeight() throws IOException {
+    var cache = new SupportDataCache(CacheSettings.defaults().withMaximumWeight(10));
+    var first = copyFixture("first");
+    var second = copyFixture("second");
+
+    cache.get(rootOf(first), first, SupportData::create);
+    assertThat(cache.weight()).isEqualTo(9);
+    cache.get(rootOf(second), second, SupportData::create);
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.find(rootOf(first))).isNull();
+    assertThat(cache.find(rootOf(second).resolve("Configuration.xml"))).isNotNull();
+  }
+
+  @Test
+  void evictAndClear() throws IOException {
+    var first = copyFixture("first");
+    var second = copyFixture("second");
+    ParseSupportData.read(first);
+    ParseSupportData.read(second);
+
+    assertThat(ParseSupportData.evict(first)).isTrue();
+    assertThat(ParseSupportData.evict(first)).isFalse();
+    assertThat(ParseSupportData.get(UID, rootOf(first))).isEqualTo(SupportVariant.NONE);
+    assertThat(ParseSupportData.get(UID, rootOf(second))).isEqualTo(SupportVariant.NOT_SUPPORTED);
+
+    ParseSupportData.clearCache();
+    assertThat(ParseSupportData.get(UID, rootOf(second))).isEqualTo(SupportVariant.NONE);
+  }
+
+  @Test
+  void shareIdenticalContent() throws IOException {
+    var first = copyFixture("branch-1");
+    var second = copyFixture("branch-2");
+    var loads = new AtomicInteger();
+    Function<Path, SupportData> loader = file -> {
+      loads.incrementAndGet();
+      return SupportData.create(file);
+    };
+
+    try (var cache = new SupportDataCache(CacheSettings.defaults())) {
+      var firstData = cache.get(rootOf(first), first, loader);
+      var secondData = cache.get(rootOf(second), second, loader);
+
+      assertThat(loads.get()).isEqualTo(1);
+      assertThat(cache.size()).isEqualTo(2);
+      assertThat(cache.sharedContents()).isEqualTo(1);
+      assertThat(secondData.variants()).isSameAs(firstData.variants());
+      assertThat(secondData.getPathParentConfigurationBin()).isEqualTo(second);
+      assertThat(secondData.get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+
+      var third = copyFixture("branch-3");
+      Files.writeString(third, Files.readString(third, StandardCharsets.UTF_8)
+        .replace("2," + "0," + UID, "0,0," + UID), StandardCharsets.UTF_8);
+      assertThat(cache.get(rootOf(third), third, loader).get(UID)).isEqualTo(SupportVariant.NOT_EDITABLE);
+      assertThat(loads.get()).isEqualTo(2);
+      assertThat(cache.sharedContents()).isEqualTo(2);
+    }
+
+    var configuration = ParseSupportData.readFull(first).getConfigurations().get(0);
+    assertThat(ParseSupportData.readFull(second).getConfigurations().get(0)).isSameAs(configuration);
+  }
+
+  @Test
+  void reloadChangedFile() throws IOException, InterruptedException {
+    var path = copyFixture("changed");
+    var release = new CountDownLatch(1);
+    var loads = new AtomicInteger();
+    Function<Path, SupportData> loader = file -> {
+      if (loads.incrementAndGet() > 1) {
+        awaitQuietly(release);
+      }
+      return SupportData.create(file);
+    };
+
+    try (var cache = new SupportDataCache(CacheSettings.defaults().withValidationInterval(Duration.ZERO))) {
+      assertThat(cache.get(rootOf(path), path, loader).get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+
+      var content = Files.readString(path, StandardCharsets.UTF_8)
+        .replace("2," + "0," + UID, "0,0," + UID);
+      Files.writeString(path, content, StandardCharsets.UTF_8);
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(10)));
+
+      // пока файл перечитывается, обращения получают прежние данные и не запускают новых чтений
+      assertThat(cache.get(rootOf(path), path, loader).get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+      assertThat(cache.find(rootOf(path)).get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+      release.countDown();
+
+      var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+      var supportVariant = cache.get(rootOf(path), path, loader).get(UID);
+      while (supportVariant == SupportVariant.NOT_SUPPORTED && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+        supportVariant = cache.get(rootOf(path), path, loader).get(UID);
+      }
+      assertThat(supportVariant).isEqualTo(SupportVariant.NOT_EDITABLE);
+      assertThat(loads.get()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void validateOncePerClockTick() throws IOException, InterruptedException {
+    var path = copyFixture("ticks");
+    var loads = new AtomicInteger();
+    Function<Path, SupportData> loader = file -> {
+      loads.incrementAndGet();
+      return SupportData.create(file);
+    };
+
+    var hourly = CacheSettings.defaults().withValidationInterval(Duration.ofHours(1));
+    try (var cache = new SupportDataCache(hourly)) {
+      cache.get(rootOf(path), path, loader);
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(10)));
+
+      // до следующего такта часов файл не проверяется
+      for (var index = 0; index < 100; index++) {
+        assertThat(cache.get(rootOf(path), path, loader).get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+      }
+      assertThat(loads.get()).isEqualTo(1);
+    }
+
+    loads.set(0);
+    try (var cache = new SupportDataCache(CacheSettings.defaults().withValidationInterval(Duration.ofMillis(20)))) {
+      cache.get(rootOf(path), path, loader);
+      var content = Files.readString(path, StandardCharsets.UTF_8)
+        .replace("2," + "0," + UID, "0,0," + UID);
+      Files.writeString(path, content, StandardCharsets.UTF_8);
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(20)));
+
+      var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+      var supportVariant = cache.get(rootOf(path), path, loader).get(UID);
+      while (supportVariant == SupportVariant.NOT_SUPPORTED && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+        supportVariant = cache.get(rootOf(path), path, loader).get(UID);
+      }
+      assertThat(supportVariant).isEqualTo(SupportVariant.NOT_EDITABLE);
+      assertThat(loads.get()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void reloadWatchedFile() throws IOException, InterruptedException {
+    ParseSupportData.configureCache(CacheSettings.defaults().withValidateFiles(false).withWatchFiles(true));
+    var path = copyFixture("watched");
+    ParseSupportData.read(path);
+    assertThat(ParseSupportData.get(UID, rootOf(path))).isEqualTo(SupportVariant.NOT_SUPPORTED);
+
+    var content = Files.readString(path, StandardCharsets.UTF_8)
+      .replace("2," + "0," + UID, "1,0," + UID);
+    Files.writeString(path, content, StandardCharsets.UTF_8);
+
+    var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+    var supportVariant = ParseSupportData.get(UID, rootOf(path));
+    while (supportVariant == SupportVariant.NOT_SUPPORTED && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+      supportVariant = ParseSupportData.get(UID, rootOf(path));
+    }
+    assertThat(supportVariant).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+  }
+
+  @Test
+  void findLongestRoot() throws IOException {
+    var outer = copyFixture("outer");
+    var inner = copyFixture("outer/inner");
+    var content = Files.readString(inner, StandardCharsets.UTF_8)
+      .replace("2," + "0," + UID, "1,0," + UID);
+    Files.writeString(inner, content, StandardCharsets.UTF_8);
+
+    ParseSupportData.read(outer);
+    ParseSupportData.read(inner);
+
+    var module = rootOf(inner).resolve("CommonModules/Module/Ext/Module.bsl");
+    assertThat(ParseSupportData.get(UID, module)).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+    assertThat(ParseSupportData.get(UID, rootOf(outer).resolve("Catalogs/Catalog.xml")))
+      .isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.get(UID, rootOf(inner).resolve("../Catalogs/Catalog.xml")))
+      .isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.get(UID, tempDir.resolve("other/Catalog.xml"))).isEqualTo(SupportVariant.NONE);
+
+    ParseSupportData.evict(inner);
+    assertThat(ParseSupportData.get(UID, module)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+  }
+
+  @Test
+  void relativeAndAbsolutePaths() {
+    var relative = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+    var pathConfiguration = Path.of("src/test/resources/designer-full-support/Ext/Configuration/Configuration.xml");
+    ParseSupportData.read(relative);
+
+    assertThat(ParseSupportData.get(UID, pathConfiguration)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.get(UID, pathConfiguration.toAbsolutePath())).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.evict(relative.toAbsolutePath())).isTrue();
+  }
+
+  @Test
+  void loadOnceAndWait() throws IOException, InterruptedException {
+    var path = copyFixture("async");
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var loads = new AtomicInteger();
+    Function<Path, SupportData> loader = file -> {
+      loads.incrementAndGet();
+      started.countDown();
+      awaitQuietly(release);
+      return SupportData.create(file);
+    };
+
+    try (var cache = new SupportDataCache(CacheSettings.defaults())) {
+      var first = cache.getAsync(rootOf(path), path, loader);
+      var second = cache.getAsync(rootOf(path), path, loader);
+      assertThat(second).isSameAs(first);
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+      var module = rootOf(path).resolve("Catalogs/Catalog.xml");
+      assertThat(cache.find(module, WaitPolicy.noneUntilReady())).isNull();
+      assertThatThrownBy(() -> cache.find(module, WaitPolicy.timeout(Duration.ofMillis(10))))
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+
+      release.countDown();
+      var supportData = cache.find(module, WaitPolicy.block());
+      assertThat(supportData).isNotNull();
+      assertThat(supportData.get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+      assertThat(cache.get(rootOf(path), path, loader)).isSameAs(supportData);
+      assertThat(first.join()).isSameAs(supportData);
+      assertThat(loads.get()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void cancelLoading() throws IOException, InterruptedException {
+    var path = copyFixture("cancel");
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var finished = new CountDownLatch(1);
+    Function<Path, SupportData> loader = file -> {
+      started.countDown();
+      awaitQuietly(release);
+      finished.countDown();
+      return SupportData.create(file);
+    };
+
+    try (var cache = new SupportDataCache(CacheSettings.defaults())) {
+      var load = cache.getAsync(rootOf(path), path, loader);
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(cache.cancelLoading(tempDir.resolve("other"))).isZero();
+      assertThat(cache.cancelLoading(tempDir)).isEqualTo(1);
+      assertThat(load.isCancelled()).isTrue();
+      assertThat(cache.find(rootOf(path), WaitPolicy.block())).isNull();
+
+      release.countDown();
+      assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+      var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (cache.findLoading(rootOf(path)) != null && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(cache.findLoading(rootOf(path))).isNull();
+      assertThat(cache.size()).isZero();
+    }
+  }
+
+  @Test
+  void findNestedLoading() throws IOException, InterruptedException {
+    var outer = copyFixture("outer");
+    var inner = copyFixture("outer/inner");
+    var started = new CountDownLatch(2);
+    var release = new CountDownLatch(1);
+    Function<Path, SupportData> loader = file -> {
+      started.countDown();
+      awaitQuietly(release);
+      return SupportData.create(file);
+    };
+
+    try (var cache = new SupportDataCache(CacheSettings.defaults())) {
+      var outerLoad = cache.getAsync(rootOf(outer), outer, loader);
+      var innerLoad = cache.getAsync(rootOf(inner), inner, loader);
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(cache.findLoading(rootOf(inner).resolve("Catalogs/Catalog.xml"))).isSameAs(innerLoad);
+      assertThat(cache.findLoading(rootOf(outer).resolve("Catalogs/Catalog.xml"))).isSameAs(outerLoad);
+      assertThat(cache.findLoading(tempDir.resolve("other"))).isNull();
+
+      release.countDown();
+      outerLoad.join();
+      innerLoad.join();
+      var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (cache.findLoading(rootOf(inner)) != null && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(cache.findLoading(rootOf(inner))).isNull();
+      assertThat(cache.findLoading(rootOf(outer))).isNull();
+    }
+  }
+
+  @Test
+  void readAsync() throws IOException {
+    var path = copyFixture("read-async");
+    var supportData = ParseSupportData.readAsync(path).join();
+
+    assertThat(supportData.get(UID)).isEqualTo(SupportVariant.NOT_SUPPORTED);
+    assertThat(ParseSupportData.readAsync(path).join()).isSameAs(supportData);
+    assertThat(ParseSupportData.get(UID, rootOf(path), WaitPolicy.noneUntilReady()))
+      .isEqualTo(SupportVariant.NOT_SUPPORTED);
+  }
+
+  private Path copyFixture(String name) throws IOException {
+    var path = tempDir.resolve(name).resolve("Ext").resolve("ParentConfigurations.bin");
+    Files.createDirectories(path.getParent());
+    Files.copy(SOURCE, path);
+    return path;
+  }
+
+  private static Path rootOf(Path pathParentConfigurationBin) {
+    return pathParentConfigurationBin.getParent().getParent();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
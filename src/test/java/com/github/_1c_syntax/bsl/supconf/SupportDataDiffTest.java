@@ -0,0 +1,130 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupportDataDiffTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void diffSummary() throws IOException {
+    var before = write("before.bin", new ParentConfigurationsGenerator().objects(2_000).variantWeights(1, 1, 1));
+    var after = write("after.bin", new ParentConfigurationsGenerator().objects(2_500).variantWeights(1, 3, 1));
+
+    var beforeData = ParseSupportData.readNoCache(before);
+    var afterData = ParseSupportData.readNoCache(after);
+    var diff = SupportDataDiff.between(beforeData, afterData);
+
+    assertThat(diff.added()).hasSize(500);
+    assertThat(diff.removed()).isEmpty();
+    assertThat(diff.changed()).isNotEmpty();
+    assertThat(toMap(diff)).isEqualTo(expected(beforeData.getSupportVariants(), afterData.getSupportVariants()));
+    assertThat(SupportDataDiff.between(afterData, afterData).isEmpty()).isTrue();
+  }
+
+  @Test
+  void diffByConfiguration() throws IOException {
+    var generator = new ParentConfigurationsGenerator().configurations(3).objects(3_000).sharedPercent(50);
+    var before = write("before.bin", generator);
+    var after = write("after.bin", new ParentConfigurationsGenerator()
+      .configurations(3).objects(2_700).sharedPercent(50).lockedEvery(3));
+
+    var beforeData = ParseSupportData.readFull(before);
+    var afterData = ParseSupportData.readFull(after);
+    var diff = ParseSupportData.diff(before, after);
+
+    var configurations = new HashSet<>(beforeData.getConfigurations());
+    configurations.addAll(afterData.getConfigurations());
+    var expected = new HashMap<SupportConfiguration, Map<UUID, List<SupportVariant>>>();
+    for (var configuration : configurations) {
+      var changes = expected(column(beforeData, configuration), column(afterData, configuration));
+      if (!changes.isEmpty()) {
+        expected.put(configuration, changes);
+      }
+    }
+
+    var actual = new HashMap<SupportConfiguration, Map<UUID, List<SupportVariant>>>();
+    diff.forEach((configuration, configurationDiff) -> actual.put(configuration, toMap(configurationDiff)));
+    assertThat(actual).isEqualTo(expected);
+    assertThat(diff.get(generator.supportConfiguration(2)).removed()).hasSize(100);
+    assertThat(ParseSupportData.diff(before, before)).isEmpty();
+  }
+
+  private Path write(String name, ParentConfigurationsGenerator generator) throws IOException {
+    var path = tempDir.resolve(name);
+    generator.write(path);
+    return path;
+  }
+
+  private static Map<String, SupportVariant> column(FullSupportData data, SupportConfiguration configuration) {
+    var result = new HashMap<String, SupportVariant>();
+    data.getSupportVariants().forEach((uid, variants) -> {
+      var supportVariant = variants.get(configuration);
+      if (supportVariant != null) {
+        result.put(uid, supportVariant);
+      }
+    });
+    return result;
+  }
+
+  private static Map<UUID, List<SupportVariant>> expected(Map<String, SupportVariant> before,
+                                                          Map<String, SupportVariant> after) {
+    var uids = new HashSet<>(before.keySet());
+    uids.addAll(after.keySet());
+    var result = new HashMap<UUID, List<SupportVariant>>();
+    for (var uid : uids) {
+      var beforeVariant = before.getOrDefault(uid, SupportVariant.NONE);
+      var afterVariant = after.getOrDefault(uid, SupportVariant.NONE);
+      if (beforeVariant != afterVariant) {
+        result.put(UUID.fromString(uid), List.of(beforeVariant, afterVariant));
+      }
+    }
+    return result;
+  }
+
+  private static Map<UUID, List<SupportVariant>> toMap(SupportDataDiff diff) {
+    var result = new HashMap<UUID, List<SupportVariant>>();
+    var changes = new ArrayList<SupportVariantChange>(diff.added());
+    changes.addAll(diff.removed());
+    changes.addAll(diff.changed());
+    changes.forEach(change -> result.put(change.uid(), List.of(change.before(), change.after())));
+    diff.added().forEach(change -> assertThat(change.before()).isEqualTo(SupportVariant.NONE));
+    diff.removed().forEach(change -> assertThat(change.after()).isEqualTo(SupportVariant.NONE));
+    return result;
+  }
+}
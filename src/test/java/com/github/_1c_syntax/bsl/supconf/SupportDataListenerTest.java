@@ -0,0 +1,198 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupportDataListenerTest {
+
+  private static final Path SOURCE = Path.of("src/test/resources/designer-full-support/Ext/ParentConfigurations.bin");
+
+  @TempDir
+  Path tempDir;
+
+  private final RecordingListener listener = new RecordingListener();
+
+  @AfterEach
+  void reset() {
+    ParseSupportData.removeListener(listener);
+    ParseSupportData.configureCache(CacheSettings.defaults());
+  }
+
+  @Test
+  void readStatistics() {
+    ParseSupportData.addListener(listener);
+    for (var readMode : ReadMode.values()) {
+      ParseSupportData.readNoCache(SOURCE, readMode);
+      ParseSupportData.readFull(SOURCE, readMode);
+    }
+
+    assertThat(listener.reads).hasSize(ReadMode.values().length * 2);
+    assertThat(listener.reads).allMatch(statistics -> statistics.bytes() == 882
+      && statistics.configurationCount() == 1
+      && statistics.objectCount() == 9
+      && statistics.openNanos() >= 0
+      && statistics.parseNanos() > 0);
+    assertThat(listener.reads.get(1).full()).isTrue();
+    assertThat(listener.reads.get(2).readMode()).isEqualTo(ReadMode.MAPPED);
+  }
+
+  @Test
+  void streamStatisticsCountReadBytes() throws IOException {
+    ParseSupportData.addListener(listener);
+    var label = Path.of("missing/Ext/ParentConfigurations.bin");
+    try (var input = Files.newInputStream(SOURCE)) {
+      SupportData.create(input, label);
+    }
+    try (var input = Files.newInputStream(SOURCE)) {
+      FullSupportData.create(input, label);
+    }
+
+    assertThat(listener.reads).hasSize(2);
+    assertThat(listener.reads).allMatch(statistics -> statistics.bytes() == 882
+      && statistics.pathParentConfigurationBin().equals(label));
+  }
+
+  @Test
+  void cacheActivity() throws IOException {
+    ParseSupportData.configureCache(CacheSettings.defaults().withMaximumSize(1));
+    ParseSupportData.addListener(listener);
+    var first = copyFixture("first");
+    var second = copyFixture("second");
+    var firstRoot = first.getParent().getParent().toAbsolutePath().normalize();
+
+    ParseSupportData.read(first);
+    ParseSupportData.read(first);
+    ParseSupportData.get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb", firstRoot);
+    ParseSupportData.get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb", firstRoot.resolve("Catalogs"));
+    ParseSupportData.get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb", tempDir.resolve("unknown"));
+    ParseSupportData.read(second);
+
+    assertThat(listener.lookups).containsExactly(
+      SupportDataListener.LookupResult.MISS,
+      SupportDataListener.LookupResult.HIT,
+      SupportDataListener.LookupResult.HIT,
+      SupportDataListener.LookupResult.PREFIX_HIT,
+      SupportDataListener.LookupResult.MISS,
+      SupportDataListener.LookupResult.MISS);
+    assertThat(listener.loads).containsExactly("start 1", "finish 0", "start 1", "finish 0");
+    assertThat(listener.evictions).containsExactly(firstRoot);
+    // второй файл совпадает с первым по содержимому, поэтому повторно не разбирается
+    assertThat(listener.reads).hasSize(1);
+  }
+
+  @Test
+  void failingListenerDoesNotBreakReading() {
+    SupportDataListener failing = new SupportDataListener() {
+      @Override
+      public void onRead(ReadStatistics statistics) {
+        throw new IllegalStateException("listener failure");
+      }
+    };
+    ParseSupportData.addListener(failing);
+    try {
+      assertThat(ParseSupportData.readNoCache(SOURCE).getSupportVariants()).hasSize(9);
+    } finally {
+      ParseSupportData.removeListener(failing);
+    }
+  }
+
+  @Test
+  void jfrEvents() throws IOException {
+    var dump = tempDir.resolve("recording.jfr");
+    try (var recording = new Recording()) {
+      recording.enable("com.github._1c_syntax.bsl.supconf.Read");
+      recording.enable("com.github._1c_syntax.bsl.supconf.CacheLookup");
+      recording.start();
+      ParseSupportData.readNoCache(SOURCE, ReadMode.MAPPED);
+      ParseSupportData.get("2b5d5d5d-3fa5-4448-a8e3-13011eb483cb", tempDir.resolve("unknown"));
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    var events = RecordingFile.readAllEvents(dump).stream()
+      .filter(event -> event.getEventType().getName().equals("com.github._1c_syntax.bsl.supconf.Read"))
+      .toList();
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getInt("objectCount")).isEqualTo(9);
+    assertThat(events.get(0).getLong("bytes")).isEqualTo(882L);
+    assertThat(events.get(0).getString("readMode")).isEqualTo("MAPPED");
+
+    // событие поиска по умолчанию выключено и создается, только когда запись включена
+    var lookups = RecordingFile.readAllEvents(dump).stream()
+      .filter(event -> event.getEventType().getName().equals("com.github._1c_syntax.bsl.supconf.CacheLookup"))
+      .toList();
+    assertThat(lookups).hasSize(1);
+    assertThat(lookups.get(0).getString("result")).isEqualTo("MISS");
+  }
+
+  private Path copyFixture(String name) throws IOException {
+    var path = tempDir.resolve(name).resolve("Ext").resolve("ParentConfigurations.bin");
+    Files.createDirectories(path.getParent());
+    Files.copy(SOURCE, path);
+    return path;
+  }
+
+  private static final class RecordingListener implements SupportDataListener {
+    private final List<ReadStatistics> reads = new CopyOnWriteArrayList<>();
+    private final List<LookupResult> lookups = new CopyOnWriteArrayList<>();
+    private final List<String> loads = new CopyOnWriteArrayList<>();
+    private final List<Path> evictions = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onRead(ReadStatistics statistics) {
+      reads.add(statistics);
+    }
+
+    @Override
+    public void onCacheLookup(Path path, LookupResult result) {
+      lookups.add(result);
+    }
+
+    @Override
+    public void onLoadStarted(Path pathParentConfigurationBin, int loadsInFlight) {
+      loads.add("start " + loadsInFlight);
+    }
+
+    @Override
+    public void onLoadFinished(Path pathParentConfigurationBin, long durationNanos, int loadsInFlight) {
+      loads.add("finish " + loadsInFlight);
+    }
+
+    @Override
+    public void onEviction(Path rootPath, long weight) {
+      evictions.add(rootPath);
+    }
+  }
+}
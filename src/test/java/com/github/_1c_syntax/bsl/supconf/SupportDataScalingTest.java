@@ -0,0 +1,172 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Проверка линейного роста затрат на разбор синтетических файлов от 10 тысяч до 2 миллионов объектов
+ * в пяти секциях конфигураций поставщика. Выполняется отдельной задачей {@code scalingTest}.
+ * <p>
+ * Для каждого размера измеряются время разбора, память, выделенная потоком при разборе, и объем массивов
+ * построенной таблицы. Из измерений вычитаются затраты на разбор файла без объектов, после чего значения
+ * на объект сравниваются с минимальными по всем размерам. Допуски учитывают ступенчатый рост емкости
+ * хеш-таблиц, а для времени - также промахи кеша процессора на больших таблицах. Допуск объема таблицы
+ * меньше роста n·log n на этом диапазоне размеров (в 1,58 раза)
+ */
+@Tag("scaling")
+class SupportDataScalingTest {
+  private static final int[] SIZES = {10_000, 100_000, 1_000_000, 2_000_000};
+  private static final int CONFIGURATIONS = 5;
+  private static final int TIMED_RUNS = 3;
+  private static final int WARMUP_OBJECTS = 1_000_000;
+
+  /**
+   * Допустимое превышение выделенной памяти на объект: при наполнении емкость массивов удваивается
+   */
+  private static final double MAX_ALLOCATION_GROWTH = 2.0;
+
+  /**
+   * Допустимое превышение объема таблицы на объект: после сжатия идентификаторы и варианты хранятся
+   * без запаса, а степенью двойки остаются только слоты хеш-таблицы и фильтр
+   */
+  private static final double MAX_RETAINED_GROWTH = 1.5;
+
+  /**
+   * Допустимое превышение времени разбора на объект
+   */
+  private static final double MAX_TIME_GROWTH = 3.0;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void readScalesLinearly(TestReporter reporter) throws IOException {
+    assertLinear(path -> ParseSupportData.readNoCache(path).variants().retainedBytes(), reporter);
+  }
+
+  @Test
+  void readFullScalesLinearly(TestReporter reporter) throws IOException {
+    assertLinear(path -> ParseSupportData.readFull(path).variants().retainedBytes(), reporter);
+  }
+
+  /**
+   * Проверяет линейный рост затрат
+   *
+   * @param reader Чтение файла, возвращающее объем массивов построенной таблицы
+   */
+  private void assertLinear(ToLongFunction<Path> reader, TestReporter reporter) throws IOException {
+    var threadBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemoryEnabled());
+    var allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+
+    var baseline = measure(0, reader, allocationBean);
+    var measurements = new ArrayList<Measurement>();
+    for (var size : SIZES) {
+      var measurement = measure(size, reader, allocationBean).perObject(baseline, size);
+      reporter.publishEntry(size + " objects",
+        "%.1f ns/object, %.1f allocated bytes/object, %.1f retained bytes/object".formatted(
+          measurement.nanos(), measurement.allocatedBytes(), measurement.retainedBytes()));
+      measurements.add(measurement);
+    }
+
+    assertGrowth(measurements, Measurement::allocatedBytes, MAX_ALLOCATION_GROWTH);
+    assertGrowth(measurements, Measurement::retainedBytes, MAX_RETAINED_GROWTH);
+    assertGrowth(measurements, Measurement::nanos, MAX_TIME_GROWTH);
+  }
+
+  private Measurement measure(int size, ToLongFunction<Path> reader,
+                              com.sun.management.ThreadMXBean allocationBean) throws IOException {
+    var path = tempDir.resolve(size + ".bin");
+    new ParentConfigurationsGenerator()
+      .configurations(CONFIGURATIONS)
+      .objects(size)
+      .sharedPercent(20)
+      .lockedEvery(4)
+      .write(path);
+
+    // прогрев: малые файлы читаются многократно, чтобы разбор успел скомпилироваться до замеров
+    for (var run = 0; run < Math.max(1, WARMUP_OBJECTS / Math.max(size, 1)); run++) {
+      reader.applyAsLong(path);
+    }
+
+    var threadId = Thread.currentThread().threadId();
+    var allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+    var retained = reader.applyAsLong(path);
+    var allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    // лучшее время из нескольких чтений меньше зависит от загрузки машины и сборки мусора
+    var nanos = Long.MAX_VALUE;
+    for (var run = 0; run < TIMED_RUNS; run++) {
+      var start = System.nanoTime();
+      reader.applyAsLong(path);
+      nanos = Math.min(nanos, System.nanoTime() - start);
+    }
+
+    Files.delete(path);
+    return new Measurement(nanos, allocated, retained);
+  }
+
+  private static void assertGrowth(List<Measurement> measurements, ToDoubleFunction<Measurement> value,
+                                   double maxGrowth) {
+    var minimum = measurements.stream()
+      .mapToDouble(value)
+      .min()
+      .orElseThrow();
+    for (var measurement : measurements) {
+      assertThat(value.applyAsDouble(measurement)).isLessThanOrEqualTo(minimum * maxGrowth);
+    }
+  }
+
+  /**
+   * Затраты на разбор файла
+   *
+   * @param nanos          Время разбора
+   * @param allocatedBytes Память, выделенная потоком при разборе
+   * @param retainedBytes  Объем массивов построенной таблицы
+   */
+  private record Measurement(double nanos, double allocatedBytes, double retainedBytes) {
+
+    /**
+     * Возвращает затраты на объект за вычетом затрат на разбор файла без объектов
+     */
+    private Measurement perObject(Measurement baseline, int size) {
+      return new Measurement((nanos - baseline.nanos) / size, (allocatedBytes - baseline.allocatedBytes) / size,
+        (retainedBytes - baseline.retainedBytes) / size);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupportDataSnapshotTest {
+
+  private static final Path SOURCE = Path.of("src/test/resources/correct/Ext/ParentConfigurations.bin");
+  private static final String UID = "00035364-b591-4e6a-9219-e27dac18f687";
+
+  @TempDir
+  Path tempDir;
+
+  @AfterEach
+  void resetCache() {
+    ParseSupportData.configureCache(CacheSettings.defaults());
+  }
+
+  @Test
+  void summaryRoundTrip() throws IOException {
+    var supportData = SupportData.create(SOURCE);
+    var snapshot = tempDir.resolve("summary.snapshot");
+    supportData.writeSnapshot(snapshot);
+
+    var restored = SupportData.readSnapshot(snapshot, SOURCE);
+    assertThat(restored).isPresent();
+    assertThat(restored.get().getSupportVariants()).hasSize(supportData.getSupportVariants().size());
+    assertThat(restored.get().getSupportVariants()).isEqualTo(supportData.getSupportVariants());
+    assertThat(FullSupportData.readSnapshot(snapshot, SOURCE)).isEmpty();
+  }
+
+  @Test
+  void fullRoundTrip() throws IOException {
+    var supportData = FullSupportData.create(SOURCE);
+    var snapshot = tempDir.resolve("full.snapshot");
+    supportData.writeSnapshot(snapshot);
+
+    var restored = FullSupportData.readSnapshot(snapshot, SOURCE);
+    assertThat(restored).isPresent();
+    assertThat(restored.get().getConfigurations()).isEqualTo(supportData.getConfigurations());
+    assertThat(restored.get().getSupportVariants()).isEqualTo(supportData.getSupportVariants());
+    assertThat(SupportData.readSnapshot(snapshot, SOURCE)).isEmpty();
+  }
+
+  @Test
+  void staleSnapshot() throws IOException {
+    var bin = copyFixture();
+    var snapshot = tempDir.resolve("summary.snapshot");
+    SupportData.create(bin).writeSnapshot(snapshot);
+
+    Files.setLastModifiedTime(bin, FileTime.from(Instant.now().plusSeconds(60)));
+    assertThat(SupportData.readSnapshot(snapshot, bin)).isPresent();
+
+    Files.write(bin, new byte[]{' '}, StandardOpenOption.APPEND);
+    assertThat(SupportData.readSnapshot(snapshot, bin)).isEmpty();
+  }
+
+  @Test
+  void corruptedSnapshot() throws IOException {
+    var snapshot = tempDir.resolve("summary.snapshot");
+    SupportData.create(SOURCE).writeSnapshot(snapshot);
+    var bytes = Files.readAllBytes(snapshot);
+    Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+
+    assertThat(SupportData.readSnapshot(snapshot, SOURCE)).isEmpty();
+    assertThat(SupportData.readSnapshot(tempDir.resolve("missing.snapshot"), SOURCE)).isEmpty();
+  }
+
+  @Test
+  void readThroughSnapshot() throws IOException {
+    ParseSupportData.configureCache(CacheSettings.defaults().withSnapshotLocation(SnapshotLocation.NEXT_TO_FILE));
+    var bin = copyFixture();
+    var snapshot = bin.resolveSibling("ParentConfigurations.bin.snapshot");
+
+    ParseSupportData.read(bin);
+    assertThat(Files.exists(snapshot)).isTrue();
+    assertThat(ParseSupportData.get(UID, bin.getParent().getParent())).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+
+    ParseSupportData.clearCache();
+    ParseSupportData.read(bin);
+    assertThat(ParseSupportData.get(UID, bin.getParent().getParent())).isEqualTo(SupportVariant.EDITABLE_SUPPORT_ENABLED);
+    assertThat(SupportData.create(bin, ReadMode.STREAM, SnapshotLocation.NEXT_TO_FILE).getSupportVariants())
+      .isEqualTo(SupportData.create(bin).getSupportVariants());
+  }
+
+  private Path copyFixture() throws IOException {
+    var bin = tempDir.resolve("conf").resolve("Ext").resolve("ParentConfigurations.bin");
+    Files.createDirectories(bin.getParent());
+    Files.copy(SOURCE, bin);
+    return bin;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SupportDataTokenizerTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void readQuotedFields() throws IOException {
+    var content = "\uFEFF{6,1,\"1.0\",\"Фирма \"\"1С\"\", и ко\",\"a\nb\",9}";
+
+    assertThat(readAll(content))
+      .containsExactly("{6", "1", "\"1.0\"", "\"Фирма \"\"1С\"\", и ко\"", "\"a\nb\"", "9}")
+      .isEqualTo(readAllBytes(content));
+  }
+
+  @Test
+  void readLineSeparatedFields() throws IOException {
+    assertThat(readAll("{6,\n0,\n1,\n,\n2}")).containsExactly("{6", "0", "1", "", "2}");
+    assertThat(readAll("{6,\r\n0,\r\n1,\r\n\"x\",\r\n2}")).containsExactly("{6", "0", "1", "\"x\"", "2}");
+    assertThat(readAllBytes("{6,\n0,\n1,\n,\n2}")).containsExactly("{6", "0", "1", "", "2}");
+    assertThat(readAllBytes("{6,\r\n0,\r\n1,\r\n\"x\",\r\n2}")).containsExactly("{6", "0", "1", "\"x\"", "2}");
+  }
+
+  @Test
+  void readNumbers() throws IOException {
+    var content = "{6,12,-3,x,1";
+    checkNumbers(new ReaderTokenizer(new StringReader(content)));
+    checkNumbers(new ByteBufferTokenizer(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  void mapOnlyLargeFiles() throws IOException {
+    var small = Files.writeString(tempDir.resolve("small.bin"), "{6,0,0,0,1}", StandardCharsets.UTF_8);
+    var buffer = ByteBufferTokenizer.mapFile(small);
+    assertThat(buffer.isDirect()).isFalse();
+    assertThat(buffer.remaining()).isEqualTo(11);
+    assertThat(readAll(new ByteBufferTokenizer(buffer))).containsExactly("{6", "0", "0", "0", "1}");
+
+    var large = Files.write(tempDir.resolve("large.bin"), new byte[(int) ByteBufferTokenizer.MAPPING_THRESHOLD]);
+    assertThat(ByteBufferTokenizer.mapFile(large).isDirect()).isTrue();
+    assertThat(ByteBufferTokenizer.readFile(large).isDirect()).isFalse();
+  }
+
+  private static void checkNumbers(SupportDataTokenizer tokenizer) throws IOException {
+    try (tokenizer) {
+      tokenizer.skip(1);
+      assertThat(tokenizer.nextInt()).isEqualTo(12);
+      assertThat(tokenizer.nextInt()).isEqualTo(-3);
+      assertThatThrownBy(tokenizer::nextInt).isInstanceOf(NumberFormatException.class);
+      tokenizer.skip(1);
+      assertThat(tokenizer.hasNext()).isFalse();
+      assertThatThrownBy(tokenizer::next).isInstanceOf(EOFException.class);
+    }
+  }
+
+  private static List<String> readAll(String content) throws IOException {
+    return readAll(new ReaderTokenizer(new StringReader(content)));
+  }
+
+  private static List<String> readAllBytes(String content) throws IOException {
+    return readAll(new ByteBufferTokenizer(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private static List<String> readAll(SupportDataTokenizer tokenizer) throws IOException {
+    List<String> tokens = new ArrayList<>();
+    try (tokenizer) {
+      while (tokenizer.hasNext()) {
+        tokens.add(tokenizer.next());
+      }
+    }
+    return tokens;
+  }
+}
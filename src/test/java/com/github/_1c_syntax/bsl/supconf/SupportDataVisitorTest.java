@@ -0,0 +1,136 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupportDataVisitorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void visitAllRecords() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(3)
+      .objects(6_000)
+      .sharedPercent(30)
+      .lockedEvery(2);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+    var expected = ParseSupportData.readFull(path).getSupportVariants();
+
+    for (var readMode : ReadMode.values()) {
+      var events = new ArrayList<String>();
+      var variants = new HashMap<String, Map<SupportConfiguration, SupportVariant>>();
+      SupportDataReader.accept(path, readMode, new SupportDataVisitor() {
+        private SupportConfiguration current;
+
+        @Override
+        public Result visitHeader(int configurationCount) {
+          events.add("header " + configurationCount);
+          return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitConfiguration(SupportConfiguration configuration,
+                                         GeneralSupportVariant generalSupportVariant, int objectCount) {
+          current = configuration;
+          events.add("start " + generalSupportVariant + " " + objectCount);
+          return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitObject(long mostSigBits, long leastSigBits, int rawVariant,
+                                  SupportVariant supportVariant) {
+          variants.computeIfAbsent(new UUID(mostSigBits, leastSigBits).toString(), uid -> new HashMap<>())
+            .putIfAbsent(current, supportVariant);
+          return Result.CONTINUE;
+        }
+
+        @Override
+        public Result visitConfigurationEnd(SupportConfiguration configuration) {
+          events.add("end " + configuration.equals(current));
+          return Result.CONTINUE;
+        }
+      });
+
+      assertThat(events).containsExactly("header 3",
+        "start UNLOCKED 2000", "end true",
+        "start LOCKED 2000", "end true",
+        "start UNLOCKED 2000", "end true");
+      assertThat(variants).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void skipAndStop() throws IOException {
+    var generator = new ParentConfigurationsGenerator().configurations(3).objects(300);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    List<String> events = new ArrayList<>();
+    SupportDataReader.accept(path, ReadMode.STREAM, new SupportDataVisitor() {
+      private int objects;
+
+      @Override
+      public Result visitConfiguration(SupportConfiguration configuration,
+                                       GeneralSupportVariant generalSupportVariant, int objectCount) {
+        events.add("start " + configuration.name());
+        return configuration.equals(generator.supportConfiguration(0)) ? Result.SKIP_SECTION : Result.CONTINUE;
+      }
+
+      @Override
+      public Result visitObject(long mostSigBits, long leastSigBits, int rawVariant, SupportVariant supportVariant) {
+        objects++;
+        if (objects == 10) {
+          return Result.SKIP_SECTION;
+        }
+        return objects == 15 ? Result.STOP : Result.CONTINUE;
+      }
+
+      @Override
+      public Result visitConfigurationEnd(SupportConfiguration configuration) {
+        events.add("end " + objects);
+        return Result.CONTINUE;
+      }
+    });
+
+    assertThat(events).containsExactly(
+      "start " + generator.supportConfiguration(0).name(),
+      "start " + generator.supportConfiguration(1).name(),
+      "end 10",
+      "start " + generator.supportConfiguration(2).name());
+  }
+}
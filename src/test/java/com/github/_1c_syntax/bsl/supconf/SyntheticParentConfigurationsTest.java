@@ -0,0 +1,186 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticParentConfigurationsTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void readGeneratedFile() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(5)
+      .objects(50_000)
+      .sharedPercent(30)
+      .lockedEvery(3)
+      .variantWeights(2, 5, 3);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var expected = generator.expectedSupportVariants();
+    var expectedFull = generator.expectedFullSupportVariants();
+    for (var readMode : ReadMode.values()) {
+      assertThat(new HashMap<>(ParseSupportData.readNoCache(path, readMode).getSupportVariants()))
+        .isEqualTo(expected);
+      var full = ParseSupportData.readFull(path, readMode);
+      assertThat(full.getConfigurations()).hasSize(5);
+      assertThat(full.getSupportVariants()).isEqualTo(expectedFull);
+    }
+  }
+
+  @Test
+  void readQuotingEdgeCasesAndLineBreaks() throws IOException {
+    for (var crlf : new boolean[]{false, true}) {
+      var generator = new ParentConfigurationsGenerator()
+        .configurations(3)
+        .objects(1_000)
+        .sharedPercent(50)
+        .lineBreaks(crlf)
+        .quotingEdgeCases(true);
+      var path = tempDir.resolve(crlf ? "crlf.bin" : "lf.bin");
+      generator.write(path);
+
+      for (var readMode : ReadMode.values()) {
+        assertThat(ParseSupportData.readNoCache(path, readMode).getSupportVariants())
+          .isEqualTo(generator.expectedSupportVariants());
+        assertThat(ParseSupportData.readFull(path, readMode).getConfigurations())
+          .containsExactly(generator.supportConfiguration(0), generator.supportConfiguration(1),
+            generator.supportConfiguration(2));
+      }
+    }
+  }
+
+  @Test
+  void probeHeaders() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(3)
+      .objects(30_001)
+      .lockedEvery(2)
+      .quotingEdgeCases(true);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    assertThat(ParseSupportData.probe(path)).containsExactly(
+      new ConfigurationDescriptor(generator.supportConfiguration(0), GeneralSupportVariant.UNLOCKED, 10_001),
+      new ConfigurationDescriptor(generator.supportConfiguration(1), GeneralSupportVariant.LOCKED, 10_000),
+      new ConfigurationDescriptor(generator.supportConfiguration(2), GeneralSupportVariant.UNLOCKED, 10_000));
+    assertThat(ParseSupportData.probe(tempDir.resolve("missing.bin"))).isEmpty();
+  }
+
+  @Test
+  void invertedIndexes() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(3)
+      .objects(9_000)
+      .sharedPercent(40)
+      .lockedEvery(3);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var supportData = ParseSupportData.readNoCache(path);
+    for (var supportVariant : SupportVariant.values()) {
+      var expected = new HashSet<UUID>();
+      supportData.getSupportVariants().forEach((uid, variant) -> {
+        if (variant == supportVariant) {
+          expected.add(UUID.fromString(uid));
+        }
+      });
+      var objects = supportData.getObjects(supportVariant);
+      assertThat(objects).isEqualTo(expected);
+      assertThat(supportData.count(supportVariant)).isEqualTo(expected.size());
+      expected.forEach(uid -> assertThat(objects.contains(uid.toString())).isTrue());
+    }
+
+    var full = ParseSupportData.readFull(path);
+    for (var configuration : full.getConfigurations()) {
+      var expected = new HashSet<UUID>();
+      full.getSupportVariants().forEach((uid, variants) -> {
+        if (variants.containsKey(configuration)) {
+          expected.add(UUID.fromString(uid));
+        }
+      });
+      assertThat(full.getObjects(configuration)).isEqualTo(expected);
+      assertThat(full.count(configuration)).isEqualTo(expected.size());
+
+      var total = 0;
+      for (var supportVariant : SupportVariant.values()) {
+        var objects = full.getObjects(configuration, supportVariant);
+        objects.forEach(uid -> assertThat(full.get(uid, configuration)).isEqualTo(supportVariant));
+        total += full.count(configuration, supportVariant);
+      }
+      assertThat(total).isEqualTo(expected.size());
+    }
+    assertThat(full.count(generator.supportConfiguration(2), SupportVariant.NOT_EDITABLE)).isEqualTo(3_000);
+    assertThat(full.getObjects(new SupportConfiguration("Другая", "Разработчик", "1.0"))).isEmpty();
+  }
+
+  @Test
+  void lookupWithoutFullParse() throws IOException {
+    var generator = new ParentConfigurationsGenerator()
+      .configurations(4)
+      .objects(12_000)
+      .sharedPercent(50)
+      .lockedEvery(2)
+      .lineBreaks(true);
+    var path = tempDir.resolve("ParentConfigurations.bin");
+    generator.write(path);
+
+    var supportData = ParseSupportData.readNoCache(path);
+    var full = ParseSupportData.readFull(path);
+    var uids = new ArrayList<String>();
+    var numberUid = 0;
+    for (var uid : full.getSupportVariants().keySet()) {
+      if (numberUid++ % 97 == 0) {
+        uids.add(uid);
+      }
+    }
+    uids.add(UUID.randomUUID().toString());
+    uids.add("not-a-guid");
+
+    var variants = ParseSupportData.lookup(path, uids);
+    assertThat(variants).hasSize(uids.size());
+    for (var uid : uids) {
+      assertThat(variants.get(uid)).isEqualTo(supportData.get(uid));
+      assertThat(ParseSupportData.lookupFull(path, uid)).isEqualTo(full.get(uid));
+    }
+
+    var upperCaseUid = uids.get(0).toUpperCase(Locale.ROOT);
+    assertThat(ParseSupportData.lookup(path, upperCaseUid)).isEqualTo(supportData.get(uids.get(0)));
+    assertThat(ParseSupportData.lookup(tempDir.resolve("missing.bin"), uids.get(0))).isEqualTo(SupportVariant.NONE);
+    assertThat(ParseSupportData.lookupFull(tempDir.resolve("missing.bin"), uids.get(0))).isEmpty();
+  }
+}
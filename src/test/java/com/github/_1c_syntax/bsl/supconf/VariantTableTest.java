@@ -0,0 +1,187 @@
+/*
+ * This file is a part of Support Configuration.
+ *
+ * Copyright (c) 2019 - 2026
+ * Tymko Oleg <olegtymko@yandex.ru>, Maximov Valery <maximovvalery@gmail.com> and contributors
+ *
+ * SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ * Support Configuration is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * Support Configuration is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Support Configuration.
+ */
+package com.github._1c_syntax.bsl.supconf;
+
+import com.github._1c_syntax.bsl.support.SupportVariant;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VariantTableTest {
+
+  @Test
+  void mergeKeepsMaxVariant() {
+    var index = new VariantTable();
+    var uid = UUID.randomUUID();
+
+    index.merge(uid.getMostSignificantBits(), uid.getLeastSignificantBits(), SupportVariant.NOT_SUPPORTED);
+    index.merge(uid.getMostSignificantBits(), uid.getLeastSignificantBits(), SupportVariant.NOT_EDITABLE);
+    index.merge(uid.getMostSignificantBits(), uid.getLeastSignificantBits(), SupportVariant.NOT_SUPPORTED);
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.get(uid.getMostSignificantBits(), uid.getLeastSignificantBits()))
+      .isEqualTo(SupportVariant.max(SupportVariant.NOT_SUPPORTED, SupportVariant.NOT_EDITABLE));
+    assertThat(index.get(0, 0)).isEqualTo(SupportVariant.NONE);
+  }
+
+  @Test
+  void formatGuidBytes() {
+    for (var index = 0; index < 100; index++) {
+      var uid = UUID.randomUUID();
+      assertThat(new String(Guids.toBytes(uid.getMostSignificantBits(), uid.getLeastSignificantBits()),
+        StandardCharsets.US_ASCII)).isEqualTo(uid.toString());
+    }
+    assertThat(new String(Guids.toBytes(-1, 0), StandardCharsets.US_ASCII))
+      .isEqualTo("ffffffff-ffff-ffff-0000-000000000000");
+  }
+
+  @Test
+  void parseOnlyAsciiHexDigits() {
+    var uid = "1AA0D4D5-5d9f-4b5c-8f70-4cb4e0c4a8f1";
+    assertThat(Guids.isGuid(uid)).isTrue();
+    assertThat(new UUID(Guids.mostSigBits(uid), Guids.leastSigBits(uid))).isEqualTo(UUID.fromString(uid));
+
+    // арабско-индийская и полноширинная цифры допускаются Character.digit, но не форматом идентификатора
+    var arabicIndic = "\u0661aa0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f1";
+    var fullwidth = "1aa0d4d5-5d9f-4b5c-8f70-4cb4e0c4a8f\uFF11";
+    assertThat(Guids.isGuid(arabicIndic)).isFalse();
+    assertThat(Guids.isGuid(fullwidth)).isFalse();
+    assertThatThrownBy(() -> Guids.mostSigBits(arabicIndic)).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> Guids.leastSigBits(fullwidth)).isInstanceOf(NumberFormatException.class);
+
+    var table = new VariantTable();
+    table.merge(Guids.mostSigBits(uid), Guids.leastSigBits(uid), SupportVariant.NOT_EDITABLE);
+    var supportVariants = table.asMap();
+    // ключи выдаются в нижнем регистре, поиск выполняется в любом
+    assertThat(supportVariants.keySet()).containsExactly(uid.toLowerCase(Locale.ROOT));
+    assertThat(supportVariants.get(uid)).isEqualTo(SupportVariant.NOT_EDITABLE);
+  }
+
+  @Test
+  void sortedRows() {
+    var index = new GuidIndex();
+    for (var number = 0; number < 1_000; number++) {
+      var uid = UUID.randomUUID();
+      index.add(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+    }
+    index.add(0, 1);
+    index.add(0, -1);
+
+    var rows = index.sortedRows();
+    assertThat(rows).hasSize(index.size());
+    for (var position = 1; position < rows.length; position++) {
+      assertThat(index.compareRows(rows[position - 1], rows[position])).isLessThan(0);
+    }
+  }
+
+  @Test
+  void filterHasNoFalseNegatives() {
+    var filter = new GuidFilter(10_000);
+    var added = new ArrayList<UUID>();
+    for (var number = 0; number < 10_000; number++) {
+      var uid = UUID.randomUUID();
+      filter.add(uid.getMostSignificantBits(), uid.getLeastSignificantBits());
+      added.add(uid);
+    }
+    added.forEach(uid ->
+      assertThat(filter.mightContain(uid.getMostSignificantBits(), uid.getLeastSignificantBits())).isTrue());
+
+    var falsePositives = 0;
+    for (var number = 0; number < 100_000; number++) {
+      var uid = UUID.randomUUID();
+      if (filter.mightContain(uid.getMostSignificantBits(), uid.getLeastSignificantBits())) {
+        falsePositives++;
+      }
+    }
+    assertThat(falsePositives).isLessThan(1_000);
+
+    var index = new GuidIndex();
+    added.forEach(uid -> index.add(uid.getMostSignificantBits(), uid.getLeastSignificantBits()));
+    index.trim();
+    index.add(0, 1);
+    assertThat(index.indexOf(0, 1)).isEqualTo(added.size());
+    assertThat(index.indexOf(0, 2)).isEqualTo(-1);
+  }
+
+  @Test
+  void growAndTrim() {
+    var index = new VariantTable();
+    Map<String, SupportVariant> expected = new HashMap<>();
+    var variants = SupportVariant.values();
+    for (var number = 0; number < 10_000; number++) {
+      var uid = UUID.randomUUID();
+      var variant = variants[number % 3];
+      index.merge(uid.getMostSignificantBits(), uid.getLeastSignificantBits(), variant);
+      expected.put(uid.toString(), variant);
+    }
+    index.trim();
+
+    assertThat(index.size()).isEqualTo(expected.size());
+    assertThat(index.asMap()).isEqualTo(expected);
+    expected.forEach((uid, variant) -> {
+      var guid = UUID.fromString(uid);
+      assertThat(index.get(guid.getMostSignificantBits(), guid.getLeastSignificantBits())).isEqualTo(variant);
+    });
+  }
+
+  @Test
+  void configurationVariants() {
+    var table = new ConfigurationVariantTable();
+    var uid = UUID.randomUUID();
+    var other = UUID.randomUUID();
+    List<SupportConfiguration> configurations = new ArrayList<>();
+    for (var number = 0; number < 20; number++) {
+      var configuration = new SupportConfiguration("Конфигурация" + number, "Разработчик", "1.0");
+      configurations.add(configuration);
+      var ordinal = table.addConfiguration(configuration);
+      assertThat(table.addConfiguration(configuration)).isEqualTo(ordinal);
+      table.putIfAbsent(uid.getMostSignificantBits(), uid.getLeastSignificantBits(), ordinal,
+        SupportVariant.values()[number % 3]);
+    }
+    var last = configurations.get(19);
+    table.putIfAbsent(other.getMostSignificantBits(), other.getLeastSignificantBits(),
+      table.ordinalOf(last), SupportVariant.NOT_SUPPORTED);
+    table.putIfAbsent(other.getMostSignificantBits(), other.getLeastSignificantBits(),
+      table.ordinalOf(last), SupportVariant.NOT_EDITABLE);
+    table.trim();
+
+    assertThat(table.configurations()).isEqualTo(configurations);
+    var row = table.row(table.indexOf(uid.toString()));
+    assertThat(row).hasSize(20);
+    assertThat(row.get(configurations.get(17))).isEqualTo(SupportVariant.values()[17 % 3]);
+
+    var otherRow = table.row(table.indexOf(other.getMostSignificantBits(), other.getLeastSignificantBits()));
+    assertThat(otherRow)
+      .isEqualTo(Map.of(last, SupportVariant.NOT_SUPPORTED))
+      .doesNotContainKey(configurations.get(0));
+    assertThat(table.asMap()).hasSize(2).containsKey(other.toString());
+  }
+}